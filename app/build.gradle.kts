@@ -37,6 +37,8 @@ dependencies {
     implementation(libs.material)
     implementation(libs.activity)
     implementation(libs.constraintlayout)
+    // <Entity>_Mapper sınıflarını derleme zamanında üretir (yoksa Mapper reflection'a düşer)
+    annotationProcessor(project(":processor"))
     testImplementation(libs.junit)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
@@ -18,4 +18,11 @@
 
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+#-renamesourcefileattribute SourceFile
+
+# lib.persistence: üretilmiş <Entity>_Mapper sınıfları Class.forName(entity + "_Mapper") ile bulunur.
+# Entity adları ve mapper'ların parametresiz ctor'ları korunmalı.
+-keepnames @lib.persistence.annotations.DbTableAnnotation class *
+-keep class * implements lib.persistence.profile.EntityBinder {
+    public <init>();
+}
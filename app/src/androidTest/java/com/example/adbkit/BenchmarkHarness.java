@@ -0,0 +1,37 @@
+package com.example.adbkit;
+
+import android.util.Log;
+
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Önce/sonra mikro ölçümleri için ortak düzen: bir ısınma turu (plan/JIT), ardından ROUNDS kez dönüşümlü
+ * ölçüm; her taraf için en kısa süre logcat'e yazılır.
+ * Süreler cihaza ve yüke göre değiştiğinden oran doğrulanmaz; testler yalnızca doğruluğu kontrol eder.
+ */
+final class BenchmarkHarness {
+    static final int ROUNDS = 5;
+
+    private BenchmarkHarness() {}
+
+    /**
+     * before/after bir ölçüm yapıp geçen süreyi (ns) döndürür; ops ölçüm başına işlem sayısıdır (ns/işlem için).
+     * Dönüş: {before, after} en kısa süreler (ns).
+     */
+    static long[] compare(String tag, int ops,
+                          String beforeName, LongSupplier before,
+                          String afterName, LongSupplier after) {
+        before.getAsLong();
+        after.getAsLong();
+
+        long b = Long.MAX_VALUE, a = Long.MAX_VALUE;
+        for (int r = 0; r < ROUNDS; r++) {
+            b = Math.min(b, before.getAsLong());
+            a = Math.min(a, after.getAsLong());
+        }
+        Log.i(tag, beforeName + ": " + (b / ops) + " ns/işlem, " + afterName + ": " + (a / ops) + " ns/işlem"
+                + String.format(Locale.ROOT, " (oran %.2f)", (double) a / b));
+        return new long[]{b, a};
+    }
+}
@@ -5,10 +5,22 @@ import static org.junit.Assert.*;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 import androidx.test.platform.app.InstrumentationRegistry;
 
 import com.example.adbkit.entities.Todo; // Todo entity'niz
+import lib.persistence.CallbackDispatcher;
+import lib.persistence.DbCallback;
+import lib.persistence.DbContextConfig;
+import lib.persistence.DbOperation;
+import lib.persistence.DbPriority;
+import lib.persistence.QueueWaitStats;
+import lib.persistence.DbResult;
+import lib.persistence.StatementCache;
 import lib.persistence.migration.Migrations;
 import lib.persistence.migration.MigrationStep;
 
@@ -18,7 +30,18 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 @RunWith(AndroidJUnit4.class)
 public class DbContextTest {
@@ -156,4 +179,437 @@ public class DbContextTest {
         appContext.deleteDatabase("test_migration.db");
     }
     */
+
+    @Test
+    public void statementCache_shouldCountHitsMissesAndEvictLeastRecentlyUsed() {
+        StatementCache cache = new StatementCache(2);
+        SQLiteDatabase db = dbContext.getWritableDatabase();
+        String a = "DELETE FROM todos WHERE id = ?";
+        String b = "DELETE FROM todos WHERE userId = ?";
+        String c = "DELETE FROM todos WHERE title = ?";
+
+        SQLiteStatement first = cache.acquire(db, a);
+        assertSame(first, cache.acquire(db, a)); // aynı SQL yeniden derlenmez
+        cache.acquire(db, b);
+        cache.acquire(db, a);                     // a en son kullanılan → b çıkarılmalı
+        cache.acquire(db, c);
+
+        assertEquals(2, cache.hitCount());
+        assertEquals(3, cache.missCount());
+        assertEquals(1, cache.evictionCount());
+        assertEquals(2, cache.size());
+        assertSame(first, cache.acquire(db, a));
+
+        cache.releaseEvicted();
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void groupCommit_shouldIsolateFailedWorkAndDeliverEachResult() throws Exception {
+        DbContextConfig cfg = DbContextConfig.get();
+        boolean oldGroup = cfg.groupCommit;
+        long oldMs = cfg.groupCommitMaxMs;
+        cfg.groupCommit = true;
+        cfg.groupCommitMaxMs = 10_000; // test: grup sadece sayı sınırıyla kesilsin
+        appContext.deleteDatabase("test_group.db");
+        DbContext grouped = new DbContext(appContext, "test_group.db", 1);
+        try {
+            final int n = 50;
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(n + 2);
+            AtomicInteger ok = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            AtomicInteger notifications = new AtomicInteger();
+            grouped.addTableListener(tables -> notifications.incrementAndGet());
+
+            // İlk iş yazma thread'ini tutar; diğerleri kuyrukta birikir ve aynı gruba girer
+            grouped.runDbOperation(db -> {
+                grouped.tablesWritten("todos");
+                release.await(5, TimeUnit.SECONDS);
+                return new DbResult.Success<>(0);
+            }, r -> done.countDown(), true);
+
+            for (int i = 0; i < n; i++) {
+                final int k = i;
+                grouped.runDbOperation(db -> {
+                    grouped.tablesWritten("todos");
+                    db.execSQL("INSERT INTO todos (userId, title, completed) VALUES (?, ?, 0)", new Object[]{1, "t" + k});
+                    return new DbResult.Success<>(k);
+                }, r -> { if (r.isSuccess()) ok.incrementAndGet(); done.countDown(); }, true);
+                if (i == 24) {
+                    // Ortadaki başarısız iş: kendi eklemesi geri alınır, diğerleri commit olur
+                    grouped.runDbOperation(db -> {
+                        grouped.tablesWritten("todos");
+                        db.execSQL("INSERT INTO todos (userId, title, completed) VALUES (9, 'rolled-back', 0)");
+                        throw new IllegalStateException("boom");
+                    }, r -> { if (!r.isSuccess()) failed.incrementAndGet(); done.countDown(); }, true);
+                }
+            }
+            release.countDown();
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+
+            assertEquals(n, ok.get());
+            assertEquals(1, failed.get());
+            assertEquals(1, notifications.get()); // tek transaction → tek bildirim
+            try (Cursor c = grouped.getReadableDatabase().rawQuery(
+                    "SELECT COUNT(*), SUM(title = 'rolled-back') FROM todos", null)) {
+                assertTrue(c.moveToFirst());
+                assertEquals(n, c.getInt(0));
+                assertEquals(0, c.getInt(1));
+            }
+        } finally {
+            cfg.groupCommit = oldGroup;
+            cfg.groupCommitMaxMs = oldMs;
+            grouped.close();
+            appContext.deleteDatabase("test_group.db");
+        }
+    }
+
+    @Test
+    public void groupCommit_failedNestedTransactionShouldNotReportRolledBackWritesAsSuccess() throws Exception {
+        DbContextConfig cfg = DbContextConfig.get();
+        boolean oldGroup = cfg.groupCommit;
+        long oldMs = cfg.groupCommitMaxMs;
+        cfg.groupCommit = true;
+        cfg.groupCommitMaxMs = 10_000;
+        appContext.deleteDatabase("test_group.db");
+        DbContext grouped = new DbContext(appContext, "test_group.db", 1);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(4);
+            List<String> succeeded = Collections.synchronizedList(new ArrayList<>());
+            AtomicReference<DbResult<Integer>> nested = new AtomicReference<>();
+
+            grouped.runDbOperation(db -> {
+                release.await(5, TimeUnit.SECONDS);
+                return new DbResult.Success<>(0);
+            }, r -> done.countDown(), true);
+            for (String title : new String[]{"before", "nested", "after"}) {
+                grouped.runDbOperation(db -> {
+                    grouped.tablesWritten("todos");
+                    if ("nested".equals(title)) {
+                        // Android kalıbı: iç transaction setTransactionSuccessful olmadan biter → üst transaction bozulur
+                        db.beginTransaction();
+                        try {
+                            db.execSQL("INSERT INTO todos (userId, title, completed) VALUES (1, 'nested', 0)");
+                        } finally {
+                            db.endTransaction();
+                        }
+                    } else {
+                        db.execSQL("INSERT INTO todos (userId, title, completed) VALUES (1, ?, 0)", new Object[]{title});
+                    }
+                    return new DbResult.Success<>(1);
+                }, r -> {
+                    if (r.isSuccess()) succeeded.add(title);
+                    if ("nested".equals(title)) nested.set(r);
+                    done.countDown();
+                }, true);
+            }
+            release.countDown();
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+
+            assertTrue(nested.get().isError());
+            // Geri alınan grup başarı bildirmez; sonraki iş yeni grupta commit olur
+            assertFalse(succeeded.contains("before"));
+            assertTrue(succeeded.contains("after"));
+            try (Cursor c = grouped.getReadableDatabase().rawQuery("SELECT title FROM todos ORDER BY id", null)) {
+                List<String> persisted = new ArrayList<>();
+                while (c.moveToNext()) persisted.add(c.getString(0));
+                assertEquals(succeeded, persisted);
+            }
+        } finally {
+            cfg.groupCommit = oldGroup;
+            cfg.groupCommitMaxMs = oldMs;
+            grouped.close();
+            appContext.deleteDatabase("test_group.db");
+        }
+    }
+
+    @Test
+    public void rollbackToSavepoint_prefixedStatementShouldExecute() {
+        // API 26-27: "ROLLBACK" önekli SQL transaction sonu sayılır; ADbContext baştaki ';' ile çalıştırır
+        SQLiteDatabase db = dbContext.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.compileStatement("SAVEPOINT adbkit_work").execute();
+            db.execSQL("INSERT INTO todos (userId, title, completed) VALUES (1, 'undone', 0)");
+            db.execSQL(";ROLLBACK TO SAVEPOINT adbkit_work");
+            db.compileStatement("RELEASE SAVEPOINT adbkit_work").execute();
+            assertTrue(db.inTransaction());   // dış transaction açık kalmalı
+            db.execSQL("INSERT INTO todos (userId, title, completed) VALUES (1, 'kept', 0)");
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        try (Cursor c = db.rawQuery("SELECT title FROM todos", null)) {
+            assertEquals(1, c.getCount());
+            assertTrue(c.moveToFirst());
+            assertEquals("kept", c.getString(0));
+        }
+    }
+
+    @Test
+    public void readPriority_interactiveShouldOvertakeQueuedBackgroundReads() throws Exception {
+        int threads = DbContextConfig.get().readThreads;
+        CountDownLatch busy = new CountDownLatch(threads);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads + 6);
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        dbContext.getReadQueueStats().reset();
+
+        // Tüm okuma thread'lerini meşgul et; sonrakiler kuyrukta bekler
+        for (int i = 0; i < threads; i++) {
+            dbContext.runDbOperation(db -> {
+                busy.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return new DbResult.Success<>(0);
+            }, r -> done.countDown(), false);
+        }
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 5; i++) {
+            final String name = "bg" + i;
+            dbContext.runDbOperation(db -> {
+                started.add(name);
+                return new DbResult.Success<>(0);
+            }, r -> done.countDown(), false, DbPriority.BACKGROUND);
+        }
+        dbContext.runDbOperation(db -> {
+            started.add("ui");
+            return new DbResult.Success<>(0);
+        }, r -> done.countDown(), false, DbPriority.INTERACTIVE);
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        // Sonra kuyruğa girdiği halde ilk alınan iş INTERACTIVE olmalı (aynı anda boşalan thread'ler yarışabilir)
+        assertTrue(started.toString(), started.indexOf("ui") < threads);
+        QueueWaitStats stats = dbContext.getReadQueueStats();
+        assertEquals(1, stats.count(DbPriority.INTERACTIVE));
+        assertEquals(5, stats.count(DbPriority.BACKGROUND));
+        assertEquals(threads, stats.count(DbPriority.NORMAL));
+        assertTrue(stats.maxWaitMs(DbPriority.BACKGROUND) >= stats.averageWaitMs(DbPriority.BACKGROUND));
+    }
+
+    @Test
+    public void dbOperation_cancelShouldSkipQueuedWorkAndTimeoutShouldInterruptRunningQuery() throws Exception {
+        int threads = DbContextConfig.get().readThreads;
+        CountDownLatch busy = new CountDownLatch(threads);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+        AtomicInteger delivered = new AtomicInteger();
+
+        for (int i = 0; i < threads; i++) {
+            dbContext.runDbOperation(db -> {
+                busy.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return new DbResult.Success<>(0);
+            }, null, false);
+        }
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+
+        // Kuyrukta iptal: iş çalışmaz, callback gelmez
+        DbOperation<Integer> queued = dbContext.runDbOperation(db -> {
+            ran.incrementAndGet();
+            return new DbResult.Success<>(1);
+        }, r -> delivered.incrementAndGet(), false);
+        assertTrue(queued.cancel());
+        assertTrue(queued.isCancelled());
+        assertTrue(queued.isDone());
+
+        // Kuyrukta süre dolar: thread'ler boşalmadan zaman aşımı iletilir
+        CountDownLatch expired = new CountDownLatch(1);
+        AtomicReference<DbResult<Integer>> expiredResult = new AtomicReference<>();
+        DbOperation<Integer> late = dbContext.runDbOperation(db -> {
+            ran.incrementAndGet();
+            return new DbResult.Success<>(1);
+        }, r -> { expiredResult.set(r); expired.countDown(); }, false, DbPriority.NORMAL, 50);
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertTrue(late.isTimedOut());
+        assertTrue(((DbResult.Error<Integer>) expiredResult.get()).getException() instanceof TimeoutException);
+
+        release.countDown();
+
+        // Yürürken süre dolar: sonsuz sorgu sinyal ile SQLite içinde kesilir
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicReference<DbResult<Long>> runningResult = new AtomicReference<>();
+        dbContext.runDbOperation(db -> {
+            try (Cursor c = db.rawQuery("WITH RECURSIVE n(x) AS (SELECT 1 UNION ALL SELECT x + 1 FROM n) "
+                    + "SELECT count(*) FROM n", null, dbContext.cancellationSignal())) {
+                c.moveToFirst();
+                return new DbResult.Success<>(c.getLong(0));
+            }
+        }, r -> { runningResult.set(r); interrupted.countDown(); }, false, DbPriority.NORMAL, 200);
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        assertTrue(runningResult.get().isError());
+        assertTrue(((DbResult.Error<Long>) runningResult.get()).getException() instanceof TimeoutException);
+
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        assertEquals(0, ran.get());
+        assertEquals(0, delivered.get());
+    }
+
+    @Test
+    public void dbOperation_timeoutShouldFireWhileMainLooperIsBusy() throws Exception {
+        CountDownLatch mainBlocked = new CountDownLatch(1);
+        CountDownLatch releaseMain = new CountDownLatch(1);
+        new Handler(Looper.getMainLooper()).post(() -> {
+            mainBlocked.countDown();
+            try { releaseMain.await(10, TimeUnit.SECONDS); } catch (InterruptedException ignored) {}
+        });
+        assertTrue(mainBlocked.await(5, TimeUnit.SECONDS));
+        try {
+            // Future DB thread'inde tamamlanır: süre ana Looper'a bağlıysa meşgulken hiç dolmazdı
+            CompletableFuture<DbResult<Long>> f = dbContext.runDbOperationAsync(db -> {
+                try (Cursor c = db.rawQuery("WITH RECURSIVE n(x) AS (SELECT 1 UNION ALL SELECT x + 1 FROM n) "
+                        + "SELECT count(*) FROM n", null, dbContext.cancellationSignal())) {
+                    c.moveToFirst();
+                    return new DbResult.Success<>(c.getLong(0));
+                }
+            }, false, DbPriority.NORMAL, 200, null);
+            DbResult<Long> r = f.get(5, TimeUnit.SECONDS);
+            assertTrue(((DbResult.Error<Long>) r).getException() instanceof TimeoutException);
+        } finally {
+            releaseMain.countDown();
+        }
+    }
+
+    @Test
+    public void dbOperation_cancelledRunningWriteShouldRollBack() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        AtomicInteger delivered = new AtomicInteger();
+
+        DbOperation<Integer> op = dbContext.runDbOperation(db -> {
+            db.execSQL("INSERT INTO todos (userId, title, completed) VALUES (1, 'cancelled', 0)");
+            started.countDown();
+            cancelled.await(5, TimeUnit.SECONDS);
+            return new DbResult.Success<>(1);   // sinyali yoklamayan iş de commit edilmemeli
+        }, r -> delivered.incrementAndGet(), true);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(op.cancel());
+        cancelled.countDown();
+
+        // Yazma thread'i boşalınca (sonraki iş çalışınca) kontrol et
+        DbResult<Long> count = dbContext.call(db -> {
+            try (Cursor c = db.rawQuery("SELECT count(*) FROM todos WHERE title = 'cancelled'", null)) {
+                c.moveToFirst();
+                return new DbResult.Success<>(c.getLong(0));
+            }
+        }, true);
+        assertEquals(0L, (long) count.getData());
+        assertTrue(op.isDone());
+        assertFalse(op.cancel());
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        assertEquals(0, delivered.get());
+    }
+
+    @Test
+    public void runDbOperationAsync_shouldCompleteOnDbThreadAndCallShouldBlockOnWorker() throws Exception {
+        Thread main = Looper.getMainLooper().getThread();
+        AtomicReference<Thread> completedOn = new AtomicReference<>();
+
+        // Yazma → okuma zinciri ana thread'e uğramaz
+        CompletableFuture<DbResult<Long>> chained = dbContext.runDbOperationAsync(db -> {
+            db.execSQL("INSERT INTO todos (userId, title, completed) VALUES (1, 'future', 0)");
+            return new DbResult.Success<>(1);
+        }, true).thenCompose(r -> dbContext.runDbOperationAsync(db -> {
+            try (Cursor c = db.rawQuery("SELECT count(*) FROM todos WHERE title = 'future'", null)) {
+                c.moveToFirst();
+                completedOn.set(Thread.currentThread());
+                return new DbResult.Success<>(c.getLong(0));
+            }
+        }, false));
+        DbResult<Long> count = chained.get(5, TimeUnit.SECONDS);
+        assertTrue(count.isSuccess());
+        assertEquals(1L, (long) count.getData());
+        assertNotSame(main, completedOn.get());
+
+        // Worker thread'inde senkron çağrı
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            Future<DbResult<Integer>> sync = worker.submit(() -> dbContext.call(db -> new DbResult.Success<>(42), false));
+            assertEquals(42, (int) sync.get(5, TimeUnit.SECONDS).getData());
+
+            // İş içinden call() kilitlenme yerine hata verir
+            DbResult<Object> nested = dbContext.runDbOperationAsync(db -> {
+                dbContext.call(inner -> new DbResult.Success<>(0), false);
+                return new DbResult.Success<Object>(null);
+            }, false).get(5, TimeUnit.SECONDS);
+            assertTrue(((DbResult.Error<Object>) nested).getException() instanceof IllegalStateException);
+        } finally {
+            worker.shutdown();
+        }
+
+        // Future devamı DB thread'inde çalışır: oradan call() kendi arkasındaki işi bekleyip kilitlenmek yerine hata verir
+        for (boolean write : new boolean[]{true, false}) {
+            CountDownLatch attached = new CountDownLatch(1); // devam, iş bitmeden eklensin (DB thread'inde çalışsın)
+            CompletableFuture<DbResult<Integer>> continuation = dbContext.runDbOperationAsync(db -> {
+                assertTrue(attached.await(5, TimeUnit.SECONDS));
+                return new DbResult.Success<>(1);
+            }, write).thenApply(r -> dbContext.call(db -> new DbResult.Success<>(2), write));
+            attached.countDown();
+            try {
+                continuation.get(5, TimeUnit.SECONDS);
+                fail("call() DB thread'inden reddedilmeliydi (write=" + write + ")");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        }
+
+        // Ana thread'de beklemek yasak
+        AtomicReference<Throwable> onMain = new AtomicReference<>();
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            try {
+                dbContext.call(db -> new DbResult.Success<>(0), false);
+            } catch (Throwable t) {
+                onMain.set(t);
+            }
+        });
+        assertTrue(onMain.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void callbackDispatcher_shouldBatchMainThreadCallbacksAndWorkerOptionShouldSkipMain() throws Exception {
+        int n = 500;
+        Thread main = Looper.getMainLooper().getThread();
+        CallbackDispatcher dispatcher = dbContext.getCallbackDispatcher();
+        long dispatchedBefore = dispatcher.dispatchCount();
+        long messagesBefore = dispatcher.messageCount();
+        CountDownLatch done = new CountDownLatch(n);
+        AtomicInteger offMain = new AtomicInteger();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        // Ana thread meşgulken biten işlerin callback'leri kuyrukta birikir
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            for (int i = 0; i < n; i++) {
+                final int k = i;
+                dbContext.runDbOperation(db -> new DbResult.Success<>(k), r -> {
+                    if (Thread.currentThread() != main) offMain.incrementAndGet();
+                    order.add(r.getData());
+                    done.countDown();
+                }, true);
+            }
+            long until = SystemClock.uptimeMillis() + 5000;
+            while (dispatcher.pendingCount() < n && SystemClock.uptimeMillis() < until) SystemClock.sleep(1);
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(0, offMain.get());
+        for (int i = 0; i < n; i++) assertEquals(i, (int) order.get(i)); // yazma sırası korunur
+        assertEquals(n, dispatcher.dispatchCount() - dispatchedBefore);
+        // Tek mesaj yeter; bütçe aşılırsa birkaç mesaja bölünür ama callback başına mesaj yok
+        assertTrue(dispatcher.toString(), dispatcher.messageCount() - messagesBefore < 10);
+
+        // İş başına seçim: DB thread'inde teslim
+        CountDownLatch worker = new CountDownLatch(1);
+        AtomicReference<Thread> deliveredOn = new AtomicReference<>();
+        dbContext.runDbOperation(db -> new DbResult.Success<>(0), DbCallback.onWorkerThread(r -> {
+            deliveredOn.set(Thread.currentThread());
+            worker.countDown();
+        }), false);
+        assertTrue(worker.await(5, TimeUnit.SECONDS));
+        assertNotSame(main, deliveredOn.get());
+        assertTrue(deliveredOn.get().getName().startsWith(DbContextConfig.get().readThreadNamePrefix));
+    }
 }
@@ -0,0 +1,116 @@
+package com.example.adbkit;
+
+import static org.junit.Assert.*;
+
+import android.database.Cursor;
+import android.database.MatrixCursor;
+import android.os.Debug;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.function.Function;
+
+import lib.persistence.annotations.DbColumnAnnotation;
+import lib.persistence.annotations.DbTableAnnotation;
+import lib.persistence.profile.EntityPlan;
+import lib.persistence.profile.Mapper;
+
+// Sadece primitive kolonlardan oluşan Todo benzeri entity
+@DbTableAnnotation(name = "primitive_todos")
+class PrimitiveTodo {
+    @DbColumnAnnotation(ordinal = 1, isPrimaryKey = true, isIdentity = true) public int id;
+    @DbColumnAnnotation(ordinal = 2) public int userId;
+    @DbColumnAnnotation(ordinal = 3) public long createdAt;
+    @DbColumnAnnotation(ordinal = 4) public double priority;
+    @DbColumnAnnotation(ordinal = 5) public boolean completed;
+}
+
+@DbTableAnnotation(name = "boxed_todos")
+class BoxedTodo {
+    @DbColumnAnnotation(ordinal = 1, isPrimaryKey = true, isIdentity = true) public Integer id;
+    @DbColumnAnnotation(ordinal = 2) public Long createdAt;
+    @DbColumnAnnotation(ordinal = 3) public Double priority;
+    @DbColumnAnnotation(ordinal = 4) public Boolean completed;
+}
+
+@RunWith(AndroidJUnit4.class)
+public class MapperAllocationTest {
+    private static final String TAG = "MapperAllocation";
+    private static final int ROWS = 2_000;
+
+    private static MatrixCursor primitiveCursor() {
+        MatrixCursor c = new MatrixCursor(new String[]{"id", "userId", "createdAt", "priority", "completed"}, ROWS);
+        for (int r = 0; r < ROWS; r++) {
+            // Integer cache'e (-128..127) düşmeyen değerler: kutulama olsaydı her satırda ayırma görülürdü
+            c.addRow(new Object[]{100_000L + r, 200_000L + r, 1_700_000_000_000L + r, 1000.5 + r, 1L});
+        }
+        return c;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static int countAllocations(Cursor c, Function<Cursor, ?> perRow) {
+        c.moveToPosition(-1);
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        while (c.moveToNext()) perRow.apply(c);
+        Debug.stopAllocCounting();
+        return Debug.getThreadAllocCount();
+    }
+
+    @Test
+    public void primitiveEntity_shouldNotBoxPerRow() throws Exception {
+        EntityPlan<PrimitiveTodo> plan = Mapper.getPlan(PrimitiveTodo.class);
+        try (MatrixCursor c = primitiveCursor()) {
+            Function<Cursor, PrimitiveTodo> mapper = Mapper.rowMapperFor(PrimitiveTodo.class);
+            mapper.apply(moveFirst(c)); // index'ler çözülsün, sınıflar ısınsın
+
+            // Taban çizgisi: satır başına sadece entity örneği
+            int baseline = countAllocations(c, cur -> {
+                try { return plan.newInstance(); } catch (ReflectiveOperationException e) { throw new RuntimeException(e); }
+            });
+            int mapped = countAllocations(c, mapper);
+            Log.i(TAG, "baseline=" + baseline + " mapped=" + mapped + " rows=" + ROWS);
+
+            // 5 primitive kolon kutulansaydı satır başına >= 4 ek nesne olurdu; satırla büyüyen hiçbir ayırma olmamalı
+            // (küçük pay: ölçüm çevresindeki tek seferlik ayırmalar)
+            assertTrue("ek ayırma: " + (mapped - baseline) + " (" + ROWS + " satır)", mapped - baseline <= 2);
+
+            PrimitiveTodo last = mapper.apply(moveLast(c));
+            assertEquals(100_000 + ROWS - 1, last.id);
+            assertEquals(1_700_000_000_000L + ROWS - 1, last.createdAt);
+            assertEquals(1000.5 + ROWS - 1, last.priority, 0.0);
+            assertTrue(last.completed);
+        }
+    }
+
+    @Test
+    public void wrapperFields_shouldReceiveNullForNullColumns() {
+        try (MatrixCursor c = new MatrixCursor(new String[]{"id", "createdAt", "priority", "completed"})) {
+            c.addRow(new Object[]{7L, null, null, null});
+            BoxedTodo t = Mapper.rowMapperFor(BoxedTodo.class).apply(moveFirst(c));
+            assertEquals(Integer.valueOf(7), t.id);
+            assertNull(t.createdAt);
+            assertNull(t.priority);
+            assertNull(t.completed);
+        }
+    }
+
+    @Test
+    public void primitiveFields_shouldKeepDefaultForNullColumns() {
+        try (MatrixCursor c = new MatrixCursor(new String[]{"id", "userId", "createdAt", "priority", "completed"})) {
+            c.addRow(new Object[]{1L, null, null, null, null});
+            PrimitiveTodo t = Mapper.rowMapperFor(PrimitiveTodo.class).apply(moveFirst(c));
+            assertEquals(1, t.id);
+            assertEquals(0, t.userId);
+            assertEquals(0L, t.createdAt);
+            assertFalse(t.completed);
+        }
+    }
+
+    private static Cursor moveFirst(Cursor c) { assertTrue(c.moveToFirst()); return c; }
+    private static Cursor moveLast(Cursor c) { assertTrue(c.moveToPosition(c.getCount() - 1)); return c; }
+}
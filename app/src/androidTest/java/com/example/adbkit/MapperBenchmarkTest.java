@@ -0,0 +1,116 @@
+package com.example.adbkit;
+
+import static org.junit.Assert.*;
+
+import android.database.Cursor;
+import android.database.MatrixCursor;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.function.Function;
+
+import lib.persistence.annotations.DbColumnAnnotation;
+import lib.persistence.annotations.DbTableAnnotation;
+import lib.persistence.profile.Mapper;
+
+// 20 kolonlu geniş entity (androidTest'te processor çalışmaz → reflection/plan yolu ölçülür)
+@DbTableAnnotation(name = "wide_entities")
+class WideEntity {
+    @DbColumnAnnotation(ordinal = 1, isPrimaryKey = true, isIdentity = true) public long id;
+    @DbColumnAnnotation(ordinal = 2) public int i1;
+    @DbColumnAnnotation(ordinal = 3) public int i2;
+    @DbColumnAnnotation(ordinal = 4) public int i3;
+    @DbColumnAnnotation(ordinal = 5) public long l1;
+    @DbColumnAnnotation(ordinal = 6) public long l2;
+    @DbColumnAnnotation(ordinal = 7) public long l3;
+    @DbColumnAnnotation(ordinal = 8) public double d1;
+    @DbColumnAnnotation(ordinal = 9) public double d2;
+    @DbColumnAnnotation(ordinal = 10) public double d3;
+    @DbColumnAnnotation(ordinal = 11) public boolean b1;
+    @DbColumnAnnotation(ordinal = 12) public boolean b2;
+    @DbColumnAnnotation(ordinal = 13) public String s1;
+    @DbColumnAnnotation(ordinal = 14) public String s2;
+    @DbColumnAnnotation(ordinal = 15) public String s3;
+    @DbColumnAnnotation(ordinal = 16) public String s4;
+    @DbColumnAnnotation(ordinal = 17) public String s5;
+    @DbColumnAnnotation(ordinal = 18) public String s6;
+    @DbColumnAnnotation(ordinal = 19) public String s7;
+    @DbColumnAnnotation(ordinal = 20) public String s8;
+}
+
+/**
+ * Satır başına eşleme maliyeti: kolon index'lerini her satırda çözmek (önce)
+ * ile sorgu başına bir kez çözmek (sonra) karşılaştırılır. Sonuçlar logcat'e yazılır
+ * (bkz. {@link BenchmarkHarness}).
+ */
+@RunWith(AndroidJUnit4.class)
+public class MapperBenchmarkTest {
+    private static final String TAG = "MapperBenchmark";
+    private static final int ROWS = 5_000;
+
+    private static MatrixCursor wideCursor() {
+        String[] names = new String[20];
+        names[0] = "id";
+        for (int k = 1; k <= 3; k++) names[k] = "i" + k;
+        for (int k = 1; k <= 3; k++) names[3 + k] = "l" + k;
+        for (int k = 1; k <= 3; k++) names[6 + k] = "d" + k;
+        names[10] = "b1"; names[11] = "b2";
+        for (int k = 1; k <= 8; k++) names[11 + k] = "s" + k;
+
+        MatrixCursor c = new MatrixCursor(names, ROWS);
+        for (int r = 0; r < ROWS; r++) {
+            Object[] row = new Object[20];
+            row[0] = (long) r;
+            for (int k = 1; k <= 9; k++) row[k] = (long) (r * k);
+            row[10] = 1L; row[11] = 0L;
+            for (int k = 12; k < 20; k++) row[k] = "value-" + r + "-" + k;
+            row[7] = r * 1.5; row[8] = r * 2.5; row[9] = r * 3.5;
+            c.addRow(row);
+        }
+        return c;
+    }
+
+    private static long perRowResolve(Cursor c) {
+        c.moveToPosition(-1);
+        long t0 = System.nanoTime();
+        while (c.moveToNext()) Mapper.cursorToObject(c, WideEntity.class);
+        return System.nanoTime() - t0;
+    }
+
+    private static long perQueryResolve(Cursor c) {
+        c.moveToPosition(-1);
+        long t0 = System.nanoTime();
+        Function<Cursor, WideEntity> mapper = Mapper.rowMapperFor(WideEntity.class);
+        while (c.moveToNext()) mapper.apply(c);
+        return System.nanoTime() - t0;
+    }
+
+    @Test
+    public void wideEntity_perQueryVsPerRowIndexResolution_logsTimings() {
+        try (MatrixCursor c = wideCursor()) {
+            BenchmarkHarness.compare(TAG, ROWS,
+                    "20 kolon, satır başına çözüm", () -> perRowResolve(c),
+                    "sorgu başına çözüm", () -> perQueryResolve(c));
+        }
+    }
+
+    @Test
+    public void rowMapperFor_shouldMapSameValuesAsCursorToObject() {
+        try (MatrixCursor c = wideCursor()) {
+            Function<Cursor, WideEntity> mapper = Mapper.rowMapperFor(WideEntity.class);
+            assertTrue(c.moveToPosition(42));
+            WideEntity a = mapper.apply(c);
+            WideEntity b = Mapper.cursorToObject(c, WideEntity.class);
+            assertEquals(42L, a.id);
+            assertEquals(b.l3, a.l3);
+            assertEquals(b.d2, a.d2, 0.0);
+            assertTrue(a.b1);
+            assertFalse(a.b2);
+            assertEquals("value-42-19", a.s8);
+            assertEquals(b.s8, a.s8);
+        }
+    }
+}
@@ -9,11 +9,19 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+
+import com.example.adbkit.entities.Todo;
+
 import lib.persistence.annotations.DbColumnAnnotation;
 import lib.persistence.annotations.DbTableAnnotation;
+import lib.persistence.command.manipulation.InsertStatement;
+import lib.persistence.command.manipulation.UpsertCommand;
 import lib.persistence.profile.DbColumn;
 import lib.persistence.profile.DbDataType;
+import lib.persistence.profile.EntityPlan;
+import lib.persistence.profile.GeneratedMappers;
 import lib.persistence.profile.Mapper;
+import lib.persistence.profile.SqlPlan;
 
 import android.content.ContentValues; // AndroidX Test veya Robolectric gerekebilir ya da mock'layın
 
@@ -161,6 +169,82 @@ public class MapperTest {
         Mapper.getColumnByName(TestEntity.class, "non_existent_column");
     }
 
+    @Test
+    public void getPlan_shouldBeCachedAndResolvePkAndIdentity() {
+        EntityPlan<TestEntity> plan = Mapper.getPlan(TestEntity.class);
+        assertSame(plan, Mapper.getPlan(TestEntity.class)); // tek sefer kurulur
+
+        assertEquals(7, plan.size());
+        assertEquals("firstField", plan.column(0).getFieldName());
+        assertEquals(1, plan.primaryKeyCount());
+        assertEquals(1, plan.getIdentityIndex());
+        assertEquals("entity_id", plan.column(plan.primaryKeyIndex(0)).getColumnName());
+        assertEquals("REAL", plan.sqliteType(3));
+        assertEquals(4, plan.indexOf("is_active_col"));
+    }
+
+    @Test
+    public void getPlan_setIdentityValue_shouldWriteRowId() throws Exception {
+        TestEntity entity = new TestEntity();
+        Mapper.getPlan(TestEntity.class).setIdentityValue(entity, 42L);
+        assertEquals(42, entity.id);
+    }
+
+    @Test
+    public void generatedMappers_shouldFindTodoMapperAndFallBackForOthers() {
+        // :processor sadece main kaynak setinde çalışır → Todo_Mapper var, test entity'lerinde yok
+        assertNotNull(GeneratedMappers.rowMapper(Todo.class));
+        assertNotNull(GeneratedMappers.binder(Todo.class));
+        assertNull(GeneratedMappers.rowMapper(TestEntity.class));
+    }
+
+    @Test
+    public void sqlPlanBinderColumns_shouldMapOncePerTypeAndFallBackWithoutMapper() {
+        SqlPlan<Todo> p = SqlPlan.of(Todo.class);
+        String[] names = GeneratedMappers.statementBinder(Todo.class).columnNames();
+        int[] planColumns = {2, 1};
+        int[] mapped = p.binderColumns(planColumns);
+        for (int k = 0; k < planColumns.length; k++) {
+            assertEquals(p.getPlan().column(planColumns[k]).getColumnName().toLowerCase(),
+                    names[mapped[k]].toLowerCase());
+        }
+        assertNull(SqlPlan.of(TestEntity.class).binderColumns(new int[]{0}));
+    }
+
+    @Test
+    public void insertStatementSql_shouldFollowOrdinalOrderWithoutIdentity() {
+        EntityPlan<TestEntity> plan = Mapper.getPlan(TestEntity.class);
+        int[] cols = {0, 2, 3, 4, 5, 6}; // identity (index 1) hariç
+        assertEquals("INSERT INTO `test_entities` (`firstField`, `name_col`, `value_col`, `is_active_col`, "
+                        + "`created_date_col`, `updated_at_col`) VALUES (?, ?, ?, ?, ?, ?)",
+                InsertStatement.buildSql(plan, cols));
+        assertEquals("INSERT INTO `test_entities` DEFAULT VALUES", InsertStatement.buildSql(plan, new int[0]));
+        assertNotNull(GeneratedMappers.statementBinder(Todo.class));
+    }
+
+    @Test
+    public void upsertCommand_compositePk_shouldTargetAllPkColumns() {
+        CompositePkEntity e = new CompositePkEntity();
+        e.keyPart1 = 3;
+        e.keyPart2 = "b";
+        e.data = "x";
+        UpsertCommand cmd = UpsertCommand.build(e);
+        assertEquals("INSERT INTO `composite_pk_table` (`key_part1`, `key_part2`, `data`) VALUES (?, ?, ?)"
+                + " ON CONFLICT(`key_part1`, `key_part2`) DO UPDATE SET `data` = excluded.`data`", cmd.getSql());
+        assertArrayEquals(new Object[]{3, "b", "x"}, cmd.getBindArgs());
+    }
+
+    @Test
+    public void upsertCommand_emptyIdentity_shouldLetDbGenerateId() {
+        TestEntity e = new TestEntity(); // id = 0
+        e.isActive = true;
+        UpsertCommand cmd = UpsertCommand.build(e);
+        assertFalse(cmd.getSql().contains("`entity_id`, "));
+        assertTrue(cmd.getSql().contains("ON CONFLICT(`entity_id`) DO UPDATE SET `firstField` = excluded.`firstField`"));
+        assertEquals(6, cmd.getBindArgs().length);
+        assertEquals(1L, cmd.getBindArgs()[3]); // boolean → 1
+    }
+
     // cursorToObject testi enstrümantasyon testlerinde daha anlamlı olur,
     // çünkü gerçek bir Cursor nesnesi gerektirir.
     // Ancak mock bir Cursor ile de birim testi yazılabilir.
@@ -0,0 +1,66 @@
+package com.example.adbkit;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.example.adbkit.entities.Todo;
+
+import lib.persistence.command.query.Select;
+
+/**
+ * Select.compile() maliyeti: SQL metnini her seferinde kurmak (önce, şablon önbelleği kapalı)
+ * ile şekil anahtarıyla önbellekten almak (sonra) karşılaştırılır. Sonuçlar logcat'e yazılır
+ * (bkz. {@link BenchmarkHarness}).
+ */
+@RunWith(AndroidJUnit4.class)
+public class SelectCompileBenchmarkTest {
+    private static final String TAG = "SelectCompileBenchmark";
+    private static final int COMPILES = 20_000;
+
+    @After
+    public void tearDown() {
+        Select.setTemplateCacheSize(Select.DEFAULT_TEMPLATE_CACHE_SIZE);
+        Select.clearTemplateCache();
+    }
+
+    // Tipik liste ekranı sorgusu: filtre + keyset + sıralama + limit
+    private static Select<Todo> typicalSelect() {
+        return Select.from(Todo.class)
+                .columns("id", "userId", "title", "completed")
+                .whereEq("userId", 7)
+                .and("`completed` = ?", false)
+                .whereLike("title", "%a%")
+                .orderBy("title", false)
+                .orderBy("id", false)
+                .after(new String[]{"title", "id"}, new Object[]{"m", 120})
+                .limit(50);
+    }
+
+    private static long compileAll(Select<Todo> s) {
+        long t0 = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < COMPILES; i++) sink += s.compile().getArgs().length;
+        long elapsed = System.nanoTime() - t0;
+        assertEquals(COMPILES * 5, sink);
+        return elapsed;
+    }
+
+    @Test
+    public void compile_templateCacheVsRebuild_logsTimings() {
+        Select<Todo> s = typicalSelect();
+        BenchmarkHarness.compare(TAG, COMPILES,
+                "compile() yeniden kurma", () -> {
+                    Select.setTemplateCacheSize(0);
+                    return compileAll(s);
+                },
+                "compile() şablon önbelleği", () -> {
+                    Select.setTemplateCacheSize(Select.DEFAULT_TEMPLATE_CACHE_SIZE);
+                    return compileAll(s);
+                });
+    }
+}
@@ -4,6 +4,7 @@ package com.example.adbkit;
 import static org.junit.Assert.*;
 
 import android.content.Context;
+import android.database.Cursor;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 import androidx.test.platform.app.InstrumentationRegistry;
 
@@ -13,7 +14,12 @@ import com.example.adbkit.repositories.TodoRepository;
 
 import lib.persistence.DbCallback;
 import lib.persistence.DbResult;
+import lib.persistence.EntityCache;
 import lib.persistence.IDbContext; // IDbContext kullanın
+import lib.persistence.LiveQuery;
+import lib.persistence.PagedQuery;
+import lib.persistence.QueryCache;
+import lib.persistence.ResultTable;
 import lib.persistence.command.query.Select;
 
 import org.junit.After;
@@ -51,6 +57,18 @@ public class TodoRepositoryTest {
         appContext.deleteDatabase("repo_test.db");
     }
 
+    // n adet kaydedilmemiş Todo: başlıklar prefix + sıra no
+    private static ArrayList<Todo> todos(int n, int userId, String prefix) {
+        ArrayList<Todo> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Todo t = new Todo();
+            t.userId = userId;
+            t.title = prefix + i;
+            out.add(t);
+        }
+        return out;
+    }
+
     @Test
     public void insertAndGetById_shouldWorkCorrectly() throws InterruptedException {
         final CountDownLatch latch = new CountDownLatch(2); // insert + getById
@@ -83,6 +101,467 @@ public class TodoRepositoryTest {
         assertTrue("Database operations did not complete in time", latch.await(5, TimeUnit.SECONDS));
     }
 
+    @Test
+    public void insertAll_shouldInsertInOneOperationAndWriteBackIds() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(2); // insertAll + selectAll
+        ArrayList<Todo> todos = todos(25, 70, "Bulk ");
+        for (int i = 0; i < todos.size(); i++) todos.get(i).completed = i % 2 == 0;
+
+        // chunkSize=10 → iki ara commit + son parça
+        todoRepository.insertAll(todos, 10, result -> {
+            assertTrue(result.isSuccess());
+            assertEquals(25, result.getData().size());
+            for (Todo t : result.getData()) assertTrue(t.id > 0);
+            assertTrue(result.getData().get(24).id > result.getData().get(0).id);
+            latch.countDown();
+
+            todoRepository.selectAll(all -> {
+                assertTrue(all.isSuccess());
+                assertEquals(25, all.getData().size());
+                latch.countDown();
+            });
+        });
+
+        assertTrue("Database operations did not complete in time", latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void insertAll_failureAfterChunkCommit_shouldKeepCommittedEffectsAndResetTailIds() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(2); // insertAll + selectAll
+        todoRepository.enableEntityCache(64);
+        todoRepository.enableChangeTracking();
+        EntityCache<Todo> cache = todoRepository.getEntityCache();
+        ArrayList<Todo> todos = todos(25, 71, "Chunk ");
+        todos.get(22).title = null; // NOT NULL ihlali: üçüncü parça geri alınır
+
+        todoRepository.insertAll(todos, 10, result -> {
+            assertFalse(result.isSuccess());
+            for (int i = 0; i < 20; i++) {                 // commit olan iki parça: önbellekte ve izleniyor
+                Todo t = todos.get(i);
+                assertTrue(t.id > 0);
+                assertSame(t, cache.get(cache.keyOf(t)));
+                assertTrue(todoRepository.getChangeTracker().isTracked(t));
+            }
+            for (int i = 20; i < 25; i++) assertEquals(0, todos.get(i).id); // geri alınan parça
+            assertEquals(20, cache.size());
+            latch.countDown();
+
+            todoRepository.selectAll(all -> {
+                assertEquals(20, all.getData().size());
+                latch.countDown();
+            });
+        });
+
+        assertTrue("Database operations did not complete in time", latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void updateAllAndDeleteByIds_shouldBatchAndChunkInClause() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(4); // insertAll + updateAll + deleteByIds + selectAll
+        ArrayList<Todo> todos = todos(1200, 80, "Batch "); // > 999 → IN listesi iki parçaya bölünmeli
+
+        todoRepository.insertAll(todos, inserted -> {
+            assertTrue(inserted.isSuccess());
+            for (Todo t : todos) t.completed = true;
+            latch.countDown();
+
+            todoRepository.updateAll(todos, updated -> {
+                assertTrue(updated.isSuccess());
+                assertEquals(1200, updated.getData().length);
+                for (int n : updated.getData()) assertEquals(1, n);
+                latch.countDown();
+
+                ArrayList<Integer> ids = new ArrayList<>();
+                for (int i = 0; i < 1100; i++) ids.add(todos.get(i).id);
+                todoRepository.deleteByIds(ids, deleted -> {
+                    assertTrue(deleted.isSuccess());
+                    assertArrayEquals(new int[]{999, 101}, deleted.getData());
+                    latch.countDown();
+
+                    todoRepository.selectAll(rest -> {
+                        assertEquals(100, rest.getData().size());
+                        for (Todo t : rest.getData()) assertTrue(t.completed);
+                        latch.countDown();
+                    });
+                });
+            });
+        });
+
+        assertTrue("Database operations did not complete in time", latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void deleteAll_singlePk_shouldReturnCountPerInChunk() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(2); // insertAll + deleteAll
+        ArrayList<Todo> todos = todos(1200, 85, "Gone "); // > 999 → iki IN parçası
+
+        todoRepository.insertAll(todos, inserted -> {
+            assertTrue(inserted.isSuccess());
+            latch.countDown();
+
+            todoRepository.deleteAll(todos, deleted -> {
+                assertTrue(deleted.isSuccess());
+                assertArrayEquals(new int[]{999, 201}, deleted.getData()); // deleteByIds ile aynı anlam
+                latch.countDown();
+            });
+        });
+
+        assertTrue("Database operations did not complete in time", latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void upsertAll_shouldInsertNewAndUpdateExisting() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(3); // insert + upsertAll + selectAll
+        final Todo existing = new Todo();
+        existing.userId = 90;
+        existing.title = "Old";
+
+        todoRepository.insert(existing, inserted -> {
+            assertTrue(inserted.isSuccess());
+            latch.countDown();
+
+            existing.title = "Updated";
+            Todo fresh = new Todo(); // id = 0 → INSERT, id geri yazılır
+            fresh.userId = 90;
+            fresh.title = "New";
+            ArrayList<Todo> batch = new ArrayList<>();
+            batch.add(existing);
+            batch.add(fresh);
+
+            todoRepository.upsertAll(batch, upserted -> {
+                assertTrue(upserted.isSuccess());
+                assertTrue(fresh.id > existing.id);
+                latch.countDown();
+
+                todoRepository.selectAll(all -> {
+                    assertEquals(2, all.getData().size());
+                    for (Todo t : all.getData()) {
+                        if (t.id == existing.id) assertEquals("Updated", t.title);
+                        else assertEquals("New", t.title);
+                    }
+                    latch.countDown();
+                });
+            });
+        });
+
+        assertTrue("Database operations did not complete in time", latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void selectChunked_shouldDeliverOrderedChunksAndStopEarly() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(3); // insertAll + 2 stream
+        ArrayList<Todo> todos = todos(25, 100, "Stream ");
+
+        todoRepository.insertAll(todos, inserted -> {
+            latch.countDown();
+            Select<Todo> ordered = Select.from(Todo.class).orderBy("id", false);
+
+            ArrayList<Integer> sizes = new ArrayList<>();
+            ArrayList<Integer> ids = new ArrayList<>();
+            todoRepository.selectChunked(ordered, 10, chunk -> {
+                sizes.add(chunk.size());
+                for (Todo t : chunk) ids.add(t.id);
+                return true;
+            }, all -> {
+                assertEquals(Integer.valueOf(25), all.getData());
+                assertEquals(java.util.Arrays.asList(10, 10, 5), sizes);
+                for (int i = 1; i < ids.size(); i++) assertTrue(ids.get(i) > ids.get(i - 1));
+                latch.countDown();
+            });
+
+            todoRepository.selectChunked(ordered, 10, chunk -> false, first -> {
+                assertEquals(Integer.valueOf(10), first.getData()); // ilk parçadan sonra durdu
+                latch.countDown();
+            });
+        });
+
+        assertTrue("Database operations did not complete in time", latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void selectPage_shouldWalkAllPagesWithKeyset() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(4); // insertAll + 3 sayfa
+        ArrayList<Todo> todos = todos(25, 0, "Page ");
+        for (int i = 0; i < todos.size(); i++) todos.get(i).userId = i % 3;
+
+        // userId DESC, id ASC (karışık yön)
+        Select<Todo> s = Select.from(Todo.class).orderBy("userId", true).orderBy("id", false);
+        ArrayList<Todo> seen = new ArrayList<>();
+        todoRepository.insertAll(todos, inserted -> {
+            latch.countDown();
+            todoRepository.selectPage(s, 10, null, p1 -> {
+                assertEquals(10, p1.getData().getItems().size());
+                assertTrue(p1.getData().hasMore());
+                seen.addAll(p1.getData().getItems());
+                latch.countDown();
+                todoRepository.selectPage(s, 10, p1.getData().getNext(), p2 -> {
+                    seen.addAll(p2.getData().getItems());
+                    latch.countDown();
+                    todoRepository.selectPage(s, 10, p2.getData().getNext(), p3 -> {
+                        assertEquals(5, p3.getData().getItems().size());
+                        assertFalse(p3.getData().hasMore());
+                        seen.addAll(p3.getData().getItems());
+                        for (int i = 1; i < seen.size(); i++) {
+                            Todo a = seen.get(i - 1), b = seen.get(i);
+                            assertTrue(a.userId > b.userId || (a.userId == b.userId && a.id < b.id));
+                        }
+                        assertEquals(25, seen.size());
+                        latch.countDown();
+                    });
+                });
+            });
+        });
+
+        assertTrue("Database operations did not complete in time", latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void pagedQuery_shouldPrefetchAndKeepBoundedWindow() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        ArrayList<Todo> todos = todos(55, 110, "Paged ");
+
+        ArrayList<Integer> dropped = new ArrayList<>();
+        int[] maxInMemory = {0};
+        todoRepository.insertAll(todos, inserted -> {
+            Select<Todo> s = Select.from(Todo.class).orderBy("id", false);
+            final PagedQuery<Todo>[] holder = new PagedQuery[1];
+            holder[0] = todoRepository.paged(s, 10, 3, new PagedQuery.Listener<Todo>() {
+                @Override public void onPageLoaded(int page, java.util.List<Todo> items) {
+                    PagedQuery<Todo> pq = holder[0];
+                    maxInMemory[0] = Math.max(maxInMemory[0], pq.getLoadedPages().size());
+                    if (pq.isEndReached()) {
+                        assertEquals(55, pq.getKnownCount());
+                        assertNotNull(pq.get(54));
+                        latch.countDown();
+                        return;
+                    }
+                    // Sayfanın sonuna "kaydır" → sonraki sayfa önceden yüklenir
+                    pq.get(page * 10 + items.size() - 1);
+                }
+                @Override public void onPageDropped(int page) { dropped.add(page); }
+            }).start();
+        });
+
+        assertTrue("Paging did not complete in time", latch.await(5, TimeUnit.SECONDS));
+        assertTrue(maxInMemory[0] <= 3);
+        assertTrue(dropped.contains(0)); // 6 sayfa okundu, pencere 3 → baştakiler düşmeli
+    }
+
+    @Test
+    public void paged_prefetchDistance_shouldStartNextPageThatManyRowsBeforeEnd() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        todoRepository.insertAll(todos(30, 81, "Prefetch "), inserted -> {
+            Select<Todo> s = Select.from(Todo.class).orderBy("id", false);
+            final PagedQuery<Todo>[] holder = new PagedQuery[1];
+            holder[0] = todoRepository.paged(s, 10, 3, 5, new PagedQuery.Listener<Todo>() {
+                @Override public void onPageLoaded(int page, java.util.List<Todo> items) {
+                    if (page != 0) return;
+                    PagedQuery<Todo> pq = holder[0];
+                    pq.get(4);                  // sona 6 satır: henüz yükleme yok
+                    assertFalse(pq.isLoading());
+                    pq.get(5);                  // sona 5 satır: sonraki sayfa başlar
+                    assertTrue(pq.isLoading());
+                    pq.close();
+                    latch.countDown();
+                }
+                @Override public void onPageDropped(int page) {}
+            }).start();
+        });
+        assertTrue("Paging did not complete in time", latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void rawQueryTable_shouldReturnTypedColumns() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(2); // insertAll + rawQueryTable
+        ArrayList<Todo> todos = todos(300, 90, "Row ");
+        for (int i = 0; i < todos.size(); i++) todos.get(i).userId = 90 + i % 3;
+
+        todoRepository.insertAll(todos, r -> {
+            assertTrue(r.isSuccess());
+            latch.countDown();
+
+            // title NOT NULL: NULL hücreler ifade kolonundan gelir
+            String sql = "SELECT id, userId, title, userId / 2.0 AS half, "
+                    + "CASE WHEN id % 2 = 0 THEN NULL ELSE title END AS maybe FROM todos ORDER BY id";
+            todoRepository.rawQueryTable(sql, null, res -> {
+                assertTrue(res.isSuccess());
+                ResultTable t = res.getData();
+                assertEquals(300, t.getRowCount());
+                assertEquals(Cursor.FIELD_TYPE_INTEGER, t.getType(t.getColumnIndex("userId")));
+                assertEquals(Cursor.FIELD_TYPE_STRING, t.getType(t.getColumnIndex("title")));
+                assertEquals(Cursor.FIELD_TYPE_FLOAT, t.getType(t.getColumnIndex("half")));
+                assertEquals(Cursor.FIELD_TYPE_STRING, t.getType(t.getColumnIndex("maybe")));
+
+                int title = t.getColumnIndexOrThrow("title");
+                int maybe = t.getColumnIndexOrThrow("maybe");
+                for (int row = 0; row < 2; row++) {
+                    boolean evenId = t.getLong(row, "id") % 2 == 0;
+                    assertEquals(evenId, t.isNull(row, maybe));
+                    if (!evenId) assertEquals(t.getString(row, title), t.getString(row, maybe));
+                }
+                assertEquals("Row 1", t.getString(1, title));
+                assertEquals(91, t.getLong(1, "userId"));
+                assertEquals(45.5, t.getDouble(1, "half"), 0.0);
+                assertEquals(300, t.getLongColumn(0).length);
+                latch.countDown();
+            });
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void rawQueryTable_blobMixedColumnAndLargeTextInteger_shouldNotLoseValues() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(2); // insertAll + rawQueryTable
+        todoRepository.insertAll(todos(4, 91, "Mixed "), r -> {
+            latch.countDown();
+
+            // 2^53 + 1: double üzerinden okunursa 2^53'e yuvarlanır
+            String sql = "SELECT CASE WHEN id % 2 = 0 THEN x'0102' ELSE title END AS mixed, "
+                    + "'9007199254740993' AS big FROM todos ORDER BY id";
+            todoRepository.rawQueryTable(sql, null, res -> {
+                assertTrue(res.isSuccess());
+                ResultTable t = res.getData();
+                int mixed = t.getColumnIndexOrThrow("mixed");
+                assertEquals(ResultTable.FIELD_TYPE_OBJECT, t.getType(mixed));
+                for (int row = 0; row < t.getRowCount(); row++) {
+                    Object v = t.getObject(row, mixed);
+                    if (v instanceof byte[]) assertArrayEquals(new byte[]{1, 2}, t.getBlob(row, mixed));
+                    else assertEquals("Mixed " + row, t.getString(row, mixed));
+                }
+                assertEquals(9007199254740993L, t.getLong(0, "big"));
+                latch.countDown();
+            });
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cachedSelect_shouldHitUntilTableIsWritten() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(4);
+        QueryCache cache = dbContext.getQueryCache();
+        assertNotNull(cache);
+        Select<Todo> s = Select.from(Todo.class).whereEq("userId", 95).cached();
+        Todo t = new Todo(); t.userId = 95; t.title = "Cached";
+
+        todoRepository.insert(t, r -> {
+            todoRepository.selectWith(s, first -> {          // miss → önbelleğe alınır
+                assertEquals(1, first.getData().size());
+                long hits = cache.hitCount();
+                latch.countDown();
+
+                todoRepository.selectWith(s, second -> {     // hit
+                    assertEquals(1, second.getData().size());
+                    assertEquals(hits + 1, cache.hitCount());
+                    latch.countDown();
+
+                    Todo t2 = new Todo(); t2.userId = 95; t2.title = "Cached 2";
+                    todoRepository.insert(t2, r2 -> {        // todos yazıldı → kayıt düşer
+                        latch.countDown();
+                        todoRepository.selectWith(s, third -> {
+                            assertEquals(2, third.getData().size());
+                            assertEquals(hits + 1, cache.hitCount());
+                            latch.countDown();
+                        });
+                    });
+                });
+            });
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void entityCache_shouldServeGetByIdAndFollowWrites() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(3);
+        todoRepository.enableEntityCache(16);
+        EntityCache<Todo> cache = todoRepository.getEntityCache();
+        Todo t = new Todo(); t.userId = 96; t.title = "Identity";
+
+        todoRepository.insert(t, r -> {                      // commit → önbelleğe girer
+            int id = r.getData().id;
+            todoRepository.getById(id, hit -> {
+                assertSame(t, hit.getData());
+                assertEquals(1, cache.hitCount());
+                latch.countDown();
+
+                todoRepository.delete(t, d -> {               // commit → önbellekten düşer
+                    latch.countDown();
+                    todoRepository.getById(id, miss -> {
+                        assertTrue(miss.isSuccess());
+                        assertNull(miss.getData());
+                        assertEquals(1, cache.missCount());
+                        latch.countDown();
+                    });
+                });
+            });
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void observe_shouldCoalesceReRunsAndStopWithoutObservers() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        final int[] lastSize = {-1};
+        @SuppressWarnings("unchecked")
+        final LiveQuery<Todo>[] live = new LiveQuery[1];
+        Select<Todo> s = Select.from(Todo.class).whereEq("userId", 97);
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() ->
+                live[0] = todoRepository.observe(s, items -> {
+                    lastSize[0] = items.size();
+                    if (items.size() == 200) done.countDown();
+                }));
+
+        // 200 ayrı yazma işi: sorgu her biri için değil, kare başına bir kez çalışmalı
+        for (int i = 0; i < 200; i++) {
+            Todo t = new Todo(); t.userId = 97; t.title = "Live " + i;
+            todoRepository.insert(t, null);
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue("runCount=" + live[0].getRunCount(), live[0].getRunCount() < 50);
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> live[0].close());
+        assertFalse(live[0].isActive());
+        int runs = live[0].getRunCount();
+        Todo t = new Todo(); t.userId = 97; t.title = "After close";
+        final CountDownLatch inserted = new CountDownLatch(1);
+        todoRepository.insert(t, r -> inserted.countDown());
+        assertTrue(inserted.await(5, TimeUnit.SECONDS));
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        assertEquals(runs, live[0].getRunCount());
+        assertEquals(200, lastSize[0]);
+    }
+
+    @Test
+    public void changeTracking_shouldWriteOnlyChangedColumnsAndSkipCleanUpdates() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(3);
+        todoRepository.enableChangeTracking();
+        Todo t = new Todo(); t.userId = 98; t.title = "Tracked";
+
+        todoRepository.insert(t, r -> todoRepository.getById(r.getData().id, loaded -> {
+            Todo e = loaded.getData();
+            assertTrue(todoRepository.getChangeTracker().isTracked(e));
+
+            todoRepository.update(e, clean -> {                 // değişiklik yok → SQL yok
+                assertTrue(clean.isSuccess());
+                latch.countDown();
+
+                e.completed = true;                             // sadece `completed` yazılır
+                todoRepository.update(e, dirty -> {
+                    assertTrue(dirty.isSuccess());
+                    assertTrue(todoRepository.getChangeTracker().diff(e).isEmpty());
+                    latch.countDown();
+
+                    todoRepository.getById(e.id, check -> {
+                        assertTrue(check.getData().completed);
+                        assertEquals("Tracked", check.getData().title);
+                        latch.countDown();
+                    });
+                });
+            });
+        }));
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
     @Test
     public void update_shouldModifyEntity() throws InterruptedException {
         final CountDownLatch latch = new CountDownLatch(3); // insert + update + get
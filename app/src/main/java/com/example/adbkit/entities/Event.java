@@ -7,18 +7,18 @@ import lib.persistence.annotations.DbTableAnnotation;
 @DbTableAnnotation(name = "events")
 public class Event {
     @DbColumnAnnotation(ordinal = 1, isPrimaryKey = true, isIdentity = true)
-    private int id;
+    int id;
 
     @DbColumnAnnotation(ordinal = 2, name = "event_type")
     @DbConverterAnnotation(converter = EventTypeConverter.class)
-    private EventType type;
+    EventType type;
 
     @DbColumnAnnotation(ordinal = 3, name = "event_message")
-    private String message;
+    String message;
 
     @DbColumnAnnotation(ordinal = 4, name = "created_at")
     @DbConverterAnnotation(converter = DateMillisConverter.class)
-    private java.util.Date createdAt;
+    java.util.Date createdAt;
 
     public Event(){
 
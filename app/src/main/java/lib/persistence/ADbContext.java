@@ -5,23 +5,78 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.database.sqlite.SQLiteTransactionListener;
+import android.os.CancellationSignal;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.OperationCanceledException;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class ADbContext extends SQLiteOpenHelper implements IDbContext {
 
-    private final ExecutorService readPool;
+    // Okuma kuyruğu sınırı: dolunca iş çağıran thread'de çalışır (geri basınç)
+    private static final int READ_QUEUE_CAPACITY = 256;
+
+    private final ThreadPoolExecutor readPool;
+    // Öncelik + yaşlandırma sıralı okuma kuyruğu (bkz. ReadTask)
+    private final PriorityBlockingQueue<Runnable> readQueue;
+    private final long[] readAgingNanos;   // DbPriority.ordinal() → kuyruk sırasına eklenen pay
+    private final AtomicLong readSequence = new AtomicLong();
+    private final QueueWaitStats readQueueStats = new QueueWaitStats();
     private final ExecutorService writePool;
     private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // İş sürelerinin zamanlayıcısı: ana Looper meşgulken de zaman aşımı zamanında işler
+    private final ScheduledThreadPoolExecutor timer;
+    // Callback'ler ana thread'e toplu iletilir (mesaj başına süre bütçesi)
+    private final CallbackDispatcher callbackDispatcher;
+    // Yazma bağlantısına ait derlenmiş ifadeler (SQL → SQLiteStatement, LRU)
+    private final StatementCache statementCache;
+    private volatile Thread writeThread;
+    // Okuma havuzunun thread'leri (call() yeniden girişi için kimlik kontrolü)
+    private final Set<Thread> readThreads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    // Select.cached() sonuçları; kapalıysa null
+    private final QueryCache queryCache;
+    // Yürüyen yazma işinin bildirdiği tablolar (sadece yazma thread'i erişir)
+    private final HashSet<String> writtenTables = new HashSet<>();
+    // Yürüyen yazma işinin commit sonrası eylemleri (sadece yazma thread'i erişir)
+    private final ArrayList<Runnable> commitActions = new ArrayList<>();
+    // Yürüyen yazma işinin geri alma eylemleri (sadece yazma thread'i erişir)
+    private final ArrayList<Runnable> rollbackActions = new ArrayList<>();
+    // Yazma sonrası değişen tablo dinleyicileri (canlı sorgular)
+    private final CopyOnWriteArrayList<TableListener> tableListeners = new CopyOnWriteArrayList<>();
+    // Grup commit: kuyruktaki yazma işleri (açıksa runDbOperation buraya ekler)
+    private final boolean groupCommit;
+    private final int groupCommitMaxOps;
+    private final long groupCommitMaxNanos;
+    private final ConcurrentLinkedQueue<PendingWrite<?>> pendingWrites = new ConcurrentLinkedQueue<>();
+    private boolean groupActive;  // sadece yazma thread'i erişir
+    // Thread'de yürüyen işin tutamacı (cancellationSignal() için)
+    private final ThreadLocal<DbOperation<?>> currentOperation = new ThreadLocal<>();
+
+    private static final String SAVEPOINT = "SAVEPOINT adbkit_work";
+    private static final String RELEASE = "RELEASE SAVEPOINT adbkit_work";
+    // API 16-27 "ROLLBACK" önekini transaction sonu sanır; baştaki ';' ile sıradan ifade olarak çalışır
+    private static final String ROLLBACK_TO = ";ROLLBACK TO SAVEPOINT adbkit_work";
 
     protected ADbContext(@NonNull Context context, @NonNull String name, int version) {
         super(context, name, null, version);
@@ -39,14 +94,22 @@ public abstract class ADbContext extends SQLiteOpenHelper implements IDbContext
 //            }
 //        });
 
+        this.readAgingNanos = new long[]{
+                0L,
+                TimeUnit.MILLISECONDS.toNanos(Math.max(0, cfg.readAgingNormalMs)),
+                TimeUnit.MILLISECONDS.toNanos(Math.max(0, cfg.readAgingBackgroundMs)),
+        };
+        // Sadece ReadTask eklenir (execute ile; submit'in FutureTask'ı sıralanamaz)
+        this.readQueue = new PriorityBlockingQueue<>(16, (a, b) -> ((ReadTask<?>) a).compareTo((ReadTask<?>) b));
         this.readPool = new ThreadPoolExecutor(
                 reads,                       // corePoolSize
                 reads,                       // maximumPoolSize
                 0L, TimeUnit.MILLISECONDS,             // keepAliveTime
-                new LinkedBlockingQueue<>(256),        // bounded queue (geri basınç)
+                readQueue,                             // öncelik kuyruğu (sınır runDbOperation'da)
                 r -> {                                 // ThreadFactory (lambda)
                     Thread t = new Thread(r, cfg.readThreadNamePrefix + n.getAndIncrement());
                     t.setDaemon(true);
+                    readThreads.add(t);
                     return t;
                 },
                 new ThreadPoolExecutor.CallerRunsPolicy()  // backpressure
@@ -62,8 +125,22 @@ public abstract class ADbContext extends SQLiteOpenHelper implements IDbContext
         this.writePool = java.util.concurrent.Executors.newSingleThreadExecutor(r -> {
             Thread t = new Thread(r, cfg.writeThreadName);
             t.setDaemon(true);
+            writeThread = t;
             return t;
         });
+        this.timer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, cfg.timerThreadName);
+            t.setDaemon(true);
+            return t;
+        });
+        timer.setRemoveOnCancelPolicy(true);   // biten işlerin zamanlayıcı kayıtları birikmesin
+        this.statementCache = new StatementCache(Math.max(1, cfg.statementCacheSize));
+        this.callbackDispatcher = new CallbackDispatcher(mainHandler, cfg.callbackBudgetMs);
+        this.queryCache = cfg.queryCacheMaxEntries > 0
+                ? new QueryCache(cfg.queryCacheMaxEntries, Math.max(1, cfg.queryCacheMaxBytes)) : null;
+        this.groupCommit = cfg.groupCommit;
+        this.groupCommitMaxOps = Math.max(1, cfg.groupCommitMaxOps);
+        this.groupCommitMaxNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, cfg.groupCommitMaxMs));
 
         // WAL tercihini bildir (helper seviyesinde)
         setWriteAheadLoggingEnabled(cfg.enableWAL);
@@ -95,6 +172,9 @@ public abstract class ADbContext extends SQLiteOpenHelper implements IDbContext
             runPragmaQuery(db, "PRAGMA busy_timeout=" + cfg.pragmaBusyTimeoutMs);
         }
 
+        // Havuzdaki her bağlantının kendi ifade önbelleği (okumalar dahil); Android üst sınırı 100
+        db.setMaxSqlCacheSize(Math.min(SQLiteDatabase.MAX_SQL_CACHE_SIZE, Math.max(1, cfg.statementCacheSize)));
+
         onConfigureExtra(db); // burada PRAGMA/SELECT benzeri çağrı yapma; gerekiyorsa rawQuery kullan
     }
 
@@ -138,45 +218,399 @@ public abstract class ADbContext extends SQLiteOpenHelper implements IDbContext
 
     // --- Çalıştırıcı
     @Override
-    public final <T> void runDbOperation(@NonNull DbWork<T> work,
-                                         @Nullable DbCallback<T> callback,
-                                         boolean writeTransaction) {
-        ExecutorService exec = writeTransaction ? writePool : readPool;
-        exec.submit(() -> {
-            DbResult<T> result;
-            SQLiteDatabase db = null;
-            boolean started = false;
+    @NonNull
+    public final <T> DbOperation<T> runDbOperation(@NonNull DbWork<T> work,
+                                                   @Nullable DbCallback<T> callback,
+                                                   boolean writeTransaction) {
+        return runDbOperation(work, callback, writeTransaction, DbPriority.NORMAL, 0);
+    }
+
+    @Override
+    @NonNull
+    public final <T> DbOperation<T> runDbOperation(@NonNull DbWork<T> work,
+                                                   @Nullable DbCallback<T> callback,
+                                                   boolean writeTransaction,
+                                                   @NonNull DbPriority priority) {
+        return runDbOperation(work, callback, writeTransaction, priority, 0);
+    }
+
+    @Override
+    @NonNull
+    public final <T> DbOperation<T> runDbOperation(@NonNull DbWork<T> work,
+                                                   @Nullable DbCallback<T> callback,
+                                                   boolean writeTransaction,
+                                                   @NonNull DbPriority priority,
+                                                   long timeoutMs) {
+        DbOperation<T> op = new DbOperation<>(this, callback, timeoutMs);
+        Runnable dequeue = null;
+        ReadTask<T> task = null;
+        if (!writeTransaction) {
+            task = new ReadTask<>(work, op, priority);
+            final ReadTask<T> queued = task;
+            dequeue = () -> readQueue.remove(queued);   // kuyrukta yer açılsın
+        }
+        if (op.getTimeoutMs() > 0) {
+            ScheduledFuture<?> expiry = timer.schedule(op::expire, op.getTimeoutMs(), TimeUnit.MILLISECONDS);
+            op.bind(dequeue, () -> expiry.cancel(false));
+        } else {
+            op.bind(dequeue, null);
+        }
+
+        if (task != null) {
+            if (readQueue.size() >= READ_QUEUE_CAPACITY) task.run(); // kuyruk dolu: çağıranda çalış
+            else readPool.execute(task);
+        } else if (groupCommit) {
+            // Her iş için bir boşaltma görevi: görev kuyruğu boş bulursa (önceki grup aldıysa) hemen döner
+            pendingWrites.add(new PendingWrite<>(work, op));
+            writePool.submit(this::runWriteGroup);
+        } else {
+            // İptal edilen yazma kuyrukta kalır, sırası gelince çalışmadan geçilir
+            writePool.submit(() -> { if (op.begin()) execute(work, op, true); });
+        }
+        return op;
+    }
+
+    /**
+     * DB thread'lerinden (yazma thread'i, okuma havuzu) reddedilir: ExecutorCallback devamları (thenApply vb.)
+     * orada çalışır ve bekleyen call() kendi arkasındaki işi bekleyerek kilitlenir.
+     */
+    @Override
+    @NonNull
+    public <T> DbResult<T> call(@NonNull DbWork<T> work, boolean writeTransaction,
+                                @NonNull DbPriority priority, long timeoutMs) {
+        Thread current = Thread.currentThread();
+        if (current == writeThread || readThreads.contains(current))
+            throw new IllegalStateException("call() DB thread'inden kullanılamaz (" + current.getName()
+                    + "); thenCompose(r -> runDbOperationAsync(...)) kullanın");
+        return IDbContext.super.call(work, writeTransaction, priority, timeoutMs);
+    }
+
+    private <T> void execute(DbWork<T> work, DbOperation<T> op, boolean writeTransaction) {
+        DbResult<T> result;
+        SQLiteDatabase db = null;
+        boolean started = false;
+        boolean committed = false;
+        currentOperation.set(op);
+        try {
+            if (writeTransaction) { writtenTables.clear(); commitActions.clear(); rollbackActions.clear(); }
+            db = writeTransaction ? getWritableDatabase() : getReadableDatabase();
+            if (writeTransaction) { db.beginTransaction(); started = true; }
+            result = work.perform(db);
+            if (writeTransaction && started) {
+                // Yürürken iptal edilen yazma commit edilmez (callback'i de çağrılmayacak)
+                if (!op.enterCommit()) throw new OperationCanceledException();
+                db.setTransactionSuccessful();
+                committed = true;
+            }
+        } catch (Exception ex) {
+            result = new DbResult.Error<>(ex);
+        } finally {
+            currentOperation.remove();
+            if (writeTransaction && db != null) {
+                try { db.endTransaction(); } catch (Throwable t) { committed = false; }
+            }
+            // İş boyunca LRU'dan çıkan ifadeler artık kullanılmıyor
+            if (writeTransaction) statementCache.releaseEvicted();
+            // Ara commit'ler (chunk) olabileceği için hata durumunda da geçersizleştirilir
+            if (writeTransaction) onWriteFinished(committed);
+        }
+        op.complete(result);
+    }
+
+    // Okuma kuyruğu öğesi: sıra anahtarı = kuyruğa giriş + önceliğin yaşlandırma payı (sabit → heap sırası bozulmaz)
+    private final class ReadTask<T> implements Runnable, Comparable<ReadTask<?>> {
+        final DbWork<T> work;
+        final DbOperation<T> op;
+        final DbPriority priority;
+        final long enqueuedAt = System.nanoTime();
+        final long key;
+        final long seq = readSequence.getAndIncrement();   // eşit anahtarda FIFO
+
+        ReadTask(DbWork<T> work, DbOperation<T> op, DbPriority priority) {
+            this.work = work;
+            this.op = op;
+            this.priority = priority;
+            this.key = enqueuedAt + readAgingNanos[priority.ordinal()];
+        }
+
+        @Override
+        public void run() {
+            if (!op.begin()) return;   // kuyruktayken iptal edildi ya da süresi doldu
+            readQueueStats.record(priority, System.nanoTime() - enqueuedAt);
+            execute(work, op, false);
+        }
+
+        @Override
+        public int compareTo(ReadTask<?> o) {
+            long d = key - o.key;  // nanoTime farkı: taşmaya dayanıklı karşılaştırma
+            if (d != 0) return d < 0 ? -1 : 1;
+            return Long.compare(seq, o.seq);
+        }
+    }
+
+    // --- Grup commit
+
+    // Kuyruktaki yazma işlerini (sayı/süre bütçesi içinde) tek transaction'da, her birini kendi savepoint'inde çalıştırır
+    private void runWriteGroup() {
+        PendingWrite<?> next = pollPendingWrite();
+        if (next == null) return;
+
+        ArrayList<PendingWrite<?>> group = new ArrayList<>();
+        HashSet<String> tables = new HashSet<>();
+        boolean unknownTables = false;
+        boolean committed = false;
+        boolean poisoned = false;
+        Exception failure = null;
+        long start = System.nanoTime();
+        SQLiteDatabase db = null;
+        // endTransaction iç transaction hatasında COMMIT yerine sessizce ROLLBACK yapar; dinleyici ile yakalanır
+        TransactionProbe outcome = new TransactionProbe();
+        try {
+            db = getWritableDatabase();
+            db.beginTransactionWithListener(outcome);
+            groupActive = true;
+            try {
+                while (next != null) {
+                    group.add(next);
+                    next.run(db);  // savepoint hatası (transaction bozuldu) → exception, grup geri alınır
+                    if (next.tables.isEmpty()) unknownTables = true; else tables.addAll(next.tables);
+                    // Ortak transaction artık commit edilemez: grup kapanır, kuyruktakiler yeni grupta çalışır
+                    if (next.poisoned) { poisoned = true; break; }
+                    if (group.size() >= groupCommitMaxOps || System.nanoTime() - start >= groupCommitMaxNanos) break;
+                    next = pollPendingWrite();
+                }
+                db.setTransactionSuccessful();
+                committed = true;
+            } finally {
+                groupActive = false;
+                try { db.endTransaction(); } catch (Throwable t) { committed = false; }
+                if (outcome.rolledBack) committed = false;
+            }
+        } catch (Exception ex) {
+            failure = ex;
+        } finally {
+            statementCache.releaseEvicted();
+            // onWriteFinished tek iş gibi: tabloların birleşimi (biri bildirmediyse hepsi) ve başarılı işlerin eylemleri
+            writtenTables.clear();
+            if (!unknownTables) writtenTables.addAll(tables);
+            commitActions.clear();
+            rollbackActions.clear();
+            for (PendingWrite<?> w : group) {
+                if (w.succeeded) { commitActions.addAll(w.actions); rollbackActions.addAll(w.rollbacks); }
+            }
+            onWriteFinished(committed);
+        }
+
+        if (!committed && failure == null) {
+            failure = new IllegalStateException(poisoned
+                    ? "Gruptaki bir işin iç transaction'ı başarısız oldu; grup geri alındı"
+                    : "Grup transaction'ı commit edilemedi");
+        }
+        for (PendingWrite<?> w : group) w.deliver(committed ? null : failure);
+    }
+
+    // Transaction seviyesinin nasıl bittiğini kaydeder (iç transaction hatası sessizce ROLLBACK'e döner)
+    private static final class TransactionProbe implements SQLiteTransactionListener {
+        boolean rolledBack;
+
+        @Override public void onBegin() {}
+        @Override public void onCommit() {}
+        @Override public void onRollback() { rolledBack = true; }
+    }
+
+    // Sıradaki çalıştırılabilir yazma işi; kuyruktayken iptal edilenler/süresi dolanlar atlanır
+    @Nullable
+    private PendingWrite<?> pollPendingWrite() {
+        PendingWrite<?> w;
+        while ((w = pendingWrites.poll()) != null) {
+            if (w.op.begin()) return w;
+        }
+        return null;
+    }
+
+    // Kuyruktaki yazma işi; sonucu ve commit eylemleri grup bitene kadar tutulur
+    private final class PendingWrite<T> {
+        final DbWork<T> work;
+        final DbOperation<T> op;
+        final ArrayList<String> tables = new ArrayList<>();
+        final ArrayList<Runnable> actions = new ArrayList<>();
+        final ArrayList<Runnable> rollbacks = new ArrayList<>();
+        DbResult<T> result;
+        boolean succeeded;   // savepoint'i bırakıldı (iş değişiklikleri grupla commit olacak)
+        boolean poisoned;    // işin iç transaction'ı başarısız: ortak transaction commit edilemez
+
+        PendingWrite(DbWork<T> work, DbOperation<T> op) {
+            this.work = work;
+            this.op = op;
+        }
+
+        void run(SQLiteDatabase db) throws Exception {
+            writtenTables.clear();
+            commitActions.clear();
+            rollbackActions.clear();
+            statementCache.acquire(db, SAVEPOINT).execute();
+            // İşin beginTransaction/endTransaction'ları bu ara seviyeye bağlanır. Başarısız biten iç transaction
+            // Android'de üst transaction'ı "child failed" işaretler (ROLLBACK TO temizlemez); dinleyici bunu bildirir.
+            TransactionProbe probe = new TransactionProbe();
+            db.beginTransactionWithListener(probe);
+            currentOperation.set(op);
             try {
-                db = writeTransaction ? getWritableDatabase() : getReadableDatabase();
-                if (writeTransaction) { db.beginTransaction(); started = true; }
                 result = work.perform(db);
-                if (writeTransaction && started) db.setTransactionSuccessful();
+                // Yürürken iptal edilen iş başarısız savepoint gibi geri alınır
+                if (!op.enterCommit()) throw new OperationCanceledException();
+                succeeded = true;
             } catch (Exception ex) {
                 result = new DbResult.Error<>(ex);
             } finally {
-                if (writeTransaction && db != null) {
-                    try { db.endTransaction(); } catch (Throwable ignored) {}
+                currentOperation.remove();
+                db.setTransactionSuccessful();   // işin kendi hatası savepoint ile geri alınır
+                db.endTransaction();
+            }
+            if (probe.rolledBack) {
+                poisoned = true;
+                succeeded = false;
+                result = new DbResult.Error<>(new IllegalStateException(
+                        "Grup commit içinde iç içe transaction başarısız oldu; iş ve grubu geri alındı"));
+            }
+            tables.addAll(writtenTables);
+            if (succeeded) {
+                actions.addAll(commitActions);
+                rollbacks.addAll(rollbackActions);   // grup commit olmazsa çalışır
+            } else {
+                db.execSQL(ROLLBACK_TO);       // sadece bu işin değişiklikleri geri alınır
+                runActions(rollbackActions, "Rollback action error");
+            }
+            rollbackActions.clear();
+            statementCache.acquire(db, RELEASE).execute();
+        }
+
+        // groupFailure null değilse grup commit olmadı: başarılı görünen işler de geri alındı
+        void deliver(@Nullable Exception groupFailure) {
+            DbResult<T> out = result;
+            if (groupFailure != null && (out == null || succeeded)) out = new DbResult.Error<>(groupFailure);
+            op.complete(out);
+        }
+    }
+
+    @Override
+    @Nullable
+    public CancellationSignal cancellationSignal() {
+        DbOperation<?> op = currentOperation.get();
+        return op == null ? null : op.getCancellationSignal();
+    }
+
+    @Override
+    public boolean isGroupCommitActive() {
+        return groupActive && Thread.currentThread() == writeThread;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void postResult(@Nullable DbCallback<T> callback, @NonNull DbResult<T> result) {
+        if (callback == null) return;
+        if (callback instanceof ExecutorCallback) {    // future/await/onWorkerThread: ana thread'e uğramaz
+            ((ExecutorCallback<T>) callback).deliver(result);
+            return;
+        }
+        //mainHandler.post(() -> callback.onResult(out));
+        callbackDispatcher.dispatch(() -> callback.onResult(result));
+    }
+
+    @Override
+    @NonNull
+    public SQLiteStatement compiledStatement(@NonNull SQLiteDatabase db, @NonNull String sql) {
+        if (Thread.currentThread() != writeThread)
+            throw new IllegalStateException("compiledStatement sadece yazma işi içinden kullanılabilir");
+        return statementCache.acquire(db, sql);
+    }
+
+    @Override
+    public void tablesWritten(@NonNull String... tables) {
+        if (Thread.currentThread() != writeThread)
+            throw new IllegalStateException("tablesWritten sadece yazma işi içinden kullanılabilir");
+        for (String t : tables) writtenTables.add(t);
+    }
+
+    @Override
+    public void onCommit(@NonNull Runnable action) {
+        if (Thread.currentThread() != writeThread)
+            throw new IllegalStateException("onCommit sadece yazma işi içinden kullanılabilir");
+        commitActions.add(action);
+    }
+
+    @Override
+    public void onRollback(@NonNull Runnable action) {
+        if (Thread.currentThread() != writeThread)
+            throw new IllegalStateException("onRollback sadece yazma işi içinden kullanılabilir");
+        rollbackActions.add(action);
+    }
+
+    // Yazma işi bitti (transaction kapandı): etkilenen tabloların önbellek kayıtları düşer, commit ya da geri alma
+    // eylemleri çalışır
+    private void onWriteFinished(boolean committed) {
+        if (queryCache != null) {
+            if (writtenTables.isEmpty()) queryCache.invalidateAll();
+            else queryCache.invalidate(writtenTables);
+        }
+        if (!tableListeners.isEmpty()) {
+            HashSet<String> changed = new HashSet<>();
+            for (String t : writtenTables) changed.add(t.toLowerCase(Locale.ROOT));
+            Set<String> tables = Collections.unmodifiableSet(changed);
+            for (TableListener l : tableListeners) {
+                try {
+                    l.onTablesChanged(tables);
+                } catch (Throwable t) {
+                    android.util.Log.e("ADbContext", "Table listener error", t);
                 }
             }
-            if (callback != null) {
-                DbResult<T> out = result;
-                //mainHandler.post(() -> callback.onResult(out));
-                mainHandler.post(() -> {
-                    try {
-                        callback.onResult(out);
-                    } catch (Throwable t) {
-                        android.util.Log.e("ADbContext", "Callback error", t);
-                    }
-                });
+        }
+        writtenTables.clear();
+        if (committed) runActions(commitActions, "Commit action error");
+        else runActions(rollbackActions, "Rollback action error");
+        commitActions.clear();
+        rollbackActions.clear();
+    }
+
+    private static void runActions(ArrayList<Runnable> actions, String error) {
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (Throwable t) {
+                android.util.Log.e("ADbContext", error, t);
             }
-        });
+        }
     }
 
+    @Override
+    public void addTableListener(@NonNull TableListener listener) { tableListeners.addIfAbsent(listener); }
+
+    @Override
+    public void removeTableListener(@NonNull TableListener listener) { tableListeners.remove(listener); }
+
+    @Override
+    @Nullable
+    public final QueryCache getQueryCache() { return queryCache; }
+
+    /** Ana thread callback iletimi (toplama metrikleri için). */
+    @NonNull
+    public final CallbackDispatcher getCallbackDispatcher() { return callbackDispatcher; }
+
+    /** Okuma kuyruğunda öncelik başına bekleme süreleri. */
+    @NonNull
+    public final QueueWaitStats getReadQueueStats() { return readQueueStats; }
+
+    /** Yazma bağlantısının ifade önbelleği (hit/miss/eviction metrikleri için). */
+    @NonNull
+    public final StatementCache getStatementCache() { return statementCache; }
+
     @Override
     public synchronized void close() {
+        statementCache.clear();
+        if (queryCache != null) queryCache.clear();
         super.close();
         readPool.shutdown();
         writePool.shutdown();
+        timer.shutdownNow();
     }
 
     /** Alt sınıflar gerekiyorsa ekstra bağlantı ayarı ekleyebilir (PRAGMA gerekiyorsa rawQuery ile). */
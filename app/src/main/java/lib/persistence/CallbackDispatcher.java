@@ -0,0 +1,93 @@
+// lib/persistence/CallbackDispatcher.java
+package lib.persistence;
+
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Biten işlerin callback'lerini ana thread'e toplu iletir.
+ * - Callback'ler kuyruğa girer; kuyruk boşken gelen ilk callback tek bir mesaj post eder, o mesaj kuyruğu boşaltır
+ * - Mesaj başına süre bütçesi (DbContextConfig.callbackBudgetMs): aşılınca kalanlar yeni mesaja bırakılır,
+ *   arada Looper çizim/giriş mesajlarını işler (kare kaçmaz)
+ * - Sıra korunur (FIFO); bütçe 0 ise her callback ayrı mesajla post edilir
+ * ADbContext tutar ({@link ADbContext#getCallbackDispatcher()}); thread-safe.
+ */
+public final class CallbackDispatcher {
+    private final Handler handler;
+    private final long budgetNanos;
+    private final ConcurrentLinkedQueue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Runnable drain = this::drain;
+
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+
+    public CallbackDispatcher(@NonNull Handler handler, long budgetMs) {
+        this.handler = handler;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, budgetMs));
+    }
+
+    /** Callback'i ana thread kuyruğuna ekler (herhangi bir thread'den). */
+    public void dispatch(@NonNull Runnable callback) {
+        if (budgetNanos == 0) {
+            messages.incrementAndGet();
+            handler.post(() -> run(callback));
+            return;
+        }
+        pending.add(callback);
+        if (scheduled.compareAndSet(false, true)) {
+            messages.incrementAndGet();
+            handler.post(drain);
+        }
+    }
+
+    // Ana thread: bütçe dolana kadar kuyruğu boşaltır
+    private void drain() {
+        long start = System.nanoTime();
+        Runnable r;
+        while ((r = pending.poll()) != null) {
+            run(r);
+            if (System.nanoTime() - start >= budgetNanos && !pending.isEmpty()) {
+                messages.incrementAndGet();
+                handler.post(drain);  // kalanlar sonraki mesajda; scheduled true kalır
+                return;
+            }
+        }
+        scheduled.set(false);
+        // Bayrak inmeden hemen önce eklenen callback kaçmasın
+        if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+            messages.incrementAndGet();
+            handler.post(drain);
+        }
+    }
+
+    private void run(Runnable callback) {
+        dispatched.incrementAndGet();
+        try {
+            callback.run();
+        } catch (Throwable t) {
+            android.util.Log.e("ADbContext", "Callback error", t);
+        }
+    }
+
+    // --- Metrikler ---
+    /** İletilen callback sayısı. */
+    public long dispatchCount() { return dispatched.get(); }
+    /** Ana thread'e post edilen mesaj sayısı (toplama oranı: dispatchCount / messageCount). */
+    public long messageCount() { return messages.get(); }
+    /** İletilmeyi bekleyen callback sayısı. */
+    public int pendingCount() { return pending.size(); }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "CallbackDispatcher{dispatched=" + dispatched.get() + ", messages=" + messages.get()
+                + ", pending=" + pending.size() + ", budgetMs=" + TimeUnit.NANOSECONDS.toMillis(budgetNanos) + "}";
+    }
+}
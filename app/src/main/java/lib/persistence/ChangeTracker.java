@@ -0,0 +1,177 @@
+// lib/persistence/ChangeTracker.java
+package lib.persistence;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Objects;
+
+import lib.persistence.profile.EntityPlan;
+import lib.persistence.profile.SqlPlan;
+
+/**
+ * Repository üzerinden yüklenen/yazılan entity'lerin kolon değerlerinin anlık görüntüsü (dirty tracking).
+ * - Görüntü, güncellenebilir kolonların (PK ve identity hariç) DB değerleridir (converter uygulanmış; byte[] kopyalanır)
+ * - Entity kimliğiyle (==) ve zayıf referansla tutulur: equals/hashCode override'ı etkilemez, entity GC'ye engel olmaz
+ * - {@link #diff} değişen kolonları verir; update sadece onları yazar, hiçbiri değişmediyse hiç yazmaz
+ * Thread-safe.
+ */
+public final class ChangeTracker<T> {
+    private final EntityPlan<T> plan;
+    private final int[] columns;          // izlenen plan kolonları: SET'e girebilenler
+    private final HashMap<Ref, Object[]> snapshots = new HashMap<>();
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    /** Değişiklik sonucu: değişen plan kolonları ve yazıldıktan sonra geçerli olacak görüntü. */
+    public static final class Diff {
+        private final int[] columns;
+        private final Object[] snapshot;
+
+        Diff(int[] columns, Object[] snapshot) {
+            this.columns = columns;
+            this.snapshot = snapshot;
+        }
+
+        /** Değişen plan kolon index'leri (plan sırasıyla); boşsa değişiklik yok. */
+        public int[] getColumns() { return columns.clone(); }
+        public boolean isEmpty() { return columns.length == 0; }
+    }
+
+    public ChangeTracker(@NonNull EntityPlan<T> plan) {
+        this.plan = plan;
+        int n = 0;
+        for (int i = 0; i < plan.size(); i++) if (SqlPlan.isSetColumn(plan.column(i))) n++;
+        this.columns = new int[n];
+        for (int i = 0, k = 0; i < plan.size(); i++) if (SqlPlan.isSetColumn(plan.column(i))) columns[k++] = i;
+    }
+
+    /** Entity'nin şu anki değerlerini görüntü olarak kaydeder (yükleme ya da yazma sonrası). */
+    public void snapshot(@NonNull T entity) {
+        Object[] values = read(entity);
+        synchronized (this) {
+            purge();
+            snapshots.put(new Ref(entity, queue), values);
+        }
+    }
+
+    /**
+     * Görüntüye göre değişen kolonlar; entity izlenmiyorsa null (çağıran tüm kolonları yazmalı).
+     * Dönen Diff yazma commit olunca {@link #accept} ile görüntü olarak kaydedilir.
+     */
+    @Nullable
+    public Diff diff(@NonNull T entity) {
+        Object[] before;
+        synchronized (this) {
+            purge();
+            before = snapshots.get(new Ref(entity, null));
+        }
+        if (before == null) return null;
+
+        Object[] now = read(entity);
+        int[] changed = new int[columns.length];
+        int n = 0;
+        for (int k = 0; k < columns.length; k++) {
+            if (!same(before[k], now[k])) changed[n++] = columns[k];
+        }
+        return new Diff(Arrays.copyOf(changed, n), now);
+    }
+
+    /** Entity'nin şu anki değerleri (tüm izlenen kolonlar); yazma commit olunca {@link #accept} ile kaydedilir. */
+    @NonNull
+    public Diff capture(@NonNull T entity) {
+        return new Diff(columns.clone(), read(entity));
+    }
+
+    /** diff ile hesaplanan değerler yazıldı (commit oldu): yeni görüntü olarak kaydedilir. */
+    public void accept(@NonNull T entity, @NonNull Diff diff) {
+        synchronized (this) {
+            purge();
+            snapshots.put(new Ref(entity, queue), diff.snapshot);
+        }
+    }
+
+    /** Entity artık izlenmez (silindi). */
+    public synchronized void forget(@NonNull T entity) {
+        snapshots.remove(new Ref(entity, null));
+    }
+
+    /**
+     * PK anahtarı keys içinde olan entity'ler artık izlenmez (PK değerleriyle silindi).
+     * Anahtarlar {@link EntityCache#keyOfValues} gösterimindedir; izlenen entity'ler taranır.
+     */
+    public synchronized void forgetKeys(@NonNull Collection<?> keys) {
+        purge();
+        if (keys.isEmpty() || snapshots.isEmpty()) return;
+        HashSet<Object> gone = new HashSet<>(keys);
+        snapshots.keySet().removeIf(r -> {
+            Object e = r.get();
+            return e != null && gone.contains(EntityCache.keyOf(plan, e));
+        });
+    }
+
+    public synchronized boolean isTracked(@NonNull T entity) {
+        purge();
+        return snapshots.containsKey(new Ref(entity, null));
+    }
+
+    /** Canlı izlenen entity sayısı. */
+    public synchronized int size() {
+        purge();
+        return snapshots.size();
+    }
+
+    public synchronized void clear() {
+        snapshots.clear();
+        while (queue.poll() != null) { /* boşalt */ }
+    }
+
+    private Object[] read(T entity) {
+        Object[] values = new Object[columns.length];
+        try {
+            for (int k = 0; k < columns.length; k++) {
+                Object v = plan.getDbValue(entity, columns[k]);
+                values[k] = v instanceof byte[] ? ((byte[]) v).clone() : v; // yerinde değişiklik görülsün
+            }
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+        return values;
+    }
+
+    private static boolean same(Object a, Object b) {
+        if (a instanceof byte[] && b instanceof byte[]) return Arrays.equals((byte[]) a, (byte[]) b);
+        return Objects.equals(a, b);
+    }
+
+    // GC'lenen entity'lerin kayıtlarını at
+    private void purge() {
+        Reference<?> r;
+        while ((r = queue.poll()) != null) snapshots.remove(r);
+    }
+
+    // Kimlik (==) eşitliği ile zayıf anahtar; temizlenmiş referans sadece kendisine eşittir
+    private static final class Ref extends WeakReference<Object> {
+        private final int hash;
+
+        Ref(Object referent, ReferenceQueue<Object> q) {
+            super(referent, q);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override public int hashCode() { return hash; }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Ref)) return false;
+            Object mine = get();
+            return mine != null && mine == ((Ref) o).get();
+        }
+    }
+}
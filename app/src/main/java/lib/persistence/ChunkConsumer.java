@@ -0,0 +1,13 @@
+package lib.persistence;
+
+import java.util.List;
+
+/**
+ * Akışlı (parça parça) sorgu tüketicisi. Okuma thread'inde, sıralı parçalarla çağrılır.
+ * Parça listesi tüketiciye aittir (her çağrıda yeni liste).
+ */
+@FunctionalInterface
+public interface ChunkConsumer<T> {
+    /** @return okumaya devam etmek için true; false dönerse sorgu erken sonlandırılır */
+    boolean onChunk(List<T> chunk) throws Exception;
+}
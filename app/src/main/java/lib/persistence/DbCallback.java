@@ -1,6 +1,24 @@
 package lib.persistence;
 
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
 
 public interface DbCallback<T> {
     void onResult(DbResult<T> result);
-}
\ No newline at end of file
+
+    /**
+     * Sonuç ana thread'e post edilmeden, işi bitiren DB thread'inde iletilir (toplu arka plan işleri için).
+     * Callback kısa olmalı: yazma thread'ini ya da okuma havuzunu meşgul eder; UI'a dokunmamalı.
+     */
+    @NonNull
+    static <T> DbCallback<T> onWorkerThread(@NonNull DbCallback<T> callback) {
+        return new ExecutorCallback<>(null, callback);
+    }
+
+    /** Sonuç verilen executor'da iletilir. */
+    @NonNull
+    static <T> DbCallback<T> on(@NonNull Executor executor, @NonNull DbCallback<T> callback) {
+        return new ExecutorCallback<>(executor, callback);
+    }
+}
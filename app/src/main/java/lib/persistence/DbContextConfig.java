@@ -10,6 +10,19 @@ public final class DbContextConfig {
     public String readThreadNamePrefix = "db-read-";
     /** Yazma thread adı */
     public String writeThreadName = "db-write-1";
+    /** Süre (timeout) zamanlayıcı thread adı */
+    public String timerThreadName = "db-timer";
+    /**
+     * Okuma kuyruğu yaşlandırma payları (ms): NORMAL/BACKGROUND iş, kendisinden en fazla bu kadar sonra
+     * kuyruğa giren INTERACTIVE işlerin arkasında kalır (bkz. DbPriority).
+     */
+    public long readAgingNormalMs = 50;
+    public long readAgingBackgroundMs = 250;
+    /**
+     * Ana thread callback iletimi: biten işlerin callback'leri toplanıp tek mesajda çalıştırılır;
+     * mesaj başına en fazla bu kadar ms (kalanlar sonraki mesaja). 0 ise her callback ayrı post edilir.
+     */
+    public long callbackBudgetMs = 4;
 
     // --- SQLite/WAL/PRAGMA ---
     /** Write-Ahead Logging */
@@ -23,6 +36,41 @@ public final class DbContextConfig {
     /** PRAGMA busy_timeout (ms); <=0 ise uygulanmaz */
     public int pragmaBusyTimeoutMs = 10000;
 
+    // --- Derlenmiş ifade önbelleği ---
+    /**
+     * Yazma bağlantısında SQL metnine göre tutulan derlenmiş ifade sayısı (LRU, >=1).
+     * Aynı değer db.setMaxSqlCacheSize ile havuzdaki tüm bağlantılara da uygulanır (en fazla 100):
+     * getById/select/rawQuery okumaları da önbellekli ifade kullanır.
+     */
+    public int statementCacheSize = 32;
+
+    // --- Sorgu sonuç önbelleği ---
+    /**
+     * Select.cached() ile işaretli sorguların sonuçları için en fazla kayıt sayısı (LRU).
+     * <=0 ise önbellek kapalıdır.
+     */
+    public int queryCacheMaxEntries = 64;
+    /** Sorgu önbelleğinin tahmini bellek sınırı (bayt) */
+    public long queryCacheMaxBytes = 4L * 1024 * 1024;
+
+    // --- Toplu yazma ---
+    /**
+     * insertAll vb. toplu yazmalarda kaç satırda bir ara commit yapılacağı.
+     * <=0 ise tüm koleksiyon tek transaction'da yazılır.
+     */
+    public int batchChunkSize = 0;
+
+    // --- Grup commit ---
+    /**
+     * true ise yazma thread'i kuyrukta bekleyen yazma işlerini tek transaction'da çalıştırır (tek commit/WAL sync).
+     * Her iş kendi SAVEPOINT'inde çalışır: hata veren iş geri alınır, diğerleri etkilenmez; her callback kendi sonucunu alır.
+     */
+    public boolean groupCommit = false;
+    /** Bir grupta en fazla iş sayısı (>=1) */
+    public int groupCommitMaxOps = 64;
+    /** Grup süresi bütçesi (ms); aşılınca kuyrukta kalanlar sonraki gruba kalır */
+    public long groupCommitMaxMs = 8;
+
     // --- Global erişim (lazy) ---
     private static volatile DbContextConfig GLOBAL = new DbContextConfig();
 
@@ -0,0 +1,66 @@
+// lib/persistence/DbFutures.java
+package lib.persistence;
+
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Callback'li DB çağrılarını CompletableFuture'a çevirir.
+ * - Future ana thread'e uğramadan tamamlanır: executor null ise DB thread'inde, değilse executor'da
+ *   (istisna: kuyrukta süresi dolan işin zaman aşımı sonucu ana thread'den)
+ * - future.cancel(...) işi iptal eder (bkz. {@link DbOperation#cancel()})
+ * Zincirdeki adımlar DB thread'inde çalışır: kısa tutun ya da thenApplyAsync(fn, executor) kullanın.
+ */
+public final class DbFutures {
+    private DbFutures() {}
+
+    /**
+     * start, verilen callback ile DB çağrısını başlatır (örn. cb -> repo.selectWith(select, cb)).
+     * Tutamaç dönmeyen çağrılarda null dönebilir (future iptali işi durdurmaz).
+     */
+    @NonNull
+    public static <T> CompletableFuture<DbResult<T>> of(@NonNull Function<DbCallback<T>, DbOperation<T>> start) {
+        return of(null, start);
+    }
+
+    @NonNull
+    public static <T> CompletableFuture<DbResult<T>> of(@Nullable Executor executor,
+                                                        @NonNull Function<DbCallback<T>, DbOperation<T>> start) {
+        CompletableFuture<DbResult<T>> future = new CompletableFuture<>();
+        DbOperation<T> op = start.apply(new ExecutorCallback<>(executor, future::complete));
+        if (op != null) {
+            future.whenComplete((r, e) -> { if (future.isCancelled()) op.cancel(); });
+        }
+        return future;
+    }
+
+    /**
+     * Sonucu bekler (worker thread'leri için); ana thread'den çağrılamaz.
+     * Kesilirse (interrupt) iş iptal edilir ve Error döner; iptal edilen future da Error döner.
+     */
+    @NonNull
+    public static <T> DbResult<T> await(@NonNull CompletableFuture<DbResult<T>> future) {
+        if (Looper.myLooper() == Looper.getMainLooper())
+            throw new IllegalStateException("DB sonucu ana thread'de beklenemez");
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return new DbResult.Error<>(e);
+        } catch (CancellationException e) {
+            return new DbResult.Error<>(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            return new DbResult.Error<>(cause instanceof Exception ? (Exception) cause : e);
+        }
+    }
+}
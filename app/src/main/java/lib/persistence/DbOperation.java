@@ -0,0 +1,139 @@
+// lib/persistence/DbOperation.java
+package lib.persistence;
+
+import android.os.CancellationSignal;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * runDbOperation ile planlanan işin tutamacı.
+ * - {@link #cancel()}: kuyruktaki iş hiç çalışmaz; yürüyen işin {@link CancellationSignal}'i tetiklenir
+ *   (sinyali rawQuery'ye veren sorgu SQLite içinde kesilir). İptal sonrası callback çağrılmaz.
+ * - Süre sınırı (timeoutMs): süre kuyrukta dolarsa iş çalışmadan, yürürken dolarsa sinyal ile kesilip
+ *   callback'e TimeoutException'lı {@link DbResult.Error} iletilir.
+ * Yürüyen iş sinyale {@link IDbContext#cancellationSignal()} ile erişir. Thread-safe.
+ */
+public final class DbOperation<T> {
+    // COMMITTING: yazma commit'e geçti (artık iptal edilemez); CANCELLING: yürürken iptal edildi, sonuç atılacak
+    private static final int QUEUED = 0, RUNNING = 1, COMMITTING = 2, CANCELLING = 3, DONE = 4;
+
+    private final AtomicInteger state = new AtomicInteger(QUEUED);
+    private final CancellationSignal signal = new CancellationSignal();
+    private final IDbContext context;
+    private final DbCallback<T> callback;
+    private final long timeoutMs;
+    private volatile boolean cancelled;
+    private volatile boolean timedOut;
+    // ADbContext bağlar: kuyruktan çıkarma ve süre zamanlayıcısını bırakma
+    private volatile Runnable dequeue;
+    private volatile Runnable onDone;
+
+    DbOperation(@NonNull IDbContext context, @Nullable DbCallback<T> callback, long timeoutMs) {
+        this.context = context;
+        this.callback = callback;
+        this.timeoutMs = Math.max(0, timeoutMs);
+    }
+
+    /** Çalıştırılmadan bitmiş tutamaç (örn. önbellek isabeti); sonuç callback'e iletilir. */
+    @NonNull
+    public static <T> DbOperation<T> completed(@NonNull IDbContext context, @Nullable DbCallback<T> callback,
+                                               @NonNull DbResult<T> result) {
+        DbOperation<T> op = new DbOperation<>(context, callback, 0);
+        op.state.set(DONE);
+        context.postResult(callback, result);
+        return op;
+    }
+
+    /**
+     * İşi iptal eder: kuyruktaysa çıkarılır, yürüyorsa sinyal tetiklenir (sinyali kullanan sorgu
+     * OperationCanceledException ile kesilir). Yürüyen yazma işi commit'ten önce iptal görülürse geri alınır
+     * (grup commit'te kendi savepoint'i).
+     * Callback çağrılmaz. İş zaten bittiyse ya da yazma commit'e geçtiyse false (sonuç normal iletilir).
+     */
+    public boolean cancel() {
+        if (state.compareAndSet(QUEUED, DONE)) {
+            cancelled = true;
+            finished();
+            Runnable d = dequeue;
+            if (d != null) d.run();
+            return true;
+        }
+        if (state.compareAndSet(RUNNING, CANCELLING)) {
+            cancelled = true;
+            signal.cancel();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isCancelled() { return cancelled; }
+
+    /** Süre sınırı doldu (sonuç TimeoutException'lı Error). */
+    public boolean isTimedOut() { return timedOut; }
+
+    /** Sonuç üretildi ya da iş iptal edildi. */
+    public boolean isDone() { return state.get() == DONE; }
+
+    /** 0: süre sınırı yok. */
+    public long getTimeoutMs() { return timeoutMs; }
+
+    @NonNull
+    public CancellationSignal getCancellationSignal() { return signal; }
+
+    // --- ADbContext tarafı ---
+
+    void bind(@Nullable Runnable dequeue, @Nullable Runnable onDone) {
+        this.dequeue = dequeue;
+        this.onDone = onDone;
+    }
+
+    /** İş çalışmaya başlıyor; iptal edildiyse ya da süresi dolduysa false (iş çalıştırılmaz). */
+    boolean begin() {
+        return state.compareAndSet(QUEUED, RUNNING);
+    }
+
+    /**
+     * Yazma işi commit etmeden hemen önce (DB thread'i): iptal edildiyse false → iş geri alınmalı.
+     * true döndükten sonra cancel() false döner, sonuç callback'e iletilir.
+     */
+    boolean enterCommit() {
+        return state.compareAndSet(RUNNING, COMMITTING);
+    }
+
+    /** Süre doldu (zamanlayıcı thread'i): kuyruktaysa hemen zaman aşımı iletilir, yürüyorsa sinyal ile kesilir. */
+    void expire() {
+        if (state.get() == DONE) return;
+        timedOut = true;
+        if (state.compareAndSet(QUEUED, DONE)) {
+            finished();
+            Runnable d = dequeue;
+            if (d != null) d.run();
+            context.postResult(callback, timeoutResult());
+            return;
+        }
+        signal.cancel();
+    }
+
+    /** İş bitti: iptal edildiyse sonuç atılır, süre dolduysa hata zaman aşımına çevrilir. */
+    void complete(@NonNull DbResult<T> result) {
+        int prev = state.getAndSet(DONE);
+        if (prev == DONE) return;
+        finished();
+        if (prev == CANCELLING) return;
+        if (timedOut && result.isError()) result = timeoutResult();
+        context.postResult(callback, result);
+    }
+
+    private void finished() {
+        Runnable r = onDone;
+        if (r != null) r.run();
+    }
+
+    private DbResult<T> timeoutResult() {
+        return new DbResult.Error<>(new TimeoutException("DB işi " + timeoutMs + " ms içinde bitmedi"));
+    }
+}
@@ -0,0 +1,17 @@
+// lib/persistence/DbPriority.java
+package lib.persistence;
+
+/**
+ * Okuma işlerinin kuyruk önceliği (bkz. {@link IDbContext#runDbOperation(IDbContext.DbWork, DbCallback, boolean, DbPriority)}).
+ * Kuyrukta sıra: kuyruğa giriş anı + önceliğin yaşlandırma payı (DbContextConfig.readAgingNormalMs / readAgingBackgroundMs).
+ * Yani düşük öncelikli iş, payı kadar bekledikten sonra yeni gelen INTERACTIVE işlerin önüne geçer; açlık olmaz.
+ * Yazma işleri tek thread'de sırayla çalışır, öncelik uygulanmaz.
+ */
+public enum DbPriority {
+    /** Kullanıcının beklediği okuma (detay ekranı, getById) */
+    INTERACTIVE,
+    /** Varsayılan */
+    NORMAL,
+    /** Rapor, senkronizasyon, ön yükleme */
+    BACKGROUND
+}
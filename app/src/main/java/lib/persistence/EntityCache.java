@@ -0,0 +1,142 @@
+// lib/persistence/EntityCache.java
+package lib.persistence;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import lib.persistence.profile.EntityPlan;
+
+/**
+ * Bir repository için PK anahtarlı LRU entity önbelleği (identity map).
+ * - Anahtar PK değerlerinin DB gösterimidir (converter uygulanmış String); bileşik PK'de sıralı liste
+ * - Repository yazmaları commit olunca günceller (insert/update/upsert → put, delete → remove)
+ * - Okuma sürerken yazma olduysa okunan entity önbelleğe alınmaz ({@link #stamp()} ile)
+ * Dönen entity'ler paylaşılır: değiştirip kaydetmeden bırakmayın.
+ * Sadece aynı repository örneğinden yapılan yazmaları görür; ham SQL ya da başka repository ile
+ * yazıldıysa {@link #clear()} çağırın. Thread-safe.
+ */
+public final class EntityCache<T> {
+    private final EntityPlan<T> plan;
+    private final int maxSize;
+    private final LinkedHashMap<Object, T> entries;
+    private long version;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public EntityCache(@NonNull EntityPlan<T> plan, int maxSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize >= 1 olmalı");
+        if (plan.primaryKeyCount() == 0) throw new IllegalStateException("Primary key tanımı yok: " + plan.getType().getName());
+        this.plan = plan;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true); // erişim sırası → LRU
+    }
+
+    // --- Anahtarlar ---
+
+    /** Entity'nin PK anahtarı. */
+    @NonNull
+    public Object keyOf(@NonNull T entity) {
+        return keyOf(plan, entity);
+    }
+
+    /** PK değerlerinden anahtar (bileşik PK'de ordinal PK sırasıyla, DeleteCommand.build(Class, ...) gibi). */
+    @NonNull
+    public Object keyOfValues(@NonNull Object... primaryKeyValues) {
+        return keyOfValues(plan, primaryKeyValues);
+    }
+
+    // ChangeTracker de aynı anahtarı kullanır (PK ile silinenleri unutmak için)
+    static Object keyOf(EntityPlan<?> plan, Object entity) {
+        try {
+            return key(plan.primaryKeyArgs(entity, false));
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static Object keyOfValues(EntityPlan<?> plan, Object... primaryKeyValues) {
+        if (primaryKeyValues.length != plan.primaryKeyCount())
+            throw new IllegalArgumentException("PK değeri sayısı uyuşmuyor. Beklenen: " + plan.primaryKeyCount());
+        String[] parts = new String[primaryKeyValues.length];
+        for (int k = 0; k < parts.length; k++) {
+            Object v = primaryKeyValues[k];
+            if (v == null) throw new IllegalArgumentException("PK değeri null olamaz");
+            int col = plan.primaryKeyIndex(k);
+            // Alan tipinde verildiyse converter uygulanır (entity tarafıyla aynı gösterim)
+            if (plan.hasConverter(col) && plan.field(col).getType().isInstance(v)) v = plan.toDbValue(col, v);
+            parts[k] = String.valueOf(v);
+        }
+        return key(parts);
+    }
+
+    private static Object key(String[] parts) {
+        return parts.length == 1 ? parts[0] : Arrays.asList(parts);
+    }
+
+    // --- Okuma tarafı ---
+
+    /** Okuma başlamadan alınır; {@link #putIfUnchanged} bu andan sonra yazma olduysa eklemez. */
+    public synchronized long stamp() { return version; }
+
+    @Nullable
+    public synchronized T get(@NonNull Object key) {
+        T e = entries.get(key);
+        if (e == null) misses++; else hits++;
+        return e;
+    }
+
+    /** Okunan entity'yi ekler; stamp'ten sonra bu repository'de yazma olduysa eklemez. */
+    public synchronized void putIfUnchanged(@NonNull Object key, @NonNull T entity, long stamp) {
+        if (version == stamp) add(key, entity);
+    }
+
+    // --- Yazma tarafı (commit sonrası) ---
+
+    public synchronized void put(@NonNull T entity) {
+        version++;
+        add(keyOf(entity), entity);
+    }
+
+    public synchronized void remove(@NonNull Object key) {
+        version++;
+        entries.remove(key);
+    }
+
+    /** Tüm kayıtları düşürür (koşullu yazmalar ya da dış yazmalar için). */
+    public synchronized void clear() {
+        version++;
+        entries.clear();
+    }
+
+    private void add(Object key, T entity) {
+        entries.put(key, entity);
+        if (entries.size() > maxSize) {
+            Iterator<Object> it = entries.keySet().iterator();
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    // --- Metrikler ---
+    public synchronized long hitCount() { return hits; }
+    public synchronized long missCount() { return misses; }
+    public synchronized long evictionCount() { return evictions; }
+    public synchronized int size() { return entries.size(); }
+    public int maxSize() { return maxSize; }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        long total = hits + misses;
+        return "EntityCache{type=" + plan.getType().getSimpleName() + ", size=" + entries.size() + "/" + maxSize
+                + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                + ", hitRate=" + (total == 0 ? 0 : (100 * hits / total)) + "%}";
+    }
+}
@@ -0,0 +1,35 @@
+// lib/persistence/ExecutorCallback.java
+package lib.persistence;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Ana thread'e post edilmeden teslim edilen callback: executor null ise sonucu üreten thread'de (DB thread'i),
+ * değilse executor'da çağrılır. ADbContext.postResult tanır; tanımayan IDbContext'ler ana thread'e iletir.
+ */
+final class ExecutorCallback<T> implements DbCallback<T> {
+    private final Executor executor;
+    private final DbCallback<T> target;
+
+    ExecutorCallback(@Nullable Executor executor, @NonNull DbCallback<T> target) {
+        this.executor = executor;
+        this.target = target;
+    }
+
+    void deliver(@NonNull DbResult<T> result) {
+        if (executor == null) onResult(result);
+        else executor.execute(() -> onResult(result));
+    }
+
+    @Override
+    public void onResult(DbResult<T> result) {
+        try {
+            target.onResult(result);
+        } catch (Throwable t) {
+            android.util.Log.e("ADbContext", "Callback error", t);
+        }
+    }
+}
@@ -2,143 +2,623 @@
 package lib.persistence;
 
 import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.CancellationSignal;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import lib.persistence.command.manipulation.DeleteCommand;
 import lib.persistence.command.manipulation.DeleteSql;
-import lib.persistence.command.manipulation.InsertCommand;
-import lib.persistence.command.manipulation.UpdateCommand;
+import lib.persistence.command.manipulation.DeleteStatement;
+import lib.persistence.command.manipulation.InsertStatement;
 import lib.persistence.command.manipulation.UpdateSql;
+import lib.persistence.command.manipulation.UpdateStatement;
+import lib.persistence.command.manipulation.UpsertStatement;
 import lib.persistence.command.query.GetQuery;
+import lib.persistence.command.query.PageToken;
 import lib.persistence.command.query.Select;
 import lib.persistence.command.query.SelectQuery;
-import lib.persistence.profile.DbColumn;
+import lib.persistence.profile.EntityPlan;
 import lib.persistence.profile.Mapper;
+import lib.persistence.profile.Projection;
 
 public abstract class GenericRepository<T> {
     protected final IDbContext  dbContext;
     protected final Class<T> type;
+    // Opsiyonel PK → entity önbelleği (enableEntityCache ile); null → kapalı
+    private volatile EntityCache<T> entityCache;
+    // Opsiyonel dirty tracking (enableChangeTracking ile); null → kapalı
+    private volatile ChangeTracker<T> changeTracker;
 
     protected GenericRepository(IDbContext ctx, Class<T> type) {
         this.dbContext = ctx;
         this.type = type;
     }
 
+    /**
+     * getById için PK anahtarlı LRU entity önbelleğini açar (bkz. {@link EntityCache}).
+     * İsabetli getById okuma havuzuna iş göndermez. Bu repository'nin insert/update/upsert/delete'leri
+     * commit olunca önbelleği günceller; ham SQL ya da başka repository örneği ile yapılan yazmaları görmez.
+     */
+    public void enableEntityCache(int maxEntities) {
+        entityCache = new EntityCache<>(Mapper.getPlan(type), maxEntities);
+    }
+
+    public void disableEntityCache() { entityCache = null; }
+
+    /** Entity önbelleği (metrikler / elle temizleme için); kapalıysa null. */
+    public EntityCache<T> getEntityCache() { return entityCache; }
+
+    /**
+     * Değişiklik izlemeyi açar (bkz. {@link ChangeTracker}): repository'den okunan ve yazılan entity'lerin
+     * kolon değerleri saklanır; update sadece değişen kolonları yazar, değişiklik yoksa SQL çalıştırmaz.
+     * İzlenmeyen entity (örn. elle oluşturulmuş) için update tüm kolonları yazar ve izlemeye başlar.
+     */
+    public void enableChangeTracking() {
+        changeTracker = new ChangeTracker<>(Mapper.getPlan(type));
+    }
+
+    public void disableChangeTracking() { changeTracker = null; }
+
+    /** Değişiklik izleyicisi; kapalıysa null. */
+    public ChangeTracker<T> getChangeTracker() { return changeTracker; }
+
     // CREATE
     public void insert(T entity, DbCallback<T> cb) {
-        dbContext.runDbOperation(db -> {
-            InsertCommand cmd = InsertCommand.build(entity);
-            long rowId = db.insert(cmd.getTableName(), null, cmd.getContentValues());
+        runWrite(db -> {
+            // Tip başına bir kez derlenmiş INSERT; değerler ContentValues'suz bağlanır
+            long rowId;
+            try (InsertStatement<T> st = InsertStatement.compile(dbContext, db, type)) {
+                rowId = st.executeInsert(entity);
+            }
             if (rowId == -1) throw new Exception("Insert failed");
 
-            // Identity PK'yi geri yaz
-            ArrayList<DbColumn> cols = Mapper.classToDbColumns(type);
-            for (DbColumn c : cols) {
-                if (c.isPrimaryKey() && c.isIdentity()) {
-                    Field f = Mapper.findField(type, c.getFieldName());
-                    f.setAccessible(true);
-                    Class<?> ft = f.getType();
-                    if (ft == int.class || ft == Integer.class)      f.set(entity, (int) rowId);
-                    else if (ft == long.class || ft == Long.class)   f.set(entity, rowId);
-                    else                                             f.set(entity, rowId); // fallback
-                    break;
+            // Identity PK'yi geri yaz (plan'da çözülmüş alan)
+            Mapper.getPlan(type).setIdentityValue(entity, rowId);
+            onCommit(c -> c.put(entity));
+            trackWritten(entity);
+            return new DbResult.Success<>(entity);
+        }, cb);
+    }
+
+    // CREATE (toplu): tek yazma işi, tek derlenmiş INSERT; identity'ler entity'lere geri yazılır
+    public void insertAll(Collection<T> entities, DbCallback<List<T>> cb) {
+        insertAll(entities, DbContextConfig.get().batchChunkSize, cb);
+    }
+
+    /**
+     * @param chunkSize >0 ise her chunkSize satırda ara commit yapılır (uzun transaction'lar WAL'ı
+     *                  büyütmesin, bekleyen okuyucular tıkanmasın). Hata olursa sadece son parça geri alınır;
+     *                  commit olan parçalar kalıcıdır (önbellek/izleyici etkileri parça commit olunca uygulanır),
+     *                  geri alınan parçanın entity'lerinin identity'leri boşaltılır. İptal de (cancel/timeout)
+     *                  commit olmuş parçaları geri alamaz; sadece yürüyen parça geri alınır ve sonraki parçalar
+     *                  yazılmaz. Grup commit (DbContextConfig.groupCommit) içinde ara commit yapılmaz.
+     */
+    public void insertAll(Collection<T> entities, int chunkSize, DbCallback<List<T>> cb) {
+        runWrite(db -> {
+            ArrayList<T> out = new ArrayList<>(entities.size());
+            EntityPlan<T> plan = Mapper.getPlan(type);
+            int[] committed = {0};  // ara commit'lerle kalıcı olan baş kısmın boyu
+            // Son parça geri alınırsa (hata/iptal) onun identity'leri boşaltılır; kalıcı parçalarınki kalır
+            dbContext.onRollback(() -> clearIdentities(plan, out.subList(committed[0], out.size())));
+            CancellationSignal signal = dbContext.cancellationSignal();
+            try (InsertStatement<T> st = InsertStatement.compile(dbContext, db, type)) {
+                int inChunk = 0;
+                for (T entity : entities) {
+                    long rowId = st.executeInsert(entity);
+                    if (rowId == -1) throw new Exception("Insert failed at index " + out.size());
+                    plan.setIdentityValue(entity, rowId);
+                    out.add(entity);
+                    if (chunkSize > 0 && ++inChunk >= chunkSize && out.size() < entities.size()
+                            && !dbContext.isGroupCommitActive()) { // grup transaction'ı ortak: ara commit yok
+                        if (signal != null) signal.throwIfCanceled(); // iptal edilen iş yeni parça commit etmez
+                        commitChunk(db);
+                        // Parça kalıcı: sonraki bir hata/iptal etkilerini atlatmasın diye hemen uygulanır
+                        applyWritten(out.subList(committed[0], out.size()));
+                        committed[0] = out.size();
+                        inChunk = 0;
+                    }
                 }
             }
+            List<T> tail = out.subList(committed[0], out.size());
+            onCommit(c -> { for (T e : tail) c.put(e); });
+            trackWritten(tail);
+            return new DbResult.Success<List<T>>(out);
+        }, cb);
+    }
+
+    // runDbOperation'ın açtığı transaction'ı commit edip yenisini başlatır (son parçayı runDbOperation kapatır)
+    private static void commitChunk(SQLiteDatabase db) {
+        db.setTransactionSuccessful();
+        db.endTransaction();
+        db.beginTransaction();
+    }
+
+    // UPSERT (PK çakışmasında güncelle; bileşik PK destekli). Yeni eklenen identity entity'ye yazılır.
+    public void upsert(T entity, DbCallback<T> cb) {
+        runWrite(db -> {
+            try (UpsertStatement<T> st = UpsertStatement.compile(dbContext, db, type)) {
+                st.executeUpsert(entity);
+            }
+            onCommit(c -> c.put(entity));
+            trackWritten(entity);
             return new DbResult.Success<>(entity);
-        }, cb, true);
+        }, cb);
+    }
+
+    // UPSERT (toplu): tek transaction, tek derlenmiş UPSERT
+    public void upsertAll(Collection<T> entities, DbCallback<List<T>> cb) {
+        runWrite(db -> {
+            ArrayList<T> out = new ArrayList<>(entities.size());
+            try (UpsertStatement<T> st = UpsertStatement.compile(dbContext, db, type)) {
+                for (T entity : entities) {
+                    st.executeUpsert(entity);
+                    out.add(entity);
+                }
+            }
+            onCommit(c -> { for (T e : out) c.put(e); });
+            trackWritten(out);
+            return new DbResult.Success<List<T>>(out);
+        }, cb);
     }
 
-    // UPDATE (PK’lere göre)
+    // UPDATE (PK’lere göre). Değişiklik izleme açıksa sadece değişen kolonlar yazılır.
     public void update(T entity, DbCallback<T> cb) {
-        dbContext.runDbOperation(db -> {
-            UpdateCommand cmd = UpdateCommand.build(entity);
-            int n = db.update(cmd.getTableName(), cmd.getValues(), cmd.getWhereClause(), cmd.getWhereArgs());
+        ChangeTracker<T> tracker = changeTracker;
+        ChangeTracker.Diff pending = tracker == null ? null : tracker.diff(entity);
+        if (pending != null && pending.isEmpty()) {
+            // Hiçbir kolon değişmedi: yazma işi planlanmaz, SQL çalışmaz
+            dbContext.postResult(cb, new DbResult.Success<>(entity));
+            return;
+        }
+        runWrite(db -> {
+            // Fark yazma anındaki değerlerle yeniden hesaplanır (çağrıdan sonra değişmiş olabilir)
+            ChangeTracker.Diff diff = tracker == null ? null : tracker.diff(entity);
+            int n;
+            if (diff == null) {
+                // Tüm kolonlar: SqlPlan'daki hazır UPDATE, önbellekli derlenmiş ifadeyle (sadece bağlama)
+                try (UpdateStatement<T> st = UpdateStatement.compile(dbContext, db, type)) {
+                    n = st.executeUpdate(entity);
+                }
+            } else if (diff.isEmpty()) {
+                return new DbResult.Success<>(entity);
+            } else {
+                try (UpdateStatement<T> st = UpdateStatement.compile(dbContext, db, type, diff.getColumns())) {
+                    n = st.executeUpdate(entity);
+                }
+            }
             if (n <= 0) throw new Exception("Update affected 0 rows");
+            onCommit(c -> c.put(entity));
+            if (diff != null) dbContext.onCommit(() -> tracker.accept(entity, diff));
+            else trackWritten(entity);
             return new DbResult.Success<>(entity);
-        }, cb, true);
+        }, cb);
+    }
+
+    // UPDATE (toplu): tek transaction, tek derlenmiş UPDATE; dizi entity başına etkilenen satır sayısı
+    public void updateAll(Collection<T> entities, DbCallback<int[]> cb) {
+        runWrite(db -> {
+            int[] counts = new int[entities.size()];
+            try (UpdateStatement<T> st = UpdateStatement.compile(dbContext, db, type)) {
+                int k = 0;
+                for (T entity : entities) counts[k++] = st.executeUpdate(entity);
+            }
+            // Satırı olmayan (0 güncellenen) entity önbelleğe alınmaz, görüntüsü de kaydedilmez
+            ArrayList<T> updated = new ArrayList<>(entities.size());
+            int k = 0;
+            for (T entity : entities) if (counts[k++] > 0) updated.add(entity);
+            onCommit(c -> { for (T entity : updated) c.put(entity); });
+            trackWritten(updated);
+            return new DbResult.Success<>(counts);
+        }, cb);
     }
 
     // UPDATE: UpdateSql builder ile (set/where)
     public void updateWith(UpdateSql sql, DbCallback<Integer> cb) {
-        dbContext.runDbOperation(db -> {
+        runWrite(sql.getTableName(), db -> {
             int n = db.update(sql.getTableName(), sql.getContentValues(), sql.getWhereClause(), sql.getWhereArgs());
+            if (n > 0) onCommit(EntityCache::clear); // hangi satırlar değişti bilinmiyor
             return new DbResult.Success<>(n);
-        }, cb, true);
+        }, cb);
     }
 
     // DELETE (entity’nin PK değeriyle, bileşik PK destekli)
     public void delete(T entity, DbCallback<T> cb) {
-        dbContext.runDbOperation(db -> {
-            DeleteCommand cmd = DeleteCommand.build(entity);
-            int n = db.delete(cmd.getTableName(), cmd.getWhereClause(), cmd.getWhereArgs());
+        runWrite(db -> {
+            int n;
+            try (DeleteStatement<T> st = DeleteStatement.compile(dbContext, db, type)) {
+                n = st.executeDelete(entity);
+            }
             if (n <= 0) throw new Exception("Delete affected 0 rows");
+            onCommit(c -> c.remove(c.keyOf(entity)));
+            forgetOnCommit(entities(entity));
             return new DbResult.Success<>(entity);
-        }, cb, true);
+        }, cb);
     }
 
     // DELETE: doğrudan PK değer(ler)i ile
     public void deleteById(DbCallback<Integer> cb, Object... primaryKeyValues) {
-        dbContext.runDbOperation(db -> {
+        runWrite(db -> {
             DeleteCommand cmd = DeleteCommand.build(type, primaryKeyValues);
-            int n = db.delete(cmd.getTableName(), cmd.getWhereClause(), cmd.getWhereArgs());
+            SQLiteStatement st = dbContext.compiledStatement(db, cmd.getSql());
+            int n;
+            try {
+                st.bindAllArgsAsStrings(cmd.getWhereArgs()); // db.delete ile aynı bağlama
+                n = st.executeUpdateDelete();
+            } finally {
+                st.clearBindings();
+            }
+            onCommit(c -> c.remove(c.keyOfValues(primaryKeyValues)));
+            forgetKeysOnCommit(entities(EntityCache.keyOfValues(Mapper.getPlan(type), primaryKeyValues)));
             return new DbResult.Success<>(n);
-        }, cb, true);
+        }, cb);
+    }
+
+    /**
+     * DELETE (toplu, entity'lerle): tek transaction; dizi, sırasıyla her toplu silme adımında etkilenen satır sayısıdır.
+     * - Tek kolonlu PK: IN (...) parçası başına bir sayı (deleteByIds gibi; en fazla MAX_BOUND_VARIABLES id/parça)
+     * - Bileşik PK: tek derlenmiş DELETE her entity için bağlanır → entity başına bir sayı
+     * Toplam silinen satır dizinin toplamıdır.
+     */
+    public void deleteAll(Collection<T> entities, DbCallback<int[]> cb) {
+        runWrite(db -> {
+            EntityPlan<T> plan = Mapper.getPlan(type);
+            if (plan.primaryKeyCount() == 1) {
+                int pk = plan.primaryKeyIndex(0);
+                ArrayList<Object> keys = new ArrayList<>(entities.size());
+                for (T entity : entities) keys.add(plan.getFieldValue(entity, pk));
+                int[] chunks = DeleteStatement.deleteByKeys(dbContext, db, plan, keys);
+                onCommit(c -> { for (T e : entities) c.remove(c.keyOf(e)); });
+                forgetOnCommit(entities);
+                return new DbResult.Success<>(chunks);
+            }
+            int[] counts = new int[entities.size()];
+            try (DeleteStatement<T> st = DeleteStatement.compile(dbContext, db, type)) {
+                int k = 0;
+                for (T entity : entities) counts[k++] = st.executeDelete(entity);
+            }
+            onCommit(c -> { for (T e : entities) c.remove(c.keyOf(e)); });
+            forgetOnCommit(entities);
+            return new DbResult.Success<>(counts);
+        }, cb);
+    }
+
+    // DELETE (toplu, PK değerleriyle; tek kolonlu PK): IN (...) parçaları, dizi parça başına silinen satır sayısı
+    public void deleteByIds(List<?> ids, DbCallback<int[]> cb) {
+        runWrite(db -> {
+            EntityPlan<T> plan = Mapper.getPlan(type);
+            int[] chunks = DeleteStatement.deleteByKeys(dbContext, db, plan, ids);
+            onCommit(c -> { for (Object id : ids) c.remove(c.keyOfValues(id)); });
+            ArrayList<Object> keys = new ArrayList<>(ids.size());
+            for (Object id : ids) keys.add(EntityCache.keyOfValues(plan, id));
+            forgetKeysOnCommit(keys);
+            return new DbResult.Success<>(chunks);
+        }, cb);
     }
 
     // DELETE: DeleteSql builder ile (koşullu silme)
     public void deleteWhere(DeleteSql sql, DbCallback<Integer> cb) {
-        dbContext.runDbOperation(db -> {
+        runWrite(sql.getTableName(), db -> {
             int n = db.delete(sql.getTableName(), sql.getWhereClause(), sql.getWhereArgs());
+            if (n > 0) {
+                onCommit(EntityCache::clear);
+                ChangeTracker<T> tracker = changeTracker; // hangi satırlar silindi bilinmiyor
+                if (tracker != null) dbContext.onCommit(tracker::clear);
+            }
             return new DbResult.Success<>(n);
-        }, cb, true);
+        }, cb);
     }
 
-    // READ: getById (tek PK varsayımı – GetQuery güvenli & quoted)
-    public void getById(Object id, DbCallback<T> cb) {
+    // Yazma işi: değişen tablo bildirilir (sorgu önbelleği iş bitince buna göre düşürülür)
+    private <R> void runWrite(IDbContext.DbWork<R> work, DbCallback<R> cb) {
+        runWrite(Mapper.getTableName(type), work, cb);
+    }
+
+    private <R> void runWrite(String table, IDbContext.DbWork<R> work, DbCallback<R> cb) {
         dbContext.runDbOperation(db -> {
-            GetQuery q = GetQuery.build(type, id);
-            try (Cursor c = db.rawQuery(q.getQuery(), q.getArgs())) {
+            dbContext.tablesWritten(table);
+            return work.perform(db);
+        }, cb, true);
+    }
+
+    // Yazma commit olunca entity önbelleğini günceller (yazma thread'inde); önbellek kapalıysa no-op
+    private void onCommit(Consumer<EntityCache<T>> action) {
+        EntityCache<T> cache = entityCache;
+        if (cache != null) dbContext.onCommit(() -> action.accept(cache));
+    }
+
+    // Yazılan değerler şimdi alınır, commit olunca görüntü olarak kaydedilir; izleme kapalıysa no-op
+    private void trackWritten(T entity) {
+        trackWritten(entities(entity));
+    }
+
+    private void trackWritten(Collection<T> written) {
+        ChangeTracker<T> tracker = changeTracker;
+        if (tracker == null) return;
+        ArrayList<ChangeTracker.Diff> values = new ArrayList<>(written.size());
+        for (T e : written) values.add(tracker.capture(e));
+        dbContext.onCommit(() -> {
+            int k = 0;
+            for (T e : written) tracker.accept(e, values.get(k++));
+        });
+    }
+
+    // Ara commit ile kalıcı olan entity'ler: önbellek ve izleyici hemen güncellenir (yazma thread'inde)
+    private void applyWritten(List<T> written) {
+        EntityCache<T> cache = entityCache;
+        if (cache != null) for (T e : written) cache.put(e);
+        ChangeTracker<T> tracker = changeTracker;
+        if (tracker != null) for (T e : written) tracker.accept(e, tracker.capture(e));
+    }
+
+    // Geri alınan insert'lerin identity'leri: entity'ler insert öncesi gibi tekrar eklenebilir kalır
+    private static void clearIdentities(EntityPlan<?> plan, List<?> rolledBack) {
+        try {
+            for (Object e : rolledBack) plan.clearIdentityValue(e);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void forgetOnCommit(Collection<T> deleted) {
+        ChangeTracker<T> tracker = changeTracker;
+        if (tracker != null) dbContext.onCommit(() -> { for (T e : deleted) tracker.forget(e); });
+    }
+
+    // PK değerleriyle silinenler: izlenen entity'ler anahtarla bulunur
+    private void forgetKeysOnCommit(Collection<Object> keys) {
+        ChangeTracker<T> tracker = changeTracker;
+        if (tracker != null) dbContext.onCommit(() -> tracker.forgetKeys(keys));
+    }
+
+    // Okunan entity'lerin görüntüsü (okuma thread'inde); izleme kapalıysa ya da satır T değilse no-op
+    @SuppressWarnings("unchecked")
+    private void trackLoaded(Collection<?> loaded) {
+        ChangeTracker<T> tracker = changeTracker;
+        if (tracker == null) return;
+        for (Object o : loaded) if (type.isInstance(o)) tracker.snapshot((T) o);
+    }
+
+    private static <E> List<E> entities(E entity) {
+        return java.util.Collections.singletonList(entity);
+    }
+
+    // READ: getById (tek PK – GetQuery güvenli & quoted; kolonlar sabit sırada). Bileşik PK için getById(cb, pk1, pk2...)
+    // Tekil okumalar okuma kuyruğunda INTERACTIVE önceliklidir (kullanıcı bekliyor); Select okumaları builder'ın önceliğiyle
+    public DbOperation<T> getById(Object id, DbCallback<T> cb) {
+        if (Mapper.getPlan(type).primaryKeyCount() == 1) return getById(cb, id);
+        return getByIdAs(id, Projection.of(type), cb); // eski davranış: ilk PK kolonu
+    }
+
+    /**
+     * READ: tüm PK değerleriyle (bileşik PK'de ordinal PK sırasıyla).
+     * Entity önbelleği açıksa isabet okuma havuzuna gitmeden ana thread'e iletilir.
+     */
+    public DbOperation<T> getById(DbCallback<T> cb, Object... primaryKeyValues) {
+        EntityCache<T> cache = entityCache;
+        final Object key;
+        final long stamp;
+        if (cache != null) {
+            key = cache.keyOfValues(primaryKeyValues);
+            T hit = cache.get(key);
+            if (hit != null) return DbOperation.completed(dbContext, cb, new DbResult.Success<>(hit));
+            stamp = cache.stamp();
+        } else {
+            key = null;
+            stamp = 0;
+        }
+
+        Projection<T> projection = Projection.of(type);
+        return dbContext.runDbOperation(db -> {
+            GetQuery q = GetQuery.byKey(type, projection, primaryKeyValues);
+            try (Cursor c = db.rawQuery(q.getQuery(), q.getArgs(), dbContext.cancellationSignal())) {
+                T entity = c.moveToFirst() ? projection.map(c) : null;
+                if (entity != null) trackLoaded(entities(entity));
+                if (cache != null && entity != null) cache.putIfUnchanged(key, entity, stamp);
+                return new DbResult.Success<>(entity);
+            }
+        }, cb, false, DbPriority.INTERACTIVE);
+    }
+
+    // READ: getById, sadece projeksiyonun kolonları (kısmi entity ya da DTO)
+    public <P> DbOperation<P> getByIdAs(Object id, Projection<P> projection, DbCallback<P> cb) {
+        return dbContext.runDbOperation(db -> {
+            GetQuery q = GetQuery.build(type, id, projection);
+            try (Cursor c = db.rawQuery(q.getQuery(), q.getArgs(), dbContext.cancellationSignal())) {
                 if (c.moveToFirst()) {
-                    T obj = Mapper.cursorToObject(c, type);
-                    return new DbResult.Success<>(obj);
+                    P row = projection.map(c);
+                    trackLoaded(entities(row)); // kısmi entity: seçilmeyen alanlar değişmemiş sayılır
+                    return new DbResult.Success<>(row);
                 } else {
-                    return new DbResult.Success<>(null);
+                    return new DbResult.Success<P>(null);
                 }
             }
-        }, cb, false);
+        }, cb, false, DbPriority.INTERACTIVE);
     }
 
     // READ: hepsi
-    public void selectAll(DbCallback<ArrayList<T>> cb) {
-        selectWith(Select.from(type), cb);
+    public DbOperation<ArrayList<T>> selectAll(DbCallback<ArrayList<T>> cb) {
+        return selectWith(Select.from(type), cb);
     }
 
     // READ: Select builder ile
-    public void selectWith(Select<T> builder, DbCallback<ArrayList<T>> cb) {
-        SelectQuery<T> q = builder.compile();
-        dbContext.runDbOperation(db -> {
-            ArrayList<T> list = new ArrayList<>();
-            try (Cursor c = db.rawQuery(q.getSql(), q.getArgs())) {
-                while (c.moveToNext()) list.add(q.getRowMapperOrDefault().apply(c));
+    public DbOperation<ArrayList<T>> selectWith(Select<T> builder, DbCallback<ArrayList<T>> cb) {
+        return selectAs(builder, cb);
+    }
+
+    // READ: projeksiyonlu Select (örn. Select.from(Todo.class).into(TodoTitle.class)) ile
+    // Select.cached() ise sonuç DbContext'in QueryCache'inden gelebilir (anahtar: satır tipi + SQL + argümanlar;
+    // liste kopyalanır, entity'ler paylaşılır)
+    @SuppressWarnings("unchecked")
+    public <P> DbOperation<ArrayList<P>> selectAs(Select<P> builder, DbCallback<ArrayList<P>> cb) {
+        SelectQuery<P> q = builder.compile();
+        QueryCache cache = q.isCacheable() ? dbContext.getQueryCache() : null;
+        return dbContext.runDbOperation(db -> {
+            long stamp = 0;
+            if (cache != null) {
+                stamp = cache.stamp();
+                Object hit = cache.get(q.getType(), q.getSql(), q.getArgs());
+                if (hit != null) return new DbResult.Success<>(new ArrayList<>((List<P>) hit));
+            }
+
+            ArrayList<P> list = new ArrayList<>();
+            // Eşleyici sorgu başına bir kez alınır; kolon index'leri ilk satırda çözülür
+            Function<Cursor, P> mapper = q.getRowMapperOrDefault();
+            try (Cursor c = q.query(db, dbContext.cancellationSignal())) {
+                while (c.moveToNext()) list.add(mapper.apply(c));
+            }
+            trackLoaded(list);
+            if (cache != null) {
+                List<P> shared = java.util.Collections.unmodifiableList(new ArrayList<>(list));
+                cache.put(q.getType(), q.getSql(), q.getArgs(), q.getCacheTables(), shared, QueryCache.estimateBytes(list), stamp);
             }
             return new DbResult.Success<>(list);
-        }, cb, false);
+        }, cb, false, builder.getPriority(), builder.getTimeoutMs());
+    }
+
+    /**
+     * READ (keyset sayfalama): builder'ın orderBy sırasıyla, after anahtarından sonraki pageSize satır.
+     * İlk sayfa için after = null. Dönen Page.getNext() bir sonraki çağrıya verilir; son sayfada null.
+     * Sıralama benzersiz olmalı (son orderBy kolonu olarak PK önerilir) ve sıralama kolonları sonuçta bulunmalı.
+     * Not: builder'ın limit'i ve keyset koşulu bu çağrı tarafından ayarlanır (builder tekrar kullanılabilir).
+     */
+    public DbOperation<Page<T>> selectPage(Select<T> builder, int pageSize, PageToken after, DbCallback<Page<T>> cb) {
+        if (pageSize <= 0) throw new IllegalArgumentException("pageSize > 0 olmalı");
+        List<String> orderCols = builder.getOrderColumns();
+        List<Boolean> orderDesc = builder.getOrderDescending();
+        if (orderCols.isEmpty() && after == null)
+            throw new IllegalStateException("selectPage için orderBy(...) gerekli");
+        SelectQuery<T> q = builder.after(after).limit(pageSize + 1).compile(); // +1: sonraki sayfa var mı?
+        if (orderCols.isEmpty()) { // sıralama token'dan geldi
+            orderCols = builder.getOrderColumns();
+            orderDesc = builder.getOrderDescending();
+        }
+        final List<String> cols = orderCols;
+        final List<Boolean> desc = orderDesc;
+
+        return dbContext.runDbOperation(db -> {
+            ArrayList<T> items = new ArrayList<>(pageSize);
+            PageToken next = null;
+            Function<Cursor, T> mapper = q.getRowMapperOrDefault();
+            try (Cursor c = q.query(db, dbContext.cancellationSignal())) {
+                while (items.size() < pageSize && c.moveToNext()) items.add(mapper.apply(c));
+                trackLoaded(items);
+                if (items.size() == pageSize && c.moveToNext() && c.moveToPrevious()) {
+                    next = tokenFromRow(c, cols, desc); // cursor sayfanın son satırında
+                }
+            }
+            return new DbResult.Success<>(new Page<>(items, next));
+        }, cb, false, builder.getPriority(), builder.getTimeoutMs());
+    }
+
+    /**
+     * Canlı sorgu (bkz. {@link LiveQuery}): ilk sonuç ve builder'ın tablolarına her yazma sonrası yeni sonuç
+     * observer'a (ana thread) iletilir. Bir kare içindeki yazmalar tek sorguya birleştirilir.
+     * Dönen LiveQuery'de removeObserver/close ile abonelik bitirilmeli; ana thread'den çağrılmalı.
+     */
+    public LiveQuery<T> observe(Select<T> builder, LiveQuery.Observer<T> observer) {
+        return observe(builder, LiveQuery.DEFAULT_COALESCE_MS, observer);
+    }
+
+    /** coalesceMs: ilk yazmadan sonra sorgu yeniden çalıştırılmadan önce beklenen süre (birleştirme penceresi). */
+    public LiveQuery<T> observe(Select<T> builder, long coalesceMs, LiveQuery.Observer<T> observer) {
+        return new LiveQuery<>(this, dbContext, builder, coalesceMs).addObserver(observer);
+    }
+
+    /**
+     * Select üzerinde sınırlı pencereli sayfalı okuma (bkz. {@link PagedQuery}).
+     * Bellekte en fazla maxPages sayfa tutulur; sonraki sayfa, sona pageSize/4 satır kala önceden yüklenir.
+     * Çağrıdan sonra start() ile ilk sayfa yüklenir.
+     */
+    public PagedQuery<T> paged(Select<T> builder, int pageSize, int maxPages, PagedQuery.Listener<T> listener) {
+        return paged(builder, pageSize, maxPages, Math.max(1, pageSize / 4), listener);
+    }
+
+    /**
+     * @param prefetchDistance sonraki sayfanın yüklenmeye başlayacağı, yüklü son satıra kalan satır sayısı
+     *                         (0..pageSize; 0 → sadece son satır okununca). Satır maliyeti/kaydırma hızına göre seçin.
+     */
+    public PagedQuery<T> paged(Select<T> builder, int pageSize, int maxPages, int prefetchDistance,
+                               PagedQuery.Listener<T> listener) {
+        return new PagedQuery<>(this, builder, pageSize, maxPages, prefetchDistance, listener);
+    }
+
+    // Cursor'ın bulunduğu satırdan sıralama kolonlarının değerleriyle anahtar üretir
+    private static PageToken tokenFromRow(Cursor c, List<String> cols, List<Boolean> desc) {
+        String[] names = new String[cols.size()];
+        boolean[] d = new boolean[cols.size()];
+        Object[] values = new Object[cols.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = cols.get(i);
+            d[i] = desc.get(i);
+            String plain = names[i].substring(names[i].lastIndexOf('.') + 1); // t.col → col
+            int idx = c.getColumnIndex(plain);
+            if (idx < 0) throw new IllegalStateException("Sayfa anahtarı kolonu sonuçta yok: " + names[i]);
+            // Değer saklama tipiyle alınır: REAL getString ile yuvarlanır, BLOB metne çevrilemez
+            switch (c.getType(idx)) {
+                case Cursor.FIELD_TYPE_NULL:
+                    throw new IllegalStateException("Sayfa anahtarı kolonu null: " + names[i]);
+                case Cursor.FIELD_TYPE_INTEGER: values[i] = c.getLong(idx); break;
+                case Cursor.FIELD_TYPE_FLOAT:   values[i] = c.getDouble(idx); break;
+                case Cursor.FIELD_TYPE_BLOB:    values[i] = c.getBlob(idx); break;
+                default:                        values[i] = c.getString(idx);
+            }
+        }
+        return new PageToken(names, d, values);
+    }
+
+    /**
+     * READ (akışlı): sonuçlar en fazla chunkSize'lık parçalar halinde, sırayla ve okuma thread'inde
+     * consumer'a verilir; tüm sonuç kümesi bellekte listelenmez.
+     * consumer false dönerse cursor kapatılır ve okuma durur.
+     * cb (ana thread) teslim edilen toplam satır sayısını alır; consumer hatası Error olarak döner.
+     */
+    public DbOperation<Integer> selectChunked(Select<T> builder, int chunkSize, ChunkConsumer<T> consumer,
+                                              DbCallback<Integer> cb) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize > 0 olmalı");
+        SelectQuery<T> q = builder.compile();
+        return dbContext.runDbOperation(db -> {
+            int delivered = 0;
+            Function<Cursor, T> mapper = q.getRowMapperOrDefault();
+            CancellationSignal signal = dbContext.cancellationSignal();
+            try (Cursor c = q.query(db, signal)) {
+                ArrayList<T> chunk = new ArrayList<>(chunkSize);
+                while (c.moveToNext()) {
+                    chunk.add(mapper.apply(c));
+                    if (chunk.size() == chunkSize) {
+                        if (signal != null) signal.throwIfCanceled(); // parçalar arasında da iptal noktası
+                        delivered += chunk.size();
+                        if (!consumer.onChunk(chunk)) return new DbResult.Success<>(delivered);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    delivered += chunk.size();
+                    consumer.onChunk(chunk);
+                }
+            }
+            return new DbResult.Success<>(delivered);
+        }, cb, false, builder.getPriority(), builder.getTimeoutMs());
     }
 
     // Opsiyonel: ham sorgu
-    public void rawQuery(String sql, String[] args, DbCallback<ArrayList<HashMap<String,String>>> cb) {
-        dbContext.runDbOperation(db -> {
+    public DbOperation<ArrayList<HashMap<String,String>>> rawQuery(String sql, String[] args,
+                                                                   DbCallback<ArrayList<HashMap<String,String>>> cb) {
+        return dbContext.runDbOperation(db -> {
             ArrayList<HashMap<String,String>> rows = new ArrayList<>();
-            try (Cursor c = db.rawQuery(sql, args)) {
+            try (Cursor c = db.rawQuery(sql, args, dbContext.cancellationSignal())) {
                 String[] names = c.getColumnNames();
                 while (c.moveToNext()) {
                     HashMap<String,String> row = new HashMap<>();
-                    for (String col : names) {
-                        int idx = c.getColumnIndex(col);
-                        row.put(col, c.isNull(idx) ? null : c.getString(idx));
+                    for (int idx = 0; idx < names.length; idx++) {
+                        row.put(names[idx], c.isNull(idx) ? null : c.getString(idx));
                     }
                     rows.add(row);
                 }
@@ -146,4 +626,48 @@ public abstract class GenericRepository<T> {
             return new DbResult.Success<>(rows);
         }, cb, false);
     }
+
+    /**
+     * Ham sorgu, sütunsal sonuç: kolon başına long[]/double[]/String[] + NULL bit haritası (bkz. {@link ResultTable}).
+     * Satır başına HashMap ve sayıdan String'e çeviri yoktur; büyük analitik sorgular için tercih edin.
+     */
+    public DbOperation<ResultTable> rawQueryTable(String sql, String[] args, DbCallback<ResultTable> cb) {
+        return dbContext.runDbOperation(db -> {
+            try (Cursor c = db.rawQuery(sql, args, dbContext.cancellationSignal())) {
+                return new DbResult.Success<>(ResultTable.read(c));
+            }
+        }, cb, false);
+    }
+
+    // --- Future'lı çağrılar (bkz. DbFutures): sonuç ana thread'e uğramadan DB thread'inde tamamlanır.
+    // Worker thread'inde beklemek için DbFutures.await(...); başka executor için DbFutures.of(executor, cb -> ...)
+
+    public CompletableFuture<DbResult<T>> getByIdAsync(Object id) {
+        return DbFutures.of(cb -> getById(id, cb));
+    }
+
+    public <P> CompletableFuture<DbResult<ArrayList<P>>> selectAsync(Select<P> builder) {
+        return DbFutures.of(cb -> selectAs(builder, cb));
+    }
+
+    // Yazma çağrıları tutamaç dönmez: future.cancel(...) yazmayı durdurmaz
+    public CompletableFuture<DbResult<T>> insertAsync(T entity) {
+        return DbFutures.of(cb -> { insert(entity, cb); return null; });
+    }
+
+    public CompletableFuture<DbResult<List<T>>> insertAllAsync(Collection<T> entities) {
+        return DbFutures.of(cb -> { insertAll(entities, cb); return null; });
+    }
+
+    public CompletableFuture<DbResult<T>> upsertAsync(T entity) {
+        return DbFutures.of(cb -> { upsert(entity, cb); return null; });
+    }
+
+    public CompletableFuture<DbResult<T>> updateAsync(T entity) {
+        return DbFutures.of(cb -> { update(entity, cb); return null; });
+    }
+
+    public CompletableFuture<DbResult<T>> deleteAsync(T entity) {
+        return DbFutures.of(cb -> { delete(entity, cb); return null; });
+    }
 }
@@ -1,10 +1,16 @@
 package lib.persistence;
 
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.CancellationSignal;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 public interface IDbContext extends AutoCloseable {
     void onConfigure(@NonNull SQLiteDatabase db);
 
@@ -14,13 +20,141 @@ public interface IDbContext extends AutoCloseable {
     void onUpgrade(@NonNull SQLiteDatabase db, int oldVersion, int newVersion);
 
     // --- Çalıştırıcı
-    <T> void runDbOperation(@NonNull DbWork<T> work,
-                            @Nullable DbCallback<T> callback,
-                            boolean writeTransaction);
+
+    /** İşi planlar; dönen tutamaçla kuyruktaki iş iptal edilebilir, yürüyen sorgu kesilebilir (bkz. {@link DbOperation}). */
+    @NonNull
+    <T> DbOperation<T> runDbOperation(@NonNull DbWork<T> work,
+                                      @Nullable DbCallback<T> callback,
+                                      boolean writeTransaction);
+
+    /**
+     * Öncelikli çalıştırma: okuma işleri kuyrukta önceliğe (yaşlandırmalı) göre sıralanır.
+     * Yazma işlerinde öncelik yok sayılır (tek thread, sırayla). Varsayılan: öncelik uygulanmaz.
+     */
+    @NonNull
+    default <T> DbOperation<T> runDbOperation(@NonNull DbWork<T> work,
+                                              @Nullable DbCallback<T> callback,
+                                              boolean writeTransaction,
+                                              @NonNull DbPriority priority) {
+        return runDbOperation(work, callback, writeTransaction);
+    }
+
+    /**
+     * Süre sınırlı çalıştırma: timeoutMs (runDbOperation çağrısından itibaren, kuyruk beklemesi dahil) dolunca
+     * iş çalışmadan ya da {@link #cancellationSignal()} ile kesilerek TimeoutException'lı Error döner.
+     * timeoutMs <= 0: sınır yok. Varsayılan: süre sınırı uygulanmaz.
+     */
+    @NonNull
+    default <T> DbOperation<T> runDbOperation(@NonNull DbWork<T> work,
+                                              @Nullable DbCallback<T> callback,
+                                              boolean writeTransaction,
+                                              @NonNull DbPriority priority,
+                                              long timeoutMs) {
+        return runDbOperation(work, callback, writeTransaction, priority);
+    }
+
+    /**
+     * Future dönen çalıştırma: sonuç ana thread'e post edilmez, future DB thread'inde tamamlanır
+     * (zincirleme DB adımları Looper'ı beklemez). future.cancel(...) işi iptal eder.
+     */
+    @NonNull
+    default <T> CompletableFuture<DbResult<T>> runDbOperationAsync(@NonNull DbWork<T> work, boolean writeTransaction) {
+        return runDbOperationAsync(work, writeTransaction, DbPriority.NORMAL, 0, null);
+    }
+
+    /** executor null değilse future o executor'da tamamlanır; timeoutMs <= 0: sınır yok. */
+    @NonNull
+    default <T> CompletableFuture<DbResult<T>> runDbOperationAsync(@NonNull DbWork<T> work,
+                                                                   boolean writeTransaction,
+                                                                   @NonNull DbPriority priority,
+                                                                   long timeoutMs,
+                                                                   @Nullable Executor executor) {
+        return DbFutures.of(executor, cb -> runDbOperation(work, cb, writeTransaction, priority, timeoutMs));
+    }
+
+    /**
+     * İşi çalıştırır ve sonucunu bekler (worker thread'leri için).
+     * Ana thread'den, bir DB işi içinden ya da DB thread'inde çalışan future devamından (thenApply vb.)
+     * çağrılamaz (IllegalStateException; ADbContext thread kimliğine bakar).
+     */
+    @NonNull
+    default <T> DbResult<T> call(@NonNull DbWork<T> work, boolean writeTransaction) {
+        return call(work, writeTransaction, DbPriority.NORMAL, 0);
+    }
+
+    @NonNull
+    default <T> DbResult<T> call(@NonNull DbWork<T> work, boolean writeTransaction,
+                                 @NonNull DbPriority priority, long timeoutMs) {
+        // İş içinden beklemek kendi thread'ini (yazma) ya da havuzu (okuma) kilitler
+        if (cancellationSignal() != null) throw new IllegalStateException("call() DB işi içinden kullanılamaz");
+        return DbFutures.await(runDbOperationAsync(work, writeTransaction, priority, timeoutMs, null));
+    }
+
+    /**
+     * Bu thread'de yürüyen işin iptal sinyali; iş dışında null.
+     * Uzun sorgular db.rawQuery(sql, args, signal)'a vermeli: iptal/süre aşımında sorgu SQLite içinde kesilir.
+     */
+    @Nullable
+    default CancellationSignal cancellationSignal() { return null; }
+
+    /**
+     * sql için bağlantının önbellekli derlenmiş ifadesi (LRU, DbContextConfig.statementCacheSize).
+     * Sadece yazma işi (DbWork, writeTransaction=true) içinden kullanılmalı.
+     * İfadeyi kapatmayın (context kapatır); bağlamaları kullanım sonunda temizleyin.
+     */
+    @NonNull
+    SQLiteStatement compiledStatement(@NonNull SQLiteDatabase db, @NonNull String sql);
+
+    /**
+     * Yazma işi içinde değiştirilen tabloları bildirir. İş bitince bu tabloları okuyan önbellek kayıtları düşer.
+     * Hiç bildirim yapmayan yazma işlerinden sonra tüm sorgu önbelleği düşürülür.
+     * Sadece yazma işi (DbWork, writeTransaction=true) içinden kullanılmalı.
+     */
+    void tablesWritten(@NonNull String... tables);
+
+    /**
+     * Yürüyen yazma işinin transaction'ı commit olunca (yazma thread'inde) çalışacak eylem.
+     * İş hata ile biterse ya da geri alınırsa çalışmaz. Sadece yazma işi içinden kullanılmalı.
+     */
+    void onCommit(@NonNull Runnable action);
+
+    /**
+     * Yürüyen yazma işinin (son) transaction'ı geri alınınca — hata ya da iptal — yazma thread'inde çalışacak eylem.
+     * İşin ara commit'lerle kalıcı olan kısmı geri alınmaz; eylem bunu hesaba katmalı.
+     * Sadece yazma işi içinden kullanılmalı.
+     */
+    void onRollback(@NonNull Runnable action);
+
+    /**
+     * Yürüyen yazma işi grup commit'in ortak transaction'ında çalışıyorsa true (DbContextConfig.groupCommit).
+     * Bu durumda iş transaction'ı kendisi commit edemez (ara commit yapılmamalı).
+     */
+    default boolean isGroupCommitActive() { return false; }
+
+    /** Sonucu runDbOperation callback'leriyle aynı yoldan (ana thread) iletir; DB işi planlanmaz. */
+    <T> void postResult(@Nullable DbCallback<T> callback, @NonNull DbResult<T> result);
+
+    /** Yazma işleri bitince değişen tablolarla çağrılacak dinleyiciyi ekler (bkz. {@link TableListener}). */
+    void addTableListener(@NonNull TableListener listener);
+
+    void removeTableListener(@NonNull TableListener listener);
+
+    /** Select.cached() sorgularının sonuç önbelleği; kapalıysa (DbContextConfig.queryCacheMaxEntries <= 0) null. */
+    @Nullable
+    QueryCache getQueryCache();
 
     @Override
     void close();
 
+    /**
+     * Yazma işi bittiğinde (yazma thread'inde) çağrılır; kısa tutulmalı, DB işi yapmamalı.
+     * tables küçük harfli tablo adlarıdır; boşsa iş tablolarını bildirmemiştir (her tablo değişmiş sayılmalı).
+     */
+    @FunctionalInterface
+    public interface TableListener {
+        void onTablesChanged(@NonNull Set<String> tables);
+    }
+
     @FunctionalInterface
     public interface DbWork<T> {
         @NonNull
@@ -0,0 +1,140 @@
+package lib.persistence;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lib.persistence.command.query.Select;
+
+/**
+ * Canlı sorgu: Select'in tablolarından birine yazma bitince sorgu yeniden çalışır, sonuç gözlemcilere iletilir.
+ * - Yeniden çalıştırmalar birleştirilir: bir kare (coalesceMs) içindeki tüm yazmalar için tek sorgu
+ * - Sorgu sürerken yeni yazma gelirse sonuç gelince bir kez daha çalışır (aradaki her yazma için değil)
+ * - Son gözlemci çıkınca tablo dinleyicisi bırakılır, bekleyen çalıştırma ve yürüyen sorgu iptal edilir
+ * Gözlemciler ana thread'de çağrılır; addObserver/removeObserver/close ana thread'den yapılmalı.
+ * Örnek almak için: {@link GenericRepository#observe(Select, Observer)}
+ */
+public final class LiveQuery<T> {
+    /** Varsayılan birleştirme penceresi: bir kare (~60 Hz) */
+    public static final long DEFAULT_COALESCE_MS = 16;
+
+    /** Sonuç olayları (ana thread). */
+    public interface Observer<T> {
+        void onChanged(@NonNull List<T> items);
+
+        default void onError(@NonNull DbResult<ArrayList<T>> error) {}
+    }
+
+    private final GenericRepository<T> repository;
+    private final Select<T> select;
+    private final IDbContext dbContext;
+    private final Set<String> tables = new HashSet<>();       // küçük harfli
+    private final long coalesceMs;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final CopyOnWriteArrayList<Observer<T>> observers = new CopyOnWriteArrayList<>();
+    private final IDbContext.TableListener tableListener = this::onTablesChanged;
+    private final Runnable runQuery = this::runQuery;
+
+    // Yazma thread'i set eder, ana thread temizler: bir kare içindeki yazmalar tek post'a iner
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private DbOperation<ArrayList<T>> running;     // okuma havuzundaki sorgu
+    private boolean dirty;       // sorgu sürerken yazma geldi
+    private boolean active;
+    private List<T> last;
+    private int runCount;
+
+    LiveQuery(GenericRepository<T> repository, IDbContext dbContext, Select<T> select, long coalesceMs) {
+        this.repository = repository;
+        this.dbContext = dbContext;
+        this.select = select;
+        this.coalesceMs = Math.max(0, coalesceMs);
+        for (String t : select.getTables()) tables.add(t.toLowerCase(Locale.ROOT));
+    }
+
+    /** Gözlemci ekler; ilk gözlemcide sorgu başlar, sonraki gözlemcilere son sonuç hemen iletilir. */
+    public LiveQuery<T> addObserver(@NonNull Observer<T> observer) {
+        observers.addIfAbsent(observer);
+        if (!active) {
+            active = true;
+            dbContext.addTableListener(tableListener);
+            runQuery();
+        } else if (last != null) {
+            observer.onChanged(last);
+        }
+        return this;
+    }
+
+    /** Gözlemciyi çıkarır; kimse kalmazsa sorgu iptal edilir (tekrar addObserver ile başlar). */
+    public void removeObserver(@NonNull Observer<T> observer) {
+        observers.remove(observer);
+        if (observers.isEmpty()) stop();
+    }
+
+    /** Tüm gözlemcileri çıkarır ve sorguyu iptal eder. */
+    public void close() {
+        observers.clear();
+        stop();
+    }
+
+    public boolean isActive() { return active; }
+
+    /** Şimdiye kadar çalıştırılan sorgu sayısı (birleştirme ölçümü için). */
+    public int getRunCount() { return runCount; }
+
+    private void stop() {
+        if (!active) return;
+        active = false;
+        dbContext.removeTableListener(tableListener);
+        mainHandler.removeCallbacks(runQuery);
+        scheduled.set(false);
+        if (running != null) {
+            running.cancel();   // kuyruktaysa çalışmaz, yürüyorsa kesilir; callback gelmez
+            running = null;
+        }
+        dirty = false;
+        last = null;
+    }
+
+    // Yazma thread'i: ilgili tablo değiştiyse (ya da tablolar bilinmiyorsa) bir sonraki kareye tek çalıştırma
+    private void onTablesChanged(Set<String> changed) {
+        if (!changed.isEmpty()) {
+            boolean hit = false;
+            for (String t : changed) {
+                if (tables.contains(t)) { hit = true; break; }
+            }
+            if (!hit) return;
+        }
+        if (scheduled.compareAndSet(false, true)) mainHandler.postDelayed(runQuery, coalesceMs);
+    }
+
+    // Ana thread
+    private void runQuery() {
+        scheduled.set(false);
+        if (!active) return;
+        if (running != null) { dirty = true; return; }
+        runCount++;
+        running = repository.selectAs(select, res -> {
+            running = null;
+            if (!active) return;
+            if (res.isSuccess()) {
+                last = res.getData();
+                for (Observer<T> o : observers) o.onChanged(last);
+            } else {
+                for (Observer<T> o : observers) o.onError(res);
+            }
+            if (dirty) {
+                dirty = false;
+                runQuery();
+            }
+        });
+    }
+}
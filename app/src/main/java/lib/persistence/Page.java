@@ -0,0 +1,26 @@
+package lib.persistence;
+
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+import lib.persistence.command.query.PageToken;
+
+/** Keyset sayfalama sonucu: sayfa satırları ve (varsa) sonraki sayfanın anahtarı. */
+public final class Page<T> {
+    private final List<T> items;
+    private final PageToken next;
+
+    public Page(List<T> items, @Nullable PageToken next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<T> getItems() { return items; }
+
+    /** Sonraki sayfa için {@link GenericRepository#selectPage} çağrısına verilecek anahtar; son sayfada null. */
+    @Nullable
+    public PageToken getNext() { return next; }
+
+    public boolean hasMore() { return next != null; }
+}
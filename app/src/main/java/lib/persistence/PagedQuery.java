@@ -0,0 +1,143 @@
+package lib.persistence;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lib.persistence.command.query.PageToken;
+import lib.persistence.command.query.Select;
+
+/**
+ * Bir Select üzerinde sınırlı pencereli, keyset tabanlı sayfalı okuma (liste/RecyclerView için).
+ * - Bellekte en fazla maxPages sayfa tutulur; son erişilen sayfadan en uzak olanlar düşürülür
+ * - Okunan konum yüklü son satıra prefetchDistance kadar yaklaşınca sonraki sayfa okuma havuzunda yüklenir
+ * - Düşürülen sayfa tekrar istenirse başlangıç anahtarıyla (PageToken) yeniden yüklenir
+ * Tüm çağrılar ana thread'den yapılmalı (dinleyici de ana thread'de çağrılır).
+ * Örnek almak için: {@link GenericRepository#paged(Select, int, int, Listener)}
+ */
+public final class PagedQuery<T> {
+
+    /** Sayfa olayları (ana thread). */
+    public interface Listener<T> {
+        void onPageLoaded(int page, @NonNull List<T> items);
+
+        /** Pencere dışına çıkan sayfa bellekten atıldı. */
+        default void onPageDropped(int page) {}
+
+        default void onError(int page, @NonNull DbResult<Page<T>> error) {}
+    }
+
+    private final GenericRepository<T> repository;
+    private final Select<T> select;
+    private final int pageSize;
+    private final int maxPages;
+    private final int prefetchDistance;
+    private final Listener<T> listener;
+
+    private final ArrayList<PageToken> starts = new ArrayList<>(); // sayfa i'nin başlangıç anahtarı (0 → null)
+    private final Map<Integer, List<T>> pages = new HashMap<>();
+    private final HashMap<Integer, DbOperation<Page<T>>> loading = new HashMap<>(); // sayfa → yürüyen okuma
+    private int knownCount;      // yüklenmiş en son sayfaya kadarki satır sayısı
+    private boolean endReached;
+    private int lastAccessedPage;
+    private boolean closed;
+
+    PagedQuery(GenericRepository<T> repository, Select<T> select, int pageSize, int maxPages,
+               int prefetchDistance, @Nullable Listener<T> listener) {
+        if (pageSize <= 0) throw new IllegalArgumentException("pageSize > 0 olmalı");
+        if (maxPages < 2) throw new IllegalArgumentException("maxPages >= 2 olmalı");
+        this.repository = repository;
+        this.select = select;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.prefetchDistance = Math.max(0, Math.min(prefetchDistance, pageSize));
+        this.listener = listener;
+        starts.add(null);
+    }
+
+    /** İlk sayfayı yükler. */
+    public PagedQuery<T> start() {
+        load(0);
+        return this;
+    }
+
+    /**
+     * position'daki satır; sayfası bellekte değilse null döner ve sayfa yüklenir (onPageLoaded ile haber verilir).
+     * Sona yaklaşıldığında sonraki sayfa önceden yüklenir.
+     */
+    @Nullable
+    public T get(int position) {
+        if (position < 0) throw new IndexOutOfBoundsException("position: " + position);
+        int page = position / pageSize;
+        lastAccessedPage = page;
+
+        List<T> items = pages.get(page);
+        if (items == null) load(page);
+
+        if (!endReached && position >= knownCount - prefetchDistance) load(starts.size() - 1);
+
+        int idx = position - page * pageSize;
+        return (items == null || idx >= items.size()) ? null : items.get(idx);
+    }
+
+    /** Şimdiye kadar bilinen satır sayısı (son sayfaya ulaşıldıysa toplam). */
+    public int getKnownCount() { return knownCount; }
+
+    public boolean isEndReached() { return endReached; }
+
+    public boolean isLoading() { return !loading.isEmpty(); }
+
+    /** Bellekteki sayfa numaraları. */
+    public List<Integer> getLoadedPages() { return new ArrayList<>(pages.keySet()); }
+
+    /** Yürüyen okumalar iptal edilir (kuyruktakiler çalışmaz), sayfalar bırakılır. */
+    public void close() {
+        closed = true;
+        pages.clear();
+        for (DbOperation<Page<T>> op : loading.values()) op.cancel();
+        loading.clear();
+    }
+
+    private void load(int page) {
+        // Başlangıç anahtarı bilinmeyen sayfa (önceki sayfası hiç yüklenmemiş) henüz istenemez
+        if (closed || page >= starts.size() || pages.containsKey(page) || loading.containsKey(page)) return;
+
+        DbOperation<Page<T>> op = repository.selectPage(select, pageSize, starts.get(page), res -> {
+            loading.remove(page);
+            if (closed) return;
+            if (!res.isSuccess()) {
+                if (listener != null) listener.onError(page, res);
+                return;
+            }
+
+            Page<T> p = res.getData();
+            pages.put(page, p.getItems());
+            if (page == starts.size() - 1) {
+                knownCount = page * pageSize + p.getItems().size();
+                if (p.hasMore()) starts.add(p.getNext()); else endReached = true;
+            }
+            trim(page);
+            if (listener != null) listener.onPageLoaded(page, p.getItems());
+        });
+        loading.put(page, op); // sonuç ana thread'e post edilir: callback'ten önce kaydedilir
+    }
+
+    // Pencere: son erişilen sayfaya en uzak sayfalar atılır (yeni yüklenen korunur)
+    private void trim(int justLoaded) {
+        while (pages.size() > maxPages) {
+            int victim = -1, worst = -1;
+            for (int p : pages.keySet()) {
+                if (p == justLoaded) continue;
+                int d = Math.abs(p - lastAccessedPage);
+                if (d > worst) { worst = d; victim = p; }
+            }
+            if (victim < 0) return;
+            pages.remove(victim);
+            if (listener != null) listener.onPageDropped(victim);
+        }
+    }
+}
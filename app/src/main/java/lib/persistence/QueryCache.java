@@ -0,0 +1,250 @@
+// lib/persistence/QueryCache.java
+package lib.persistence;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import lib.persistence.profile.EntityPlan;
+import lib.persistence.profile.Mapper;
+
+/**
+ * SELECT sonuçları için (satır tipi + SQL + argümanlar) anahtarlı LRU önbellek.
+ * - Her kayıt okuduğu tablolarla etiketlenir; o tablolara yazılınca (yazma işi bitince) kayıt düşer
+ * - Sınır hem kayıt sayısı hem tahmini bellek (bayt) ile; aşılınca en az kullanılan kayıtlar çıkarılır
+ * - Okuma sürerken tablosu değişen sonuç önbelleğe yazılmaz ({@link #stamp()} ile)
+ * Değerler paylaşılır: önbellekten dönen entity'ler değiştirilmemelidir.
+ * ADbContext tutar ({@link IDbContext#getQueryCache()}); thread-safe.
+ */
+public final class QueryCache {
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries;
+    // tablo → son geçersizleştirme anındaki sayaç (okuma başındaki stamp ile karşılaştırılır)
+    private final HashMap<String, Long> invalidatedAt = new HashMap<>();
+    private long allInvalidatedAt;     // invalidateAll() anındaki sayaç
+    private long clock;
+    private long bytes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public QueryCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1) throw new IllegalArgumentException("maxEntries >= 1 olmalı");
+        if (maxBytes < 1) throw new IllegalArgumentException("maxBytes >= 1 olmalı");
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true); // erişim sırası → LRU
+    }
+
+    /** Okuma başlamadan alınır; {@link #put} bu andan sonra tablosu değişmiş sonucu reddeder. */
+    public synchronized long stamp() { return clock; }
+
+    /** Önbellekteki sonuç; yoksa null. */
+    @Nullable
+    public Object get(@NonNull String sql, @NonNull String[] args) {
+        return get(null, sql, args);
+    }
+
+    /** rowType: sonuç satırlarının tipi; aynı SQL'in farklı tiplere eşlenen sonuçları ayrı tutulur. */
+    @Nullable
+    public synchronized Object get(@Nullable Class<?> rowType, @NonNull String sql, @NonNull String[] args) {
+        Entry e = entries.get(new Key(rowType, sql, args));
+        if (e == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return e.value;
+    }
+
+    /**
+     * Sonucu tables etiketiyle ekler. stamp'ten sonra tablolardan biri geçersizleştirildiyse eklemez.
+     * @param estimatedBytes sonucun tahmini boyutu (bkz. {@link #estimateBytes(List)})
+     */
+    public void put(@NonNull String sql, @NonNull String[] args, @NonNull String[] tables,
+                    @NonNull Object value, long estimatedBytes, long stamp) {
+        put(null, sql, args, tables, value, estimatedBytes, stamp);
+    }
+
+    /** rowType ile anahtarlanan ekleme (bkz. {@link #get(Class, String, String[])}). */
+    public synchronized void put(@Nullable Class<?> rowType, @NonNull String sql, @NonNull String[] args,
+                                 @NonNull String[] tables, @NonNull Object value, long estimatedBytes, long stamp) {
+        if (allInvalidatedAt > stamp) return;
+        String[] tags = new String[tables.length];
+        for (int i = 0; i < tables.length; i++) {
+            tags[i] = normalize(tables[i]);
+            Long at = invalidatedAt.get(tags[i]);
+            if (at != null && at > stamp) return; // okuma sırasında yazıldı → eski olabilir
+        }
+
+        Key key = new Key(rowType, sql, args);
+        long size = estimatedBytes + key.bytes();
+        if (size > maxBytes) return;
+
+        Entry old = entries.put(key, new Entry(tags, value, size));
+        if (old != null) bytes -= old.bytes;
+        bytes += size;
+
+        Iterator<Entry> it = entries.values().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            bytes -= eldest.bytes;
+            evictions++;
+        }
+    }
+
+    /** tables'tan birini okuyan tüm kayıtları düşürür. */
+    public synchronized void invalidate(@NonNull Iterable<String> tables) {
+        clock++;
+        ArrayList<String> tags = new ArrayList<>();
+        for (String t : tables) {
+            String tag = normalize(t);
+            invalidatedAt.put(tag, clock);
+            tags.add(tag);
+        }
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry e = it.next();
+            for (String tag : e.tables) {
+                if (tags.contains(tag)) {
+                    it.remove();
+                    bytes -= e.bytes;
+                    invalidations++;
+                    break;
+                }
+            }
+        }
+    }
+
+    /** Tüm kayıtları düşürür (yazdığı tablolar bilinmeyen yazma işleri için). */
+    public synchronized void invalidateAll() {
+        allInvalidatedAt = ++clock; // okuması sürenlerin put'u reddedilir
+        invalidations += entries.size();
+        entries.clear();
+        bytes = 0;
+    }
+
+    /** Önbelleği boşaltır (metrikler korunur). */
+    public synchronized void clear() {
+        invalidateAll();
+    }
+
+    private static String normalize(String table) {
+        return table.toLowerCase(Locale.ROOT); // SQLite tablo adları büyük/küçük harf duyarsız
+    }
+
+    // --- Boyut tahmini ---
+
+    /**
+     * Liste sonucunun tahmini boyutu: ilk birkaç satır ölçülür, tümüne oranlanır.
+     * Entity/DTO satırlarında kolon alanları (String uzunlukları dahil) okunur; diğer nesneler sabit sayılır.
+     */
+    public static long estimateBytes(@NonNull List<?> rows) {
+        int n = rows.size();
+        long sum = 0;
+        int sampled = Math.min(n, 8);
+        for (int r = 0; r < sampled; r++) sum += estimateObject(rows.get(r * n / sampled));
+        return 64 + 8L * n + (sampled == 0 ? 0 : sum * n / sampled);
+    }
+
+    // Alan değeri: sadece String/byte[] ölçülür, diğerleri sabit
+    private static long estimateValue(Object v) {
+        if (v == null) return 0;
+        if (v instanceof String) return 40 + 2L * ((String) v).length();
+        if (v instanceof byte[]) return 16 + ((byte[]) v).length;
+        return 16;
+    }
+
+    private static long estimateObject(Object o) {
+        if (o == null || o instanceof String || o instanceof byte[] || o instanceof Number || o instanceof Boolean)
+            return estimateValue(o);
+        try {
+            EntityPlan<?> plan = Mapper.getPlan(o.getClass());
+            if (plan.size() == 0) return 64;
+            long size = 16;
+            for (int i = 0; i < plan.size(); i++) {
+                size += plan.isPrimitive(i) ? 8 : 8 + estimateValue(plan.getFieldValue(o, i));
+            }
+            return size;
+        } catch (Exception e) {
+            return 64;
+        }
+    }
+
+    // --- Metrikler ---
+    public synchronized long hitCount() { return hits; }
+    public synchronized long missCount() { return misses; }
+    public synchronized long evictionCount() { return evictions; }
+    public synchronized long invalidationCount() { return invalidations; }
+    public synchronized int size() { return entries.size(); }
+    public synchronized long sizeBytes() { return bytes; }
+    public int maxEntries() { return maxEntries; }
+    public long maxBytes() { return maxBytes; }
+
+    /** İsabet oranı (0..1); henüz istek yoksa 0. */
+    public synchronized double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0d : (double) hits / total;
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        return "QueryCache{size=" + entries.size() + "/" + maxEntries + ", bytes=" + bytes + "/" + maxBytes
+                + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                + ", invalidations=" + invalidations + ", hitRate=" + (int) (hitRate() * 100) + "%}";
+    }
+
+    private static final class Key {
+        final Class<?> rowType; // null olabilir
+        final String sql;
+        final String[] args;
+        final int hash;
+
+        Key(Class<?> rowType, String sql, String[] args) {
+            this.rowType = rowType;
+            this.sql = sql;
+            this.args = args.clone();
+            this.hash = 31 * (31 * Objects.hashCode(rowType) + sql.hashCode()) + Arrays.hashCode(args);
+        }
+
+        long bytes() {
+            long b = 64 + 2L * sql.length();
+            for (String a : args) b += a == null ? 8 : 40 + 2L * a.length();
+            return b;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return hash == k.hash && rowType == k.rowType && sql.equals(k.sql) && Arrays.equals(args, k.args);
+        }
+
+        @Override public int hashCode() { return hash; }
+    }
+
+    private static final class Entry {
+        final String[] tables;
+        final Object value;
+        final long bytes;
+
+        Entry(String[] tables, Object value, long bytes) {
+            this.tables = tables;
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+}
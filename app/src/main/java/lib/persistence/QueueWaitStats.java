@@ -0,0 +1,59 @@
+// lib/persistence/QueueWaitStats.java
+package lib.persistence;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Okuma kuyruğunda bekleme süresi metrikleri (öncelik başına): iş sayısı, ortalama ve en uzun bekleme.
+ * Bekleme = runDbOperation çağrısından okuma thread'inde işin başlamasına kadar geçen süre.
+ * ADbContext tutar ({@link ADbContext#getReadQueueStats()}); thread-safe.
+ */
+public final class QueueWaitStats {
+    private final long[] counts = new long[DbPriority.values().length];
+    private final long[] totalNanos = new long[counts.length];
+    private final long[] maxNanos = new long[counts.length];
+
+    synchronized void record(@NonNull DbPriority priority, long waitNanos) {
+        int p = priority.ordinal();
+        counts[p]++;
+        totalNanos[p] += waitNanos;
+        if (waitNanos > maxNanos[p]) maxNanos[p] = waitNanos;
+    }
+
+    public synchronized long count(@NonNull DbPriority priority) { return counts[priority.ordinal()]; }
+
+    /** Ortalama bekleme (ms); henüz iş yoksa 0. */
+    public synchronized double averageWaitMs(@NonNull DbPriority priority) {
+        int p = priority.ordinal();
+        return counts[p] == 0 ? 0d : totalNanos[p] / (double) counts[p] / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public synchronized double maxWaitMs(@NonNull DbPriority priority) {
+        return maxNanos[priority.ordinal()] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /** Sayaçları sıfırlar (örn. ölçüm penceresi başında). */
+    public synchronized void reset() {
+        for (int p = 0; p < counts.length; p++) {
+            counts[p] = 0;
+            totalNanos[p] = 0;
+            maxNanos[p] = 0;
+        }
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder("QueueWaitStats{");
+        for (DbPriority p : DbPriority.values()) {
+            if (p.ordinal() > 0) sb.append(", ");
+            sb.append(p.name().toLowerCase(Locale.ROOT)).append("=").append(counts[p.ordinal()])
+                    .append(" avg=").append(String.format(Locale.ROOT, "%.2f", averageWaitMs(p))).append("ms")
+                    .append(" max=").append(String.format(Locale.ROOT, "%.2f", maxWaitMs(p))).append("ms");
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,327 @@
+// lib/persistence/ResultTable.java
+package lib.persistence;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Ham sorgu sonucu için sütunsal (kolon başına dizi) tablo.
+ * - Her kolon tek bir dizide tutulur: INTEGER → long[], FLOAT → double[], TEXT → String[], BLOB → byte[][]
+ * - NULL'lar kolon başına bit haritasında tutulur (satır başına nesne/HashMap yok, sayılar String'e çevrilmez)
+ * - Kolon tipi ilk NULL olmayan hücrenin Cursor.getType değeridir; aynı kolonda INTEGER ve FLOAT karışırsa
+ *   kolon FLOAT'a, TEXT ile karışırsa TEXT'e yükseltilir (SQLite dinamik tiplidir). BLOB başka bir tiple
+ *   karışırsa kolon {@link #FIELD_TYPE_OBJECT} olur: hücreler kutulu (Long/Double/String/byte[]) tutulur
+ * Değişmezdir; okuma havuzunda kurulur, herhangi bir thread'den okunabilir.
+ */
+public final class ResultTable {
+
+    /** BLOB ile başka tiplerin karıştığı kolonun tipi (Cursor.FIELD_TYPE_* değerleriyle çakışmaz). */
+    public static final int FIELD_TYPE_OBJECT = 100;
+
+    private final String[] names;
+    private final int[] types;       // Cursor.FIELD_TYPE_* ya da FIELD_TYPE_OBJECT; tamamı NULL olan kolon FIELD_TYPE_NULL
+    private final Object[] data;     // long[] | double[] | String[] | byte[][] | Object[] | null
+    private final long[][] nulls;    // bit (row) = 1 → NULL
+    private final int rowCount;
+
+    private ResultTable(String[] names, int[] types, Object[] data, long[][] nulls, int rowCount) {
+        this.names = names;
+        this.types = types;
+        this.data = data;
+        this.nulls = nulls;
+        this.rowCount = rowCount;
+    }
+
+    /** Cursor'ı baştan sona okur (cursor'ı kapatmaz). Kolon index'leri bir kez alınır. */
+    @NonNull
+    public static ResultTable read(@NonNull Cursor c) {
+        String[] names = c.getColumnNames();
+        int n = names.length;
+        int capacity = Math.max(16, c.getCount());
+
+        int[] types = new int[n];
+        Object[] data = new Object[n];
+        long[][] nulls = new long[n][];
+        for (int i = 0; i < n; i++) nulls[i] = new long[(capacity + 63) >>> 6];
+
+        int row = 0;
+        while (c.moveToNext()) {
+            if (row == capacity) {
+                capacity = capacity + (capacity >> 1);
+                for (int i = 0; i < n; i++) {
+                    data[i] = grow(data[i], capacity);
+                    nulls[i] = Arrays.copyOf(nulls[i], (capacity + 63) >>> 6);
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                int cellType = c.getType(i);
+                if (cellType == Cursor.FIELD_TYPE_NULL) {
+                    nulls[i][row >>> 6] |= 1L << row;
+                    continue;
+                }
+                if (types[i] != cellType) {
+                    if (types[i] == Cursor.FIELD_TYPE_NULL) {
+                        types[i] = cellType;
+                        data[i] = newColumn(cellType, capacity);
+                    } else if (types[i] != FIELD_TYPE_OBJECT
+                            && !(types[i] == Cursor.FIELD_TYPE_FLOAT && cellType == Cursor.FIELD_TYPE_INTEGER)
+                            && !(types[i] == Cursor.FIELD_TYPE_STRING && cellType != Cursor.FIELD_TYPE_BLOB)) {
+                        int to = widen(types[i], cellType);
+                        data[i] = convert(data[i], types[i], to, nulls[i], row, capacity);
+                        types[i] = to;
+                    }
+                }
+                switch (types[i]) {
+                    case Cursor.FIELD_TYPE_INTEGER: ((long[]) data[i])[row] = c.getLong(i); break;
+                    case Cursor.FIELD_TYPE_FLOAT:   ((double[]) data[i])[row] = c.getDouble(i); break;
+                    case Cursor.FIELD_TYPE_STRING:  ((String[]) data[i])[row] = c.getString(i); break;
+                    case Cursor.FIELD_TYPE_BLOB:    ((byte[][]) data[i])[row] = c.getBlob(i); break;
+                    default:                        ((Object[]) data[i])[row] = cellValue(c, i, cellType); break;
+                }
+            }
+            row++;
+        }
+
+        // Fazla kapasite bırakılmaz: kolon dizileri tam rowCount uzunluğunda
+        for (int i = 0; i < n; i++) {
+            if (data[i] != null) data[i] = grow(data[i], row);
+            nulls[i] = Arrays.copyOf(nulls[i], (row + 63) >>> 6);
+        }
+        return new ResultTable(names, types, data, nulls, row);
+    }
+
+    private static Object newColumn(int type, int capacity) {
+        switch (type) {
+            case Cursor.FIELD_TYPE_INTEGER: return new long[capacity];
+            case Cursor.FIELD_TYPE_FLOAT:   return new double[capacity];
+            case Cursor.FIELD_TYPE_STRING:  return new String[capacity];
+            case Cursor.FIELD_TYPE_BLOB:    return new byte[capacity][];
+            default:                        return new Object[capacity];
+        }
+    }
+
+    // FIELD_TYPE_OBJECT kolonunun hücresi: kutulu değer
+    private static Object cellValue(Cursor c, int i, int cellType) {
+        switch (cellType) {
+            case Cursor.FIELD_TYPE_INTEGER: return c.getLong(i);
+            case Cursor.FIELD_TYPE_FLOAT:   return c.getDouble(i);
+            case Cursor.FIELD_TYPE_STRING:  return c.getString(i);
+            default:                        return c.getBlob(i);
+        }
+    }
+
+    private static Object grow(Object column, int length) {
+        if (column instanceof long[]) return Arrays.copyOf((long[]) column, length);
+        if (column instanceof double[]) return Arrays.copyOf((double[]) column, length);
+        if (column instanceof String[]) return Arrays.copyOf((String[]) column, length);
+        if (column instanceof byte[][]) return Arrays.copyOf((byte[][]) column, length);
+        if (column instanceof Object[]) return Arrays.copyOf((Object[]) column, length);
+        return column; // henüz tipi belli olmayan (tamamı NULL) kolon
+    }
+
+    // Karışık tipli kolon için ortak tip: INTEGER+FLOAT → FLOAT, sayı+TEXT → TEXT, BLOB+diğer → OBJECT
+    private static int widen(int current, int cell) {
+        if (current == Cursor.FIELD_TYPE_BLOB || cell == Cursor.FIELD_TYPE_BLOB) return FIELD_TYPE_OBJECT;
+        if (current == Cursor.FIELD_TYPE_STRING || cell == Cursor.FIELD_TYPE_STRING) return Cursor.FIELD_TYPE_STRING;
+        return Cursor.FIELD_TYPE_FLOAT;
+    }
+
+    // Şimdiye kadar okunan rows satırı yeni tipe taşır (NULL hücreler atlanır)
+    private static Object convert(Object column, int from, int to, long[] nullBits, int rows, int capacity) {
+        if (to == FIELD_TYPE_OBJECT) {
+            Object[] dst = new Object[capacity];
+            for (int r = 0; r < rows; r++) {
+                if (isSet(nullBits, r)) continue;
+                switch (from) {
+                    case Cursor.FIELD_TYPE_INTEGER: dst[r] = ((long[]) column)[r]; break;
+                    case Cursor.FIELD_TYPE_FLOAT:   dst[r] = ((double[]) column)[r]; break;
+                    default:                        dst[r] = ((Object[]) column)[r]; break; // String[] / byte[][]
+                }
+            }
+            return dst;
+        }
+        if (to == Cursor.FIELD_TYPE_FLOAT) {
+            long[] src = (long[]) column;
+            double[] dst = new double[capacity];
+            for (int r = 0; r < rows; r++) dst[r] = src[r];
+            return dst;
+        }
+        String[] dst = new String[capacity];
+        for (int r = 0; r < rows; r++) {
+            if (isSet(nullBits, r)) continue;
+            dst[r] = from == Cursor.FIELD_TYPE_INTEGER
+                    ? Long.toString(((long[]) column)[r])
+                    : Double.toString(((double[]) column)[r]);
+        }
+        return dst;
+    }
+
+    private static boolean isSet(long[] bits, int row) {
+        return (bits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    // --- Şema ---
+    public int getRowCount() { return rowCount; }
+    public int getColumnCount() { return names.length; }
+
+    @NonNull
+    public String getColumnName(int column) { return names[column]; }
+
+    @NonNull
+    public String[] getColumnNames() { return names.clone(); }
+
+    /** Kolon index'i (büyük/küçük harf duyarsız); yoksa -1. Döngü dışında bir kez çağırın. */
+    public int getColumnIndex(@NonNull String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equalsIgnoreCase(name)) return i;
+        }
+        return -1;
+    }
+
+    public int getColumnIndexOrThrow(@NonNull String name) {
+        int i = getColumnIndex(name);
+        if (i < 0) throw new IllegalArgumentException("Kolon bulunamadı: " + name);
+        return i;
+    }
+
+    /**
+     * Kolonun saklama tipi: Cursor.FIELD_TYPE_INTEGER/FLOAT/STRING/BLOB, BLOB karışıksa {@link #FIELD_TYPE_OBJECT};
+     * tamamı NULL ise FIELD_TYPE_NULL.
+     */
+    public int getType(int column) { return types[column]; }
+
+    // --- Hücreler (index ile) ---
+    public boolean isNull(int row, int column) {
+        checkRow(row);
+        return isSet(nulls[column], row);
+    }
+
+    /**
+     * NULL → 0; FLOAT kesilir, TEXT ayrıştırılır (önce tam sayı olarak — 2^53 üstü hassasiyet kaybolmaz —,
+     * değilse ondalık olarak; sayı değilse 0, Cursor.getLong gibi).
+     */
+    public long getLong(int row, int column) {
+        if (isNull(row, column)) return 0L;
+        switch (types[column]) {
+            case Cursor.FIELD_TYPE_INTEGER: return ((long[]) data[column])[row];
+            case Cursor.FIELD_TYPE_FLOAT:   return (long) ((double[]) data[column])[row];
+            case Cursor.FIELD_TYPE_STRING:  return parseLong(((String[]) data[column])[row]);
+            case FIELD_TYPE_OBJECT: {
+                Object v = ((Object[]) data[column])[row];
+                if (v instanceof Number) return ((Number) v).longValue();
+                if (v instanceof String) return parseLong((String) v);
+            }
+            // fall through: BLOB hücre
+            default: throw new IllegalStateException("BLOB kolonu sayı olarak okunamaz: " + names[column]);
+        }
+    }
+
+    public int getInt(int row, int column) { return (int) getLong(row, column); }
+
+    /** NULL → 0.0 */
+    public double getDouble(int row, int column) {
+        if (isNull(row, column)) return 0d;
+        switch (types[column]) {
+            case Cursor.FIELD_TYPE_INTEGER: return ((long[]) data[column])[row];
+            case Cursor.FIELD_TYPE_FLOAT:   return ((double[]) data[column])[row];
+            case Cursor.FIELD_TYPE_STRING:  return parseDouble(((String[]) data[column])[row]);
+            case FIELD_TYPE_OBJECT: {
+                Object v = ((Object[]) data[column])[row];
+                if (v instanceof Number) return ((Number) v).doubleValue();
+                if (v instanceof String) return parseDouble((String) v);
+            }
+            // fall through: BLOB hücre
+            default: throw new IllegalStateException("BLOB kolonu sayı olarak okunamaz: " + names[column]);
+        }
+    }
+
+    /** NULL → null; sayılar sadece bu çağrıda String'e çevrilir. */
+    @Nullable
+    public String getString(int row, int column) {
+        if (isNull(row, column)) return null;
+        switch (types[column]) {
+            case Cursor.FIELD_TYPE_INTEGER: return Long.toString(((long[]) data[column])[row]);
+            case Cursor.FIELD_TYPE_FLOAT:   return Double.toString(((double[]) data[column])[row]);
+            case Cursor.FIELD_TYPE_STRING:  return ((String[]) data[column])[row];
+            case FIELD_TYPE_OBJECT: {
+                Object v = ((Object[]) data[column])[row];
+                if (!(v instanceof byte[])) return v.toString();
+            }
+            // fall through: BLOB hücre
+            default: throw new IllegalStateException("BLOB kolonu metin olarak okunamaz: " + names[column]);
+        }
+    }
+
+    @Nullable
+    public byte[] getBlob(int row, int column) {
+        if (isNull(row, column)) return null;
+        if (types[column] == FIELD_TYPE_OBJECT && ((Object[]) data[column])[row] instanceof byte[])
+            return (byte[]) ((Object[]) data[column])[row];
+        if (types[column] != Cursor.FIELD_TYPE_BLOB)
+            throw new IllegalStateException("BLOB olmayan kolon: " + names[column]);
+        return ((byte[][]) data[column])[row];
+    }
+
+    /** Hücrenin kutulu değeri (Long/Double/String/byte[]); NULL → null. Karışık (OBJECT) kolonlar için. */
+    @Nullable
+    public Object getObject(int row, int column) {
+        if (isNull(row, column)) return null;
+        switch (types[column]) {
+            case Cursor.FIELD_TYPE_INTEGER: return ((long[]) data[column])[row];
+            case Cursor.FIELD_TYPE_FLOAT:   return ((double[]) data[column])[row];
+            default:                        return ((Object[]) data[column])[row];
+        }
+    }
+
+    // --- Hücreler (ad ile; her çağrıda ad aranır, döngülerde index tercih edin) ---
+    public boolean isNull(int row, @NonNull String column) { return isNull(row, getColumnIndexOrThrow(column)); }
+    public long getLong(int row, @NonNull String column) { return getLong(row, getColumnIndexOrThrow(column)); }
+    public int getInt(int row, @NonNull String column) { return getInt(row, getColumnIndexOrThrow(column)); }
+    public double getDouble(int row, @NonNull String column) { return getDouble(row, getColumnIndexOrThrow(column)); }
+    @Nullable public String getString(int row, @NonNull String column) { return getString(row, getColumnIndexOrThrow(column)); }
+    @Nullable public byte[] getBlob(int row, @NonNull String column) { return getBlob(row, getColumnIndexOrThrow(column)); }
+
+    // --- Kolon dizileri (kopyasız; uzunluk getRowCount(), NULL hücreler 0/null). Değiştirmeyin. ---
+
+    /** INTEGER kolonun ham dizisi; kolon INTEGER değilse IllegalStateException. */
+    @NonNull
+    public long[] getLongColumn(int column) { return (long[]) column(column, Cursor.FIELD_TYPE_INTEGER); }
+
+    @NonNull
+    public double[] getDoubleColumn(int column) { return (double[]) column(column, Cursor.FIELD_TYPE_FLOAT); }
+
+    @NonNull
+    public String[] getStringColumn(int column) { return (String[]) column(column, Cursor.FIELD_TYPE_STRING); }
+
+    private Object column(int column, int expected) {
+        if (types[column] != expected)
+            throw new IllegalStateException("Kolon tipi uyuşmuyor: " + names[column] + " (type=" + types[column] + ")");
+        return data[column];
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) throw new IndexOutOfBoundsException("row: " + row + ", rowCount: " + rowCount);
+    }
+
+    // Tam sayı metni doğrudan (double üzerinden geçmeden); değilse ondalık ayrıştırılıp kesilir
+    private static long parseLong(String s) {
+        String t = s.trim();
+        try { return Long.parseLong(t); }
+        catch (NumberFormatException e) { return (long) parseDouble(t); }
+    }
+
+    private static double parseDouble(String s) {
+        try { return Double.parseDouble(s.trim()); }
+        catch (NumberFormatException e) { return 0d; }
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "ResultTable{rows=" + rowCount + ", columns=" + Arrays.toString(names) + "}";
+    }
+}
@@ -4,7 +4,11 @@ public final class SqlNames {
     private SqlNames() {}
     public static String qId(String id) {
         String s = id.trim();
-        if (s.contains("(") || s.contains(" ") || s.contains("`") || s.contains("\"")) return s;
+        // Tek geçişte: ham ifade / zaten kaçışlı ise olduğu gibi
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char ch = s.charAt(i);
+            if (ch == '(' || ch == ' ' || ch == '`' || ch == '"') return s;
+        }
         return "`" + s + "`";
     }
     public static String qCol(String col) {
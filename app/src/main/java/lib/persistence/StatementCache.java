@@ -0,0 +1,100 @@
+// lib/persistence/StatementCache.java
+package lib.persistence;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tek bir bağlantı (SQLiteDatabase) için SQL metnine göre anahtarlanmış LRU derlenmiş ifade önbelleği.
+ * - Aynı SQL ikinci kez derlenmez; sınır aşılınca en az kullanılan ifade çıkarılır
+ * - Çıkarılan ifadeler hemen kapatılmaz: o an çalışan iş hâlâ kullanıyor olabilir,
+ *   {@link #releaseEvicted()} (iş bitince) kapatır
+ * - Bağlantı değişirse (yeniden açılma) tüm ifadeler kapatılıp önbellek sıfırlanır
+ * ADbContext yazma thread'i için tutar; ifadeler thread-safe değildir.
+ */
+public final class StatementCache {
+    private final int maxSize;
+    private final LinkedHashMap<String, SQLiteStatement> statements;
+    private final ArrayList<SQLiteStatement> evicted = new ArrayList<>();
+    private SQLiteDatabase db;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public StatementCache(int maxSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize >= 1 olmalı");
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true); // erişim sırası → LRU
+    }
+
+    /** sql için derlenmiş ifade (önbellekten ya da yeni). Çağıran kapatmamalı; bağlamaları kendisi temizler. */
+    @NonNull
+    public synchronized SQLiteStatement acquire(@NonNull SQLiteDatabase database, @NonNull String sql) {
+        if (db != database) {
+            closeAll();
+            db = database;
+        }
+
+        SQLiteStatement st = statements.get(sql);
+        if (st != null) {
+            hits++;
+            return st;
+        }
+
+        misses++;
+        st = database.compileStatement(sql);
+        statements.put(sql, st);
+        if (statements.size() > maxSize) {
+            Iterator<Map.Entry<String, SQLiteStatement>> it = statements.entrySet().iterator();
+            evicted.add(it.next().getValue());
+            it.remove();
+            evictions++;
+        }
+        return st;
+    }
+
+    /** Çıkarılmış ifadeleri kapatır; iş (DbWork) bittikten sonra çağrılır. */
+    public synchronized void releaseEvicted() {
+        for (SQLiteStatement st : evicted) closeQuietly(st);
+        evicted.clear();
+    }
+
+    /** Tüm ifadeleri kapatır (context kapanırken). */
+    public synchronized void clear() {
+        closeAll();
+        db = null;
+    }
+
+    private void closeAll() {
+        for (SQLiteStatement st : statements.values()) closeQuietly(st);
+        statements.clear();
+        releaseEvicted();
+    }
+
+    private static void closeQuietly(SQLiteStatement st) {
+        try { st.close(); } catch (Throwable ignored) {}
+    }
+
+    // --- Metrikler ---
+    public synchronized long hitCount() { return hits; }
+    public synchronized long missCount() { return misses; }
+    public synchronized long evictionCount() { return evictions; }
+    public synchronized int size() { return statements.size(); }
+    public int maxSize() { return maxSize; }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        long total = hits + misses;
+        return "StatementCache{size=" + statements.size() + "/" + maxSize + ", hits=" + hits + ", misses=" + misses
+                + ", evictions=" + evictions + ", hitRate=" + (total == 0 ? 0 : (100 * hits / total)) + "%}";
+    }
+}
@@ -0,0 +1,103 @@
+// lib/persistence/command/manipulation/DeleteStatement.java
+package lib.persistence.command.manipulation;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+import lib.persistence.IDbContext;
+import lib.persistence.profile.EntityPlan;
+import lib.persistence.profile.Mapper;
+import lib.persistence.profile.SqlPlan;
+
+/**
+ * PK'ye göre derlenmiş DELETE: DELETE FROM `t` WHERE `pk1` = ? AND `pk2` = ?
+ * Tek kolonlu PK'lerde çok sayıda satır için {@link #deleteByKeys} IN (...) parçalarıyla siler.
+ */
+public final class DeleteStatement<T> extends EntityStatement<T> {
+
+    /** SQLite'ın varsayılan bağlı değişken sınırı (SQLITE_MAX_VARIABLE_NUMBER, eski sürümler: 999). */
+    public static final int MAX_BOUND_VARIABLES = 999;
+
+    private DeleteStatement(IDbContext context, SQLiteDatabase db, EntityPlan<T> plan, int[] columns, String sql) {
+        super(context, db, plan, columns, sql);
+    }
+
+    /** type için PK'ye göre DELETE'i db üzerinde derler. Kapatma sorumluluğu çağırandadır. */
+    public static <T> DeleteStatement<T> compile(@NonNull SQLiteDatabase db, @NonNull Class<T> type) {
+        return compile(null, db, type);
+    }
+
+    /** context null değilse ifade context'in önbelleğinden alınır. */
+    public static <T> DeleteStatement<T> compile(@Nullable IDbContext context, @NonNull SQLiteDatabase db,
+                                                 @NonNull Class<T> type) {
+        SqlPlan<T> sqlPlan = SqlPlan.of(type);
+        String sql = sqlPlan.getDeleteSql();
+        EntityPlan<T> plan = sqlPlan.getPlan();
+        return new DeleteStatement<>(context, db, plan, plan.getPrimaryKeyIndexes(), sql);
+    }
+
+    /** entity'nin PK'lerini bağlar ve çalıştırır; etkilenen satır sayısını döndürür. */
+    public int executeDelete(@NonNull T entity) {
+        bind(entity);
+        try {
+            return statement.executeUpdateDelete();
+        } finally {
+            statement.clearBindings();
+        }
+    }
+
+    /**
+     * Tek kolonlu PK değerleriyle (model tipi; converter varsa uygulanır) toplu silme.
+     * Değerler en fazla MAX_BOUND_VARIABLES'lık IN (...) parçalarına bölünür. Metinler tipin SqlPlan'ında tutulur;
+     * context varsa tam parçalar ve eksik son parça bağlantının ifade önbelleğinden gelir, yoksa burada derlenip kapatılır.
+     * @return parça başına silinen satır sayıları (sırasıyla)
+     */
+    public static int[] deleteByKeys(@Nullable IDbContext context, @NonNull SQLiteDatabase db,
+                                     @NonNull EntityPlan<?> plan, @NonNull List<?> keys) {
+        if (plan.primaryKeyCount() != 1)
+            throw new IllegalStateException("Toplu silme tek kolonlu primary key ister: " + plan.getType().getName());
+        SqlPlan<?> sqlPlan = SqlPlan.of(plan.getType());
+        int pk = plan.primaryKeyIndex(0);
+
+        int chunks = (keys.size() + MAX_BOUND_VARIABLES - 1) / MAX_BOUND_VARIABLES;
+        int[] counts = new int[chunks];
+        SQLiteStatement full = null;
+        try {
+            for (int c = 0; c < chunks; c++) {
+                int from = c * MAX_BOUND_VARIABLES;
+                int n = Math.min(MAX_BOUND_VARIABLES, keys.size() - from);
+                SQLiteStatement st;
+                if (n == MAX_BOUND_VARIABLES) {
+                    if (full == null) full = compile(context, db, sqlPlan.getDeleteInSql(n));
+                    st = full;
+                } else {
+                    st = compile(context, db, sqlPlan.getDeleteInSql(n)); // son (eksik) parça
+                }
+                try {
+                    for (int k = 0; k < n; k++) bindKey(st, k + 1, plan, pk, keys.get(from + k));
+                    counts[c] = st.executeUpdateDelete();
+                } finally {
+                    if (st == full || context != null) st.clearBindings(); else st.close();
+                }
+            }
+        } finally {
+            if (full != null && context == null) full.close();
+        }
+        return counts;
+    }
+
+    // context varsa önbellekli ifade (kapatılmaz), yoksa çağıranın kapatacağı yeni ifade
+    private static SQLiteStatement compile(@Nullable IDbContext context, SQLiteDatabase db, String sql) {
+        return context != null ? context.compiledStatement(db, sql) : db.compileStatement(sql);
+    }
+
+    private static void bindKey(SQLiteStatement st, int position, EntityPlan<?> plan, int pk, Object key) {
+        if (plan.hasConverter(pk)) Mapper.bindDbValue(st, position, plan.toDbValue(pk, key));
+        else Mapper.bindValue(st, position, plan.column(pk), key);
+    }
+}
@@ -0,0 +1,68 @@
+// lib/persistence/command/manipulation/EntityStatement.java
+package lib.persistence.command.manipulation;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import androidx.annotation.Nullable;
+
+import java.io.Closeable;
+
+import lib.persistence.IDbContext;
+
+import lib.persistence.profile.EntityPlan;
+import lib.persistence.profile.GeneratedMappers;
+import lib.persistence.profile.Mapper;
+import lib.persistence.profile.SqlPlan;
+import lib.persistence.profile.StatementBinder;
+
+/**
+ * Entity alanlarını sabit sırayla bağlayan derlenmiş ifade tabanı (Insert/Update/Delete statement'ları).
+ * - Parametre k (1 tabanlı) → plan kolonu columns[k-1]
+ * - Üretilmiş {@code <Entity>_Mapper} varsa onun bindColumn'u, yoksa plan (reflection) kullanılır
+ * - context verilirse ifade bağlantının önbelleğinden alınır (close() onu kapatmaz); yoksa burada derlenir
+ * Thread-safe değildir: derlendiği bağlantı açıkken tek thread'den (yazma thread'i) kullanılmalı.
+ */
+public abstract class EntityStatement<T> implements Closeable {
+    protected final IDbContext context;       // null → ifade bu nesneye ait
+    protected final SQLiteDatabase db;
+    protected final SQLiteStatement statement;
+    protected final EntityPlan<T> plan;
+    private final String sql;
+    private final int[] planColumns;          // bağlanacak plan index'leri (position = k + 1)
+    private final StatementBinder<T> binder;  // üretilmiş bağlayıcı; yoksa null
+    private final int[] binderColumns;        // planColumns ile aynı sırada, binder'ın kolon index'leri
+
+    protected EntityStatement(@Nullable IDbContext context, SQLiteDatabase db, EntityPlan<T> plan,
+                              int[] planColumns, String sql) {
+        this.context = context;
+        this.db = db;
+        this.plan = plan;
+        this.planColumns = planColumns;
+        this.sql = sql;
+
+        StatementBinder<T> generated = GeneratedMappers.statementBinder(plan.getType());
+        // Kolon adı eşlemesi tip başına SqlPlan'da bir kez kurulur; burada sadece index'ler okunur
+        this.binderColumns = generated == null ? null : SqlPlan.of(plan.getType()).binderColumns(planColumns);
+        this.binder = binderColumns == null ? null : generated;
+        this.statement = context != null ? context.compiledStatement(db, sql) : db.compileStatement(sql);
+    }
+
+    /** entity'nin kolonlarını ifadenin parametrelerine bağlar. */
+    protected final void bind(T entity) {
+        if (binder != null) {
+            for (int k = 0; k < binderColumns.length; k++) binder.bindColumn(entity, binderColumns[k], statement, k + 1);
+        } else {
+            for (int k = 0; k < planColumns.length; k++) Mapper.bindColumn(statement, k + 1, plan, planColumns[k], entity);
+        }
+    }
+
+    public SQLiteDatabase getDatabase() { return db; }
+    public String getSql() { return sql; }
+    public EntityPlan<T> getPlan() { return plan; }
+
+    @Override
+    public void close() {
+        if (context == null) statement.close();
+    }
+}
@@ -3,6 +3,8 @@ package lib.persistence.command.manipulation;
 
 import android.content.ContentValues;
 
+import lib.persistence.profile.EntityBinder;
+import lib.persistence.profile.GeneratedMappers;
 import lib.persistence.profile.Mapper;
 
 
@@ -20,10 +22,20 @@ public class InsertCommand {
     public static InsertCommand build(Object entity) {
         return new InsertCommand(
                 Mapper.getTableName(entity.getClass()),
-                Mapper.objectToContentValues(entity)
+                toContentValues(entity)
         );
     }
 
+    // Üretilmiş binder (<Entity>_Mapper) varsa reflection'sız yol; yoksa Mapper
+    @SuppressWarnings("unchecked")
+    private static <T> ContentValues toContentValues(T entity) {
+        EntityBinder<T> binder = GeneratedMappers.binder((Class<T>) entity.getClass());
+        if (binder == null) return Mapper.objectToContentValues(entity);
+        ContentValues cv = new ContentValues();
+        binder.bind(entity, cv);
+        return cv;
+    }
+
 
     public String getTableName() { return tableName; }
     public ContentValues getContentValues() { return contentValues; }
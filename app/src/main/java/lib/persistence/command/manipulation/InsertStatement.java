@@ -0,0 +1,56 @@
+// lib/persistence/command/manipulation/InsertStatement.java
+package lib.persistence.command.manipulation;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import lib.persistence.IDbContext;
+
+import lib.persistence.profile.EntityPlan;
+import lib.persistence.profile.SqlPlan;
+
+/**
+ * Bir entity tipi için bir kez derlenen INSERT ifadesi (ContentValues kullanmaz).
+ * - Kolon sırası sabittir: plan (ordinal) sırası, identity hariç
+ * - Değerler bindLong/bindDouble/bindString/bindBlob ile doğrudan bağlanır
+ * context ile derlenirse ifade bağlantının önbelleğinden gelir: {@link IDbContext#compiledStatement}.
+ */
+public final class InsertStatement<T> extends EntityStatement<T> {
+
+    private InsertStatement(IDbContext context, SQLiteDatabase db, EntityPlan<T> plan, int[] columns, String sql) {
+        super(context, db, plan, columns, sql);
+    }
+
+    /** type için INSERT'i db üzerinde derler. Kapatma sorumluluğu çağırandadır. */
+    public static <T> InsertStatement<T> compile(@NonNull SQLiteDatabase db, @NonNull Class<T> type) {
+        return compile(null, db, type);
+    }
+
+    /** context null değilse ifade context'in önbelleğinden alınır. */
+    public static <T> InsertStatement<T> compile(@Nullable IDbContext context, @NonNull SQLiteDatabase db,
+                                                 @NonNull Class<T> type) {
+        // Metin ve kolon sırası (identity hariç, plan sırası) tipin SqlPlan'ından
+        SqlPlan<T> sqlPlan = SqlPlan.of(type);
+        return new InsertStatement<>(context, db, sqlPlan.getPlan(), sqlPlan.getInsertColumns(), sqlPlan.getInsertSql());
+    }
+
+    /** Sabit kolon sırasıyla INSERT metni: INSERT INTO `t` (`a`, `b`) VALUES (?, ?) (bkz. SqlPlan#buildInsertSql) */
+    public static String buildSql(@NonNull EntityPlan<?> plan, @NonNull int[] columns) {
+        return SqlPlan.buildInsertSql(plan, columns);
+    }
+
+    /**
+     * entity'yi bağlar ve çalıştırır.
+     * @return üretilen rowid (identity varsa entity'ye yazmak çağıranın işi)
+     */
+    public long executeInsert(@NonNull T entity) {
+        bind(entity);
+        try {
+            return statement.executeInsert();
+        } finally {
+            statement.clearBindings(); // önceki satırın blob/string referansları tutulmasın
+        }
+    }
+}
@@ -3,15 +3,10 @@ package lib.persistence.command.manipulation;
 
 import android.content.ContentValues;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.stream.Collectors;
-
-import lib.persistence.annotations.DbConverterAnnotation;
-import lib.persistence.converters.ConverterRegistry;
-import lib.persistence.converters.TypeConverter;
 import lib.persistence.profile.DbColumn;
+import lib.persistence.profile.EntityPlan;
 import lib.persistence.profile.Mapper;
+import lib.persistence.profile.SqlPlan;
 
 public class UpdateCommand {
     private final String tableName;    // RAW (backticksiz)
@@ -52,50 +47,28 @@ public class UpdateCommand {
 
     public static UpdateCommand build(Object entity) {
         Class<?> type = entity.getClass();
-        String table = Mapper.getTableName(type);                // RAW
-        ArrayList<DbColumn> cols = Mapper.classToDbColumns(type);
-
-        ArrayList<DbColumn> pks = new ArrayList<>();
-        for (DbColumn c : cols) if (c.isPrimaryKey()) pks.add(c);
-        if (pks.isEmpty()) throw new IllegalStateException("Primary key tanımı yok: " + type.getName());
+        SqlPlan<?> sqlPlan = SqlPlan.of(type);
+        EntityPlan<?> plan = sqlPlan.getPlan();
+        String table = plan.getTableName();                      // RAW
+        if (plan.primaryKeyCount() == 0) throw new IllegalStateException("Primary key tanımı yok: " + type.getName());
 
-        // SET kısmı: converter’lı doğru ContentValues (PK'lar otomatik dahil olabilir → aşağıda gerekirse kaldırırız)
-        ContentValues cv = Mapper.objectToContentValues(entity);
-        // Güvenli tarafta kalmak için PK kolonlarını SET’ten çıkar (genelde PK update edilmez)
-        for (DbColumn pk : pks) {
-            if (cv.containsKey(pk.getColumnName())) cv.remove(pk.getColumnName());
-        }
-
-        // WHERE kısmı (PK’lar) — converter desteği ile
-        String where = pks.stream()
-                .map(c -> "`" + c.getColumnName() + "` = ?")
-                .collect(Collectors.joining(" AND "));
-        String[] args = new String[pks.size()];
+        // SET kısmı: identity ve PK kolonları hariç, converter’lı değerler (genelde PK update edilmez)
+        ContentValues cv = new ContentValues(plan.size());
+        String[] args;
         try {
-            for (int i = 0; i < pks.size(); i++) {
-                DbColumn pk = pks.get(i);
-                Field f = Mapper.findField(type, pk.getFieldName());
-                f.setAccessible(true);
-                Object v = f.get(entity);
-                if (v == null) { args[i] = null; continue; }
-                // PK alanında converter varsa DB değerine çevir
-                DbConverterAnnotation ann = f.getAnnotation(DbConverterAnnotation.class);
-                if (ann != null) {
-                    TypeConverter<?, ?> conv = ConverterRegistry.getOrCreate(ann.converter());
-                    @SuppressWarnings({"rawtypes","unchecked"})
-                    Object dbVal = ((TypeConverter) conv).toDatabaseValue(v);
-                    args[i] = (dbVal == null) ? null : String.valueOf(dbVal);
-                } else {
-                    args[i] = String.valueOf(v);
-                }
+            for (int i = 0; i < plan.size(); i++) {
+                DbColumn c = plan.column(i);
+                if (c.isIdentity() || c.isPrimaryKey()) continue;
+                Mapper.putInContentValues(cv, c, plan.getDbValue(entity, i));
             }
+            // WHERE kısmı (PK’lar) — converter desteği ile
+            args = plan.primaryKeyArgs(entity, true);
         } catch (Exception e) { throw new RuntimeException(e); }
 
-        return new UpdateCommand(table, cv, where, args); // table RAW
+        // WHERE metni önbellekli plan'dan
+        return new UpdateCommand(table, cv, sqlPlan.getPrimaryKeyWhere(), args); // table RAW
     }
 
-    private static String q(String id) { return "`" + id + "`"; }
-
     public String getTableName() { return tableName; }    // RAW
     public ContentValues getValues() { return values; }
     public String getWhereClause() { return whereClause; }
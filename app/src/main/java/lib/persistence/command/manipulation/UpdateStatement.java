@@ -0,0 +1,78 @@
+// lib/persistence/command/manipulation/UpdateStatement.java
+package lib.persistence.command.manipulation;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import lib.persistence.IDbContext;
+
+import lib.persistence.profile.EntityPlan;
+import lib.persistence.profile.Mapper;
+import lib.persistence.profile.SqlPlan;
+
+/**
+ * PK'ye göre derlenmiş UPDATE: UPDATE `t` SET `a` = ?, `b` = ? WHERE `pk` = ?
+ * SET kısmı UpdateCommand ile aynı: identity ve PK kolonları hariç tüm kolonlar (plan sırası).
+ * Toplu güncellemede tek kez derlenip her entity için yeniden bağlanır.
+ * Dirty tracking için SET kolonları verilerek de derlenebilir: {@link #compile(IDbContext, SQLiteDatabase, Class, int[])}.
+ */
+public final class UpdateStatement<T> extends EntityStatement<T> {
+
+    private UpdateStatement(IDbContext context, SQLiteDatabase db, EntityPlan<T> plan, int[] columns, String sql) {
+        super(context, db, plan, columns, sql);
+    }
+
+    /** type için UPDATE'i db üzerinde derler. Kapatma sorumluluğu çağırandadır. */
+    public static <T> UpdateStatement<T> compile(@NonNull SQLiteDatabase db, @NonNull Class<T> type) {
+        return compile(null, db, type);
+    }
+
+    /** context null değilse ifade context'in önbelleğinden alınır. */
+    public static <T> UpdateStatement<T> compile(@Nullable IDbContext context, @NonNull SQLiteDatabase db,
+                                                 @NonNull Class<T> type) {
+        // Tüm SET kolonlarıyla metin ve parametre sırası tipin SqlPlan'ından
+        SqlPlan<T> sqlPlan = SqlPlan.of(type);
+        String sql = sqlPlan.getUpdateSql();
+        return new UpdateStatement<>(context, db, sqlPlan.getPlan(), sqlPlan.getUpdateColumns(), sql);
+    }
+
+    /**
+     * Sadece setColumns (plan index'leri) için UPDATE (dirty tracking). Her kolon kümesi ayrı SQL metnidir;
+     * context ile derlenirse ifade önbelleği aynı kümeyi tekrar derlemez.
+     */
+    public static <T> UpdateStatement<T> compile(@Nullable IDbContext context, @NonNull SQLiteDatabase db,
+                                                 @NonNull Class<T> type, @NonNull int[] setColumns) {
+        EntityPlan<T> plan = Mapper.getPlan(type);
+        if (setColumns.length == 0) throw new IllegalArgumentException("En az bir kolon gerekli");
+        for (int i : setColumns) {
+            if (!SqlPlan.isSetColumn(plan.column(i)))
+                throw new IllegalArgumentException("PK/identity kolonu güncellenemez: " + plan.column(i).getColumnName());
+        }
+        return new UpdateStatement<>(context, db, plan, parameterColumns(plan, setColumns), buildSql(plan, setColumns));
+    }
+
+    // Parametreler: önce SET kolonları, sonra PK'ler
+    private static int[] parameterColumns(EntityPlan<?> plan, int[] set) {
+        int[] cols = new int[set.length + plan.primaryKeyCount()];
+        System.arraycopy(set, 0, cols, 0, set.length);
+        for (int p = 0; p < plan.primaryKeyCount(); p++) cols[set.length + p] = plan.primaryKeyIndex(p);
+        return cols;
+    }
+
+    /** UPDATE `t` SET `a` = ?, `b` = ? WHERE `pk` = ? (tipin SqlPlan'ında kolon kümesi başına tutulur) */
+    public static String buildSql(@NonNull EntityPlan<?> plan, @NonNull int[] setColumns) {
+        return SqlPlan.of(plan.getType()).getUpdateSql(setColumns);
+    }
+
+    /** entity'yi bağlar ve çalıştırır; etkilenen satır sayısını döndürür. */
+    public int executeUpdate(@NonNull T entity) {
+        bind(entity);
+        try {
+            return statement.executeUpdateDelete();
+        } finally {
+            statement.clearBindings();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+// lib/persistence/command/manipulation/UpsertCommand.java
+package lib.persistence.command.manipulation;
+
+import android.os.Build;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import lib.persistence.profile.EntityPlan;
+import lib.persistence.profile.Mapper;
+import lib.persistence.profile.SqlPlan;
+
+/**
+ * UPSERT komutu: INSERT ... ON CONFLICT(pk1, pk2) DO UPDATE SET `c` = excluded.`c`
+ * - Çakışma hedefi tüm PK kolonlarıdır (bileşik PK destekli)
+ * - SET kısmı PK olmayan kolonlar; PK dışında kolon yoksa DO NOTHING
+ * - Identity alanı boşsa (null/0) INSERT'e katılmaz → DB üretir
+ * ON CONFLICT ... DO UPDATE, SQLite 3.24+ ister (Android 11 / API 30+); bkz. {@link #isSupported()}.
+ * Eski sürümlerde {@link UpsertStatement} UPDATE + INSERT'e düşer.
+ */
+public class UpsertCommand {
+    private final String sql;
+    private final Object[] bindArgs;
+
+    private UpsertCommand(String sql, Object[] bindArgs) {
+        this.sql = sql;
+        this.bindArgs = bindArgs;
+    }
+
+    /** Cihazdaki SQLite ON CONFLICT ... DO UPDATE destekliyor mu (API 30+ → SQLite 3.28+). */
+    public static boolean isSupported() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R;
+    }
+
+    /** Tek entity için SQL + bağlanacak değerler (db.execSQL(sql, bindArgs) ile çalıştırılır). */
+    public static UpsertCommand build(Object entity) {
+        if (entity == null) throw new IllegalArgumentException("entity null olamaz");
+        EntityPlan<?> plan = Mapper.getPlan(entity.getClass());
+        try {
+            boolean withIdentity = plan.hasIdentityValue(entity);
+            int[] cols = columns(plan, withIdentity);
+            Object[] args = new Object[cols.length];
+            for (int k = 0; k < cols.length; k++) {
+                args[k] = toBindArg(plan.getDbValue(entity, cols[k]));
+            }
+            return new UpsertCommand(SqlPlan.of(plan.getType()).getUpsertSql(withIdentity, true), args);
+        } catch (IllegalAccessException e) { throw new RuntimeException(e); }
+    }
+
+    /** INSERT'e katılacak plan kolonları: identity sadece includeIdentity ise (bkz. SqlPlan#upsertColumns). */
+    public static int[] columns(EntityPlan<?> plan, boolean includeIdentity) {
+        return SqlPlan.upsertColumns(plan, includeIdentity);
+    }
+
+    /** Metin kurucusu {@link SqlPlan#buildUpsertSql}; tip başına önbellekli hali {@link SqlPlan#getUpsertSql}. */
+    public static String buildSql(EntityPlan<?> plan, int[] columns, boolean onConflict) {
+        return SqlPlan.buildUpsertSql(plan, columns, onConflict);
+    }
+
+    // execSQL bağlama tipleri: null/Number/Boolean/byte[]/String (Mapper.putInContentValues ile aynı metin biçimleri)
+    private static Object toBindArg(Object v) {
+        if (v instanceof LocalDate) return ((LocalDate) v).format(DateTimeFormatter.ISO_DATE);
+        if (v instanceof LocalDateTime) return ((LocalDateTime) v).format(DateTimeFormatter.ISO_DATE_TIME);
+        if (v instanceof Enum<?>) return ((Enum<?>) v).name();
+        if (v instanceof Boolean) return ((Boolean) v) ? 1L : 0L;
+        return v;
+    }
+
+    public String getSql() { return sql; }
+    public Object[] getBindArgs() { return bindArgs; }
+}
@@ -0,0 +1,81 @@
+// lib/persistence/command/manipulation/UpsertStatement.java
+package lib.persistence.command.manipulation;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import lib.persistence.IDbContext;
+
+import lib.persistence.profile.EntityPlan;
+import lib.persistence.profile.SqlPlan;
+
+/**
+ * Derlenmiş UPSERT (bkz. {@link UpsertCommand}); toplu upsert'te tek kez derlenip yeniden bağlanır.
+ * - Identity alanı boş entity'ler düz INSERT ile yazılır ve üretilen id geri yazılır
+ * - SQLite ON CONFLICT desteklemiyorsa: önce PK'ye göre UPDATE, etkilenmezse düz INSERT
+ *   (sadece PK kolonlu entity'de INSERT OR IGNORE: DO NOTHING karşılığı)
+ */
+public final class UpsertStatement<T> extends EntityStatement<T> {
+    private final boolean nativeUpsert;
+    private final boolean hasUpdatableColumns; // PK/identity dışı kolon var mı (yoksa eski yolda UPDATE atlanır)
+    private InsertStatement<T> insertNew;   // identity boş entity'ler için (lazy)
+    private UpdateStatement<T> legacyUpdate; // eski SQLite yolu (lazy)
+
+    private UpsertStatement(IDbContext context, SQLiteDatabase db, EntityPlan<T> plan, int[] columns, String sql,
+                            boolean nativeUpsert) {
+        super(context, db, plan, columns, sql);
+        this.nativeUpsert = nativeUpsert;
+        int pkOrIdentity = 0;
+        for (int i = 0; i < plan.size(); i++) {
+            if (plan.column(i).isPrimaryKey() || plan.column(i).isIdentity()) pkOrIdentity++;
+        }
+        this.hasUpdatableColumns = pkOrIdentity < plan.size();
+    }
+
+    /** type için UPSERT'i db üzerinde derler. Kapatma sorumluluğu çağırandadır. */
+    public static <T> UpsertStatement<T> compile(@NonNull SQLiteDatabase db, @NonNull Class<T> type) {
+        return compile(null, db, type);
+    }
+
+    /** context null değilse ifadeler context'in önbelleğinden alınır. */
+    public static <T> UpsertStatement<T> compile(@Nullable IDbContext context, @NonNull SQLiteDatabase db,
+                                                 @NonNull Class<T> type) {
+        // Metin tipin SqlPlan'ında tutulur (her upsert'te yeniden kurulmaz)
+        SqlPlan<T> sqlPlan = SqlPlan.of(type);
+        EntityPlan<T> plan = sqlPlan.getPlan();
+        boolean nativeUpsert = UpsertCommand.isSupported();
+        return new UpsertStatement<>(context, db, plan, SqlPlan.upsertColumns(plan, true),
+                sqlPlan.getUpsertSql(true, nativeUpsert), nativeUpsert);
+    }
+
+    /** entity'yi yazar (insert ya da update); yeni eklenen identity'yi entity'ye yazar. */
+    public void executeUpsert(@NonNull T entity) throws IllegalAccessException {
+        if (plan.getIdentityIndex() >= 0 && !plan.hasIdentityValue(entity)) {
+            if (insertNew == null) insertNew = InsertStatement.compile(context, db, plan.getType());
+            long rowId = insertNew.executeInsert(entity);
+            plan.setIdentityValue(entity, rowId);
+            return;
+        }
+
+        if (!nativeUpsert && hasUpdatableColumns) {
+            if (legacyUpdate == null) legacyUpdate = UpdateStatement.compile(context, db, plan.getType());
+            if (legacyUpdate.executeUpdate(entity) > 0) return;
+        }
+
+        bind(entity);
+        try {
+            statement.executeInsert();
+        } finally {
+            statement.clearBindings();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (insertNew != null) insertNew.close();
+        if (legacyUpdate != null) legacyUpdate.close();
+        super.close();
+    }
+}
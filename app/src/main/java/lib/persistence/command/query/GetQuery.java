@@ -1,50 +1,70 @@
 package lib.persistence.command.query;
 
-import static lib.persistence.SqlNames.qId;
-
-import java.util.ArrayList;
-
-import lib.persistence.profile.DbColumn;
-import lib.persistence.profile.Mapper;
+import lib.persistence.profile.Projection;
+import lib.persistence.profile.SqlPlan;
 
 /**
  * Tekil kayıt okumak için basit SELECT … WHERE PK = ? LIMIT 1 sorgusu.
  * Not: Çoklu PK durumunda ilk PK kolonu kullanılır (ihtiyaç olursa overload eklenir).
+ * SELECT listesi projeksiyondan gelir (varsayılan: entity'nin kolonları, sabit sırada) → SELECT * kullanılmaz.
+ * SQL metni tipin SqlPlan'ından gelir; burada sadece argümanlar kurulur.
  */
 public class GetQuery {
     private final String query;
     private final String[] args;
     private final Class<?> type;
+    private final Projection<?> projection;
 
-    private GetQuery(String query, String[] args, Class<?> type) {
+    private GetQuery(String query, String[] args, Class<?> type, Projection<?> projection) {
         this.query = query;
         this.args = args;
         this.type = type;
+        this.projection = projection;
     }
 
     public static GetQuery build(Class<?> type, Object id) {
+        return build(type, id, type == null ? null : Projection.of(type));
+    }
+
+    /** type tablosundan, projection'ın kolonlarını (kısmi entity ya da DTO) okur. */
+    public static GetQuery build(Class<?> type, Object id, Projection<?> projection) {
+        if (projection == null) throw new IllegalArgumentException("projection boş olamaz");
         if (type == null) throw new IllegalArgumentException("type boş olamaz");
         if (id == null) throw new IllegalArgumentException("id boş olamaz");
 
-        // Tablo adı
-        String tableName = Mapper.getTableName(type);
+        // Güvenli parametreli sorgu (metin önbellekli plan'dan: ilk PK kolonu)
+        SqlPlan<?> sqlPlan = SqlPlan.of(type);
+        if (sqlPlan.getPlan().primaryKeyCount() == 0) throw new IllegalStateException("Primary key bulunamadı: " + type.getName());
+        String sql = sqlPlan.selectByFirstPrimaryKey(projection.getSelectList());
+        String[] whereArgs = new String[]{ String.valueOf(id) };
 
-        // İlk PK kolonunu bul
-        ArrayList<DbColumn> cols = Mapper.classToDbColumns(type);
-        DbColumn pk = null;
-        for (DbColumn c : cols) {
-            if (c.isPrimaryKey()) { pk = c; break; }
-        }
-        if (pk == null) throw new IllegalStateException("Primary key bulunamadı: " + type.getName());
+        return new GetQuery(sql, whereArgs, type, projection);
+    }
 
-        // Güvenli parametreli sorgu
-        String sql = "SELECT * FROM " + qId(tableName) + " WHERE " + qId(pk.getColumnName()) + " = ? LIMIT 1";
-        String[] whereArgs = new String[]{ String.valueOf(id) };
+    /**
+     * Tüm PK kolonlarıyla: SELECT … WHERE `pk1` = ? AND `pk2` = ? LIMIT 1.
+     * Bileşik PK için değerleri ordinal PK sırasıyla verin (DeleteCommand.build(Class, ...) gibi).
+     */
+    public static GetQuery byKey(Class<?> type, Projection<?> projection, Object... primaryKeyValues) {
+        if (projection == null) throw new IllegalArgumentException("projection boş olamaz");
+        if (type == null) throw new IllegalArgumentException("type boş olamaz");
 
-        return new GetQuery(sql, whereArgs, type);
+        SqlPlan<?> sqlPlan = SqlPlan.of(type);
+        int pkCount = sqlPlan.getPlan().primaryKeyCount();
+        if (pkCount == 0) throw new IllegalStateException("Primary key bulunamadı: " + type.getName());
+        if (primaryKeyValues == null || primaryKeyValues.length != pkCount)
+            throw new IllegalArgumentException("PK değeri sayısı uyuşmuyor. Beklenen: " + pkCount);
+
+        String[] whereArgs = new String[primaryKeyValues.length];
+        for (int k = 0; k < primaryKeyValues.length; k++) {
+            if (primaryKeyValues[k] == null) throw new IllegalArgumentException("PK değeri null olamaz");
+            whereArgs[k] = String.valueOf(primaryKeyValues[k]);
+        }
+        return new GetQuery(sqlPlan.selectByPrimaryKey(projection.getSelectList()), whereArgs, type, projection);
     }
 
     public String getQuery() { return query; }
     public String[] getArgs() { return args; }
     public Class<?> getType() { return type; }
+    public Projection<?> getProjection() { return projection; }
 }
@@ -0,0 +1,65 @@
+package lib.persistence.command.query;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Keyset sayfalama anahtarı: sıralama kolonları, yönleri ve önceki sayfanın son satırındaki değerler.
+ * {@link Select#after(PageToken)} ile bir sonraki sayfa "son satırdan sonra" olarak sorgulanır
+ * (OFFSET kullanılmaz → derin sayfalarda da maliyet sabit).
+ * Değerler tipleriyle tutulur (Long, Double, String, byte[]) ve sorguya tipleriyle bağlanır: REAL anahtar
+ * yuvarlanmaz, BLOB anahtar da kullanılabilir.
+ * Değişmezdir; GenericRepository.selectPage her sayfa için yenisini üretir.
+ */
+public final class PageToken {
+    private final String[] columns;   // ham kolon adları (orderBy'da verildiği gibi)
+    private final boolean[] desc;
+    private final Object[] values;    // son satır değerleri: Long, Double, String ya da byte[]
+
+    /** values: tam sayılar Long'a, Float Double'a, Boolean 1/0'a çevrilir; diğer tipler String.valueOf ile metne. */
+    public PageToken(@NonNull String[] columns, @NonNull boolean[] desc, @NonNull Object[] values) {
+        if (columns.length == 0 || columns.length != desc.length || columns.length != values.length)
+            throw new IllegalArgumentException("Kolon, yön ve değer sayıları eşit ve > 0 olmalı");
+        this.columns = columns.clone();
+        this.desc = desc.clone();
+        this.values = new Object[values.length];
+        for (int i = 0; i < values.length; i++) this.values[i] = normalize(values[i]);
+    }
+
+    private static Object normalize(Object v) {
+        if (v == null) throw new IllegalArgumentException("Keyset değerleri null olamaz (sıralama kolonları NOT NULL olmalı)");
+        if (v instanceof Long || v instanceof Double || v instanceof String) return v;
+        if (v instanceof byte[]) return ((byte[]) v).clone();
+        if (v instanceof Integer || v instanceof Short || v instanceof Byte) return ((Number) v).longValue();
+        if (v instanceof Float) return ((Float) v).doubleValue();
+        if (v instanceof Boolean) return ((Boolean) v) ? 1L : 0L;
+        return String.valueOf(v);
+    }
+
+    public int size() { return columns.length; }
+    public String column(int i) { return columns[i]; }
+    public boolean isDescending(int i) { return desc[i]; }
+    /** Long, Double, String ya da byte[] (değiştirmeyin). */
+    public Object value(int i) { return values[i]; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PageToken)) return false;
+        PageToken t = (PageToken) o;
+        return Arrays.equals(columns, t.columns) && Arrays.equals(desc, t.desc) && Arrays.deepEquals(values, t.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(columns) + Arrays.hashCode(desc)) + Arrays.deepHashCode(values);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "PageToken{columns=" + Arrays.toString(columns) + ", desc=" + Arrays.toString(desc)
+                + ", values=" + Arrays.deepToString(values) + "}";
+    }
+}
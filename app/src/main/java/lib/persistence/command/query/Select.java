@@ -1,23 +1,39 @@
 package lib.persistence.command.query;
 
 import static lib.persistence.SqlNames.qCol;
+import static lib.persistence.SqlNames.qId;
 
 import android.database.Cursor;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
 
+import lib.persistence.DbPriority;
 import lib.persistence.profile.Mapper;
+import lib.persistence.profile.Projection;
 
 /**
  * Güvenli, parametreli ve tipli SELECT builder.
  * - from(Class<T>) -> tablo adı Mapper'dan gelir
  * - Identifier'lar backtick ile kaçışlanır ( `table`, `col` )
  * - Raw ifade gerekiyorsa columnRaw(...) veya expr(...) kullan
+ * - compile() SQL metnini yapı (shape) anahtarıyla önbellekten alır; aynı şekilli sorgularda sadece argümanlar kurulur
  */
 public final class Select<T> {
 
+    /** Şablon önbelleğinin varsayılan boyutu (farklı sorgu şekli sayısı). */
+    public static final int DEFAULT_TEMPLATE_CACHE_SIZE = 256;
+
+    // Şekil → SQL metni (LRU). Değerler her zaman '?' ile bağlandığı için metin argümanlardan bağımsızdır.
+    private static final LinkedHashMap<Shape, String> TEMPLATES = new LinkedHashMap<>(64, 0.75f, true);
+    private static int templateCacheSize = DEFAULT_TEMPLATE_CACHE_SIZE;
+    private static long templateHits;
+    private static long templateMisses;
+
     private final Class<T> type;
     private final String table; // RAW isim; SQL'de backtick'le kullanılacak
     private final List<String> columns = new ArrayList<>();
@@ -26,12 +42,26 @@ public final class Select<T> {
     private final List<String> groupBys = new ArrayList<>();
     private final List<String> havingClauses = new ArrayList<>();
     private final List<String> args = new ArrayList<>();
+    private final List<String> orderCols = new ArrayList<>();     // ham kolon adları (keyset için)
+    private final List<Boolean> orderDesc = new ArrayList<>();
+    private int havingArgStart = -1;   // HAVING argümanlarının args içindeki başlangıcı (keyset araya girer)
+    private String keysetClause;       // after(...) ile; her çağrıda yenilenir
+    private Object[] keysetArgs;       // PageToken değerleri: Long, Double, String ya da byte[]
     private Integer limit;
     private Integer offset;
     private boolean distinct;
 
     // Opsiyonel özel rowMapper (verilmezse Mapper.cursorToObject kullanılacak)
     private Function<Cursor, T> rowMapper;
+    // project(...)/into(...) ile: sabit SELECT listesi + şekil başına önbellekli eşleyici
+    private Projection<T> projection;
+    // cached() ile: sonuç QueryCache'e alınabilir; etiket = table + dependsOn(...) tabloları
+    private boolean cached;
+    private final List<String> extraTables = new ArrayList<>();
+    // priority(...) ile: okuma kuyruğundaki öncelik (SQL'i etkilemez)
+    private DbPriority priority = DbPriority.NORMAL;
+    // timeout(...) ile: süre sınırı ms (0: yok; SQL'i etkilemez)
+    private long timeoutMs;
 
     // ---------- CTOR ----------
     private Select(Class<T> type, String table) {
@@ -41,6 +71,28 @@ public final class Select<T> {
         this.table = table.trim();
     }
 
+    // Projeksiyon için kopya: FROM/WHERE/GROUP/HAVING/ORDER/LIMIT ve argümanlar aynen taşınır
+    private Select(Class<T> type, Select<?> src) {
+        this(type, src.table);
+        whereClauses.addAll(src.whereClauses);
+        orderBys.addAll(src.orderBys);
+        groupBys.addAll(src.groupBys);
+        havingClauses.addAll(src.havingClauses);
+        args.addAll(src.args);
+        orderCols.addAll(src.orderCols);
+        orderDesc.addAll(src.orderDesc);
+        havingArgStart = src.havingArgStart;
+        keysetClause = src.keysetClause;
+        keysetArgs = src.keysetArgs;
+        limit = src.limit;
+        offset = src.offset;
+        distinct = src.distinct;
+        cached = src.cached;
+        extraTables.addAll(src.extraTables);
+        priority = src.priority;
+        timeoutMs = src.timeoutMs;
+    }
+
     // ---------- ENTRY ----------
     public static <T> Select<T> from(Class<T> type) {
         return new Select<>(type, Mapper.getTableName(type));
@@ -59,13 +111,50 @@ public final class Select<T> {
         return this;
     }
 
+    /**
+     * Sonuç, DbContext'in sorgu önbelleğinde (QueryCache) tutulabilir; FROM tablosuna yazılınca düşer.
+     * Önbellekten dönen entity'ler paylaşılır, değiştirilmemelidir.
+     * Özel rowMapper(...) verilen sorgu önbelleğe alınmaz (eşleyicinin kimliği anahtarlanamaz).
+     */
+    public Select<T> cached() { this.cached = true; return this; }
+
+    /** Okuma kuyruğu önceliği (örn. rapor/senkronizasyon için BACKGROUND). Varsayılan NORMAL. */
+    public Select<T> priority(DbPriority p) {
+        if (p == null) throw new IllegalArgumentException("priority is required");
+        this.priority = p;
+        return this;
+    }
+
+    public DbPriority getPriority() { return priority; }
+
+    /**
+     * Süre sınırı: dolunca sorgu (kuyrukta ya da SQLite içinde) kesilir, callback TimeoutException'lı Error alır.
+     * 0: sınır yok (varsayılan).
+     */
+    public Select<T> timeout(long ms) {
+        if (ms < 0) throw new IllegalArgumentException("timeout >= 0 olmalı");
+        this.timeoutMs = ms;
+        return this;
+    }
+
+    public long getTimeoutMs() { return timeoutMs; }
+
+    /** whereRaw/alt sorgu ile okunan ek tablolar (önbellek bunlara yazılınca da düşer). */
+    public Select<T> dependsOn(String... tables) {
+        if (tables != null) {
+            for (String t : tables) {
+                if (t != null && !t.trim().isEmpty()) extraTables.add(t.trim());
+            }
+        }
+        return this;
+    }
+
     // ---------- COLUMNS ----------
     /** Basit kolon adları (identifier). Gerekirse tablo.alan formatında ver; otomatik kaçışlanır. */
     public Select<T> columns(String... cols) {
         if (cols != null) {
             for (String c : cols) {
                 if (c == null || c.trim().isEmpty()) continue;
-                //columns.add(qColOrStar(c.trim()));
                 String cc = c.trim();
                 columns.add("*".equals(cc) ? "*" : qCol(cc)); // ← SqlNames
             }
@@ -80,6 +169,43 @@ public final class Select<T> {
         return this;
     }
 
+    // ---------- PROJECTION ----------
+    /**
+     * Sadece verilen alanları/kolonları oku (kısmi entity): SELECT `a`, `b` ...
+     * Seçilmeyen alanlar varsayılan değerinde kalır. Önceki columns(...) seçiminin yerini alır.
+     */
+    public Select<T> project(String... fieldsOrColumns) {
+        if (fieldsOrColumns == null || fieldsOrColumns.length == 0)
+            throw new IllegalArgumentException("En az bir alan gerekli");
+        return useProjection(Projection.of(type, fieldsOrColumns));
+    }
+
+    /**
+     * Aynı sorguyu DTO'ya eşle: DTO'nun DbColumnAnnotation'lı alanlarının kolonları seçilir
+     * (DTO'da tablo anotasyonu gerekmez). WHERE/ORDER/LIMIT ve argümanlar korunur; columns(...) seçimi korunmaz.
+     */
+    public <P> Select<P> into(Class<P> dtoType) {
+        if (dtoType == null) throw new IllegalArgumentException("dtoType is required");
+        if (!havingClauses.isEmpty() || !groupBys.isEmpty())
+            throw new IllegalStateException("into(...) GROUP BY/HAVING ile kullanılamaz; columnRaw + rowMapper kullanın");
+        if (columns.size() > 0 && projection == null && hasArgsInColumns())
+            throw new IllegalStateException("into(...) parametreli expr(...) kolonlarıyla kullanılamaz");
+        Select<P> out = new Select<>(dtoType, this);
+        return out.useProjection(Projection.of(dtoType));
+    }
+
+    private Select<T> useProjection(Projection<T> p) {
+        columns.clear();
+        columns.add(p.getSelectList());
+        projection = p;
+        return this;
+    }
+
+    private boolean hasArgsInColumns() {
+        for (String c : columns) if (c.contains("?")) return true;
+        return false;
+    }
+
     // ---------- AGGREGATES ----------
     public Select<T> count() { columns.add("COUNT(*) AS " + qId("count")); return this; }
 
@@ -186,6 +312,7 @@ public final class Select<T> {
     public Select<T> having(String clause, Object... params) {
         if (clause != null && !clause.trim().isEmpty()) {
             validatePlaceholders(clause, params);
+            if (havingArgStart < 0) havingArgStart = args.size();
             havingClauses.add("(" + clause.trim() + ")");
             bind(params);
         }
@@ -195,33 +322,180 @@ public final class Select<T> {
     public Select<T> orderBy(String col, boolean desc) {
         requireCol(col);
         orderBys.add(qCol(col) + (desc ? " DESC" : " ASC"));
+        orderCols.add(col.trim());
+        orderDesc.add(desc);
+        return this;
+    }
+
+    // ---------- KEYSET PAGINATION ----------
+    /**
+     * Keyset sayfalama: sıralamada lastRowValues satırından SONRA gelen satırlar.
+     * orderColumns, orderBy(...) çağrılarının baştaki kolonlarıyla aynı sırada olmalı; yönler (ASC/DESC)
+     * oradan alınır ve karışık olabilir. Tekrar çağrılırsa önceki anahtarın yerini alır.
+     * Sıralama benzersiz olmalı (son kolon olarak PK ekleyin), değerler null olamaz.
+     */
+    public Select<T> after(String[] orderColumns, Object[] lastRowValues) {
+        if (orderColumns == null || lastRowValues == null || orderColumns.length == 0
+                || orderColumns.length != lastRowValues.length)
+            throw new IllegalArgumentException("orderColumns ve lastRowValues aynı uzunlukta ve dolu olmalı");
+        if (orderColumns.length > orderCols.size())
+            throw new IllegalStateException("after() için önce orderBy(...) ile aynı kolonlar sıralanmalı");
+
+        boolean[] desc = new boolean[orderColumns.length];
+        for (int i = 0; i < orderColumns.length; i++) {
+            requireCol(orderColumns[i]);
+            if (!orderCols.get(i).equalsIgnoreCase(orderColumns[i].trim()))
+                throw new IllegalStateException("after() kolonu orderBy sırasıyla uyuşmuyor: " + orderColumns[i]
+                        + " (beklenen: " + orderCols.get(i) + ")");
+            desc[i] = orderDesc.get(i);
+        }
+        return after(new PageToken(orderColumns, desc, lastRowValues)); // değerler tipleriyle bağlanır
+    }
+
+    /** Önceki sayfanın anahtarıyla devam et. orderBy verilmemişse token'daki sıralama eklenir. */
+    public Select<T> after(PageToken token) {
+        if (token == null) { keysetClause = null; keysetArgs = null; return this; }
+        if (orderCols.isEmpty()) {
+            for (int i = 0; i < token.size(); i++) orderBy(token.column(i), token.isDescending(i));
+        }
+        for (int i = 0; i < token.size(); i++) {
+            if (i >= orderCols.size() || !orderCols.get(i).equalsIgnoreCase(token.column(i))
+                    || orderDesc.get(i) != token.isDescending(i))
+                throw new IllegalStateException("PageToken sıralaması Select.orderBy ile uyuşmuyor: " + token);
+        }
+
+        int n = token.size();
+        boolean uniform = true;
+        for (int i = 1; i < n; i++) uniform &= token.isDescending(i) == token.isDescending(0);
+
+        StringBuilder sb = new StringBuilder();
+        ArrayList<Object> a = new ArrayList<>();
+        if (uniform) {
+            // Tek yönlü: satır değeri karşılaştırması (a, b) > (?, ?) — indeks dostu
+            String op = token.isDescending(0) ? " < " : " > ";
+            if (n == 1) {
+                sb.append(qCol(token.column(0))).append(op).append('?');
+            } else {
+                sb.append('(');
+                for (int i = 0; i < n; i++) sb.append(i == 0 ? "" : ", ").append(qCol(token.column(i)));
+                sb.append(')').append(op).append('(');
+                for (int i = 0; i < n; i++) sb.append(i == 0 ? "?" : ", ?");
+                sb.append(')');
+            }
+            for (int i = 0; i < n; i++) a.add(token.value(i));
+        } else {
+            // Karışık yön: (c1 op1 ?) OR (c1 = ? AND c2 op2 ?) OR ...
+            for (int i = 0; i < n; i++) {
+                if (i > 0) sb.append(" OR ");
+                sb.append('(');
+                for (int j = 0; j < i; j++) {
+                    sb.append(qCol(token.column(j))).append(" = ? AND ");
+                    a.add(token.value(j));
+                }
+                sb.append(qCol(token.column(i))).append(token.isDescending(i) ? " < ?" : " > ?").append(')');
+                a.add(token.value(i));
+            }
+        }
+        keysetClause = "(" + sb + ")";
+        keysetArgs = a.toArray();
         return this;
     }
 
+    /** Sıralama kolonları (ham) ve yönleri; keyset token'ı üretmek için. */
+    public List<String> getOrderColumns() { return new ArrayList<>(orderCols); }
+    public List<Boolean> getOrderDescending() { return new ArrayList<>(orderDesc); }
+
+    /** Sorgunun okuduğu tablolar: FROM tablosu + dependsOn(...) ile verilenler. */
+    public List<String> getTables() {
+        ArrayList<String> out = new ArrayList<>(1 + extraTables.size());
+        out.add(table);
+        out.addAll(extraTables);
+        return out;
+    }
+
     public Select<T> limit(int n) { this.limit = n; return this; }
     public Select<T> offset(int n) { this.offset = n; return this; }
 
     // ---------- BUILD ----------
     public SelectQuery<T> compile() {
+        String sql = sqlText();
+
+        String[] a;
+        Object[] typed = null; // metin olmayan keyset değeri varsa tipli bağlama
+        if (keysetArgs == null) {
+            a = args.toArray(new String[0]);
+        } else {
+            // Keyset WHERE'in sonunda: HAVING argümanlarından önce bağlanır
+            int at = havingArgStart < 0 ? args.size() : havingArgStart;
+            a = new String[args.size() + keysetArgs.length];
+            for (int i = 0; i < at; i++) a[i] = args.get(i);
+            for (int i = 0; i < keysetArgs.length; i++) {
+                Object v = keysetArgs[i];
+                a[at + i] = SelectQuery.argText(v);
+                if (!(v instanceof String) && typed == null) typed = new Object[a.length];
+            }
+            for (int i = at; i < args.size(); i++) a[i + keysetArgs.length] = args.get(i);
+            if (typed != null) {
+                System.arraycopy(a, 0, typed, 0, a.length);
+                System.arraycopy(keysetArgs, 0, typed, at, keysetArgs.length);
+            }
+        }
+        // ← Kritik: type'ı geçir
+        Function<Cursor, T> mapper = rowMapper;
+        if (mapper == null && projection != null) mapper = projection.rowMapper(); // sabit konumlu eşleme
+        // Özel eşleyicinin sonucu tip + SQL ile ayırt edilemez → önbelleğe alınmaz
+        String[] tables = cached && rowMapper == null ? getTables().toArray(new String[0]) : null;
+        return new SelectQuery<>(sql, a, typed, this.type, mapper, tables);
+    }
+
+    // Şablon önbelleğinden SQL metni; yoksa kurulur ve şeklin kopyasıyla eklenir
+    private String sqlText() {
+        Shape probe = new Shape(this, false); // canlı listeler üzerinden arama: kopya yok
+        synchronized (TEMPLATES) {
+            if (templateCacheSize > 0) {
+                String sql = TEMPLATES.get(probe);
+                if (sql != null) { templateHits++; return sql; }
+            }
+            templateMisses++;
+        }
+        String sql = buildSql();
+        synchronized (TEMPLATES) {
+            if (templateCacheSize > 0) {
+                TEMPLATES.put(new Shape(this, true), sql);
+                trimTemplates();
+            }
+        }
+        return sql;
+    }
+
+    private String buildSql() {
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT ");
         if (distinct) sql.append("DISTINCT ");
         sql.append(columns.isEmpty() ? "*" : String.join(", ", columns));
         sql.append(" FROM ").append(qId(table));
 
-//        if (!whereClauses.isEmpty()) {
-//            sql.append(" WHERE ");
-//            boolean first = true;
-//            for (String c : whereClauses) {
-//                if (first) { sql.append(c.replaceFirst("^(AND|OR)\\s+", "")); first = false; }
-//                else { sql.append(' ').append(c); }
-//            }
-//        }
+        ArrayList<String> where = new ArrayList<>(whereClauses);
+        if (keysetClause != null) {
+            // Keyset, kullanıcının OR'lu koşullarıyla karışmasın: mevcut koşullar parantezlenir
+            if (where.size() > 1) {
+                StringBuilder grouped = new StringBuilder("(");
+                for (int i = 0; i < where.size(); i++) {
+                    String part = where.get(i).trim();
+                    boolean hasOp = part.startsWith("AND ") || part.startsWith("OR ");
+                    if (i == 0) grouped.append(hasOp ? part.substring(part.indexOf(' ') + 1) : part);
+                    else grouped.append(' ').append(hasOp ? part : "AND " + part);
+                }
+                where.clear();
+                where.add(grouped.append(')').toString());
+            }
+            where.add(keysetClause);
+        }
 
-        if (!whereClauses.isEmpty()) {
+        if (!where.isEmpty()) {
             sql.append(" WHERE ");
             boolean first = true;
-            for (String c : whereClauses) {
+            for (String c : where) {
                 String part = c.trim();
                 boolean hasOp = part.startsWith("AND ") || part.startsWith("OR ");
                 if (first) {
@@ -249,10 +523,88 @@ public final class Select<T> {
         if (!orderBys.isEmpty())  sql.append(" ORDER BY ").append(String.join(", ", orderBys));
         if (limit  != null)       sql.append(" LIMIT ").append(limit);
         if (offset != null)       sql.append(" OFFSET ").append(offset);
+        return sql.toString();
+    }
 
-        String[] a = args.toArray(new String[0]);
-        // ← Kritik: type'ı geçir
-        return new SelectQuery<>(sql.toString(), a, this.type, rowMapper);
+    // ---------- TEMPLATE CACHE ----------
+    /** Şablon önbelleği boyutu; 0 kapatır (her compile() SQL'i yeniden kurar). */
+    public static void setTemplateCacheSize(int size) {
+        if (size < 0) throw new IllegalArgumentException("size >= 0 olmalı");
+        synchronized (TEMPLATES) {
+            templateCacheSize = size;
+            trimTemplates();
+        }
+    }
+
+    public static void clearTemplateCache() {
+        synchronized (TEMPLATES) {
+            TEMPLATES.clear();
+            templateHits = 0;
+            templateMisses = 0;
+        }
+    }
+
+    public static long templateHitCount() { synchronized (TEMPLATES) { return templateHits; } }
+    public static long templateMissCount() { synchronized (TEMPLATES) { return templateMisses; } }
+    public static int templateCacheCount() { synchronized (TEMPLATES) { return TEMPLATES.size(); } }
+
+    // TEMPLATES kilidi tutulurken
+    private static void trimTemplates() {
+        Iterator<Shape> it = TEMPLATES.keySet().iterator();
+        while (TEMPLATES.size() > templateCacheSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /**
+     * SQL metnini belirleyen yapı: parçaların kendisi (değerler değil). LIMIT/OFFSET SQL'e sayı olarak
+     * yazıldığından şeklin parçasıdır. Arama anahtarı canlı listeleri gösterir, önbelleğe kopyası girer.
+     */
+    private static final class Shape {
+        final String table;
+        final boolean distinct;
+        final List<String> columns, where, groupBys, having, orderBys;
+        final String keyset;
+        final Integer limit, offset;
+        final int hash;
+
+        Shape(Select<?> s, boolean copy) {
+            table = s.table;
+            distinct = s.distinct;
+            columns = copy ? new ArrayList<>(s.columns) : s.columns;
+            where = copy ? new ArrayList<>(s.whereClauses) : s.whereClauses;
+            groupBys = copy ? new ArrayList<>(s.groupBys) : s.groupBys;
+            having = copy ? new ArrayList<>(s.havingClauses) : s.havingClauses;
+            orderBys = copy ? new ArrayList<>(s.orderBys) : s.orderBys;
+            keyset = s.keysetClause;
+            limit = s.limit;
+            offset = s.offset;
+            int h = table.hashCode();
+            h = 31 * h + (distinct ? 1 : 0);
+            h = 31 * h + columns.hashCode();
+            h = 31 * h + where.hashCode();
+            h = 31 * h + groupBys.hashCode();
+            h = 31 * h + having.hashCode();
+            h = 31 * h + orderBys.hashCode();
+            h = 31 * h + Objects.hashCode(keyset);
+            h = 31 * h + Objects.hashCode(limit);
+            h = 31 * h + Objects.hashCode(offset);
+            hash = h;
+        }
+
+        @Override public int hashCode() { return hash; }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Shape)) return false;
+            Shape k = (Shape) o;
+            return hash == k.hash && distinct == k.distinct && table.equals(k.table)
+                    && Objects.equals(limit, k.limit) && Objects.equals(offset, k.offset)
+                    && Objects.equals(keyset, k.keyset)
+                    && columns.equals(k.columns) && where.equals(k.where) && orderBys.equals(k.orderBys)
+                    && groupBys.equals(k.groupBys) && having.equals(k.having);
+        }
     }
 
 
@@ -262,18 +614,20 @@ public final class Select<T> {
         for (Object p : params) {
             if (p == null)
                 throw new IllegalArgumentException("Null param passed to a '?' placeholder. Use whereNull()/whereNotNull().");
-            //args.add(String.valueOf(p));
-            if (p instanceof Boolean) {
-                args.add(((Boolean) p) ? "1" : "0");  // boolean → "1"/"0"
-            }
-            else{
-                args.add(String.valueOf(p));
-            }
+            args.add(toArg(p));
         }
     }
 
+    private static String toArg(Object p) {
+        if (p == null)
+            throw new IllegalArgumentException("Null param passed to a '?' placeholder. Use whereNull()/whereNotNull().");
+        if (p instanceof Boolean) return ((Boolean) p) ? "1" : "0";  // boolean → "1"/"0"
+        return String.valueOf(p);
+    }
+
     private static void validatePlaceholders(String clause, Object... params) {
-        int placeholders = clause.length() - clause.replace("?", "").length();
+        int placeholders = 0;
+        for (int i = 0, n = clause.length(); i < n; i++) if (clause.charAt(i) == '?') placeholders++; // kopyasız say
         int argCount = (params == null ? 0 : params.length);
         if (placeholders != argCount)
             throw new IllegalArgumentException("Placeholder count (" + placeholders + ") doesn't match args (" + argCount + ")");
@@ -300,21 +654,6 @@ public final class Select<T> {
 //        return qId(c);
 //    }
 
-    /** Kolon listelerinde '*' destekler. */
-    private static String qColOrStar(String col) {
-        String c = col.trim();
-        if ("*".equals(c)) return "*";
-        return qCol(c);
-    }
-
-    /** Basit identifier (tablo/alias/kolon) için backtick. */
-    private static String qId(String id) {
-        String s = id.trim();
-        // Eğer kullanıcının verdiği ifade zaten bir fonksiyon/ham ifade ise burada kullanma. (columnRaw/expr kullanmalı)
-        if (s.contains("(") || s.contains(" ") || s.contains("`") || s.contains("\"")) return s;
-        return "`" + s + "`";
-    }
-
     private String aliasSql(String alias) {
         return (alias != null && !alias.trim().isEmpty()) ? " AS " + qId(alias.trim()) : "";
     }
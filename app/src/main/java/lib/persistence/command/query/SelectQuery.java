@@ -2,6 +2,13 @@ package lib.persistence.command.query;
 
 
 import android.database.Cursor;
+import android.database.sqlite.SQLiteCursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteQuery;
+import android.os.CancellationSignal;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import java.util.function.Function;
 
@@ -76,8 +83,10 @@ public final class SelectQuery<T> {
 
     private final String sql;
     private final String[] args;
+    private final Object[] bindArgs;              // null → args metin olarak bağlanır
     private final Function<Cursor, T> rowMapper; // null olabilir
     private final Class<T> type;                  // null olabilir (tip verilmeden ctor kullanılırsa)
+    private final String[] cacheTables;           // null → sonuç önbelleğe alınmaz
 
     /** Tip vermeden: sadece özel rowMapper ile. */
     public SelectQuery(String sql, String[] args, Function<Cursor, T> rowMapper) {
@@ -86,31 +95,109 @@ public final class SelectQuery<T> {
 
     /** Tip vererek: rowMapper null ise Mapper.cursorToObject(...) varsayılanı kullanılır. */
     public SelectQuery(String sql, String[] args, Class<T> type, Function<Cursor, T> rowMapper) {
+        this(sql, args, type, rowMapper, null);
+    }
+
+    /** cacheTables null değilse sonuç bu tablolarla etiketlenip önbelleğe alınabilir (bkz. QueryCache). */
+    public SelectQuery(String sql, String[] args, Class<T> type, Function<Cursor, T> rowMapper, String[] cacheTables) {
+        this(sql, args, null, type, rowMapper, cacheTables);
+    }
+
+    /**
+     * bindArgs null değilse argümanlar bu tipli değerlerle bağlanır (Long, Double, String, byte[]; bkz. {@link #query});
+     * args aynı değerlerin metin görünümüdür (önbellek anahtarı, log).
+     */
+    public SelectQuery(String sql, String[] args, Object[] bindArgs, Class<T> type, Function<Cursor, T> rowMapper,
+                       String[] cacheTables) {
         if (sql == null || sql.trim().isEmpty()) throw new IllegalArgumentException("sql is required");
         this.sql = sql;
         this.args = (args == null) ? new String[0] : args;
+        if (bindArgs != null && bindArgs.length != this.args.length)
+            throw new IllegalArgumentException("bindArgs ve args aynı uzunlukta olmalı");
+        this.bindArgs = bindArgs;
         this.type = type;
         this.rowMapper = rowMapper;
+        this.cacheTables = cacheTables;
     }
 
     public String getSql() {
         return sql;
     }
 
+    /** Argümanların metin görünümü; tipli bağlanan (keyset) değerler için bkz. {@link #getBindArgs()}. */
     public String[] getArgs() {
         return args;
     }
 
+    /** Bağlanacak değerler: tipli değer yoksa getArgs() ile aynı. */
+    @NonNull
+    public Object[] getBindArgs() {
+        return bindArgs != null ? bindArgs : args;
+    }
+
+    /**
+     * Sorguyu çalıştırır; değerler tipleriyle bağlanır (REAL yuvarlanmaz, BLOB metne çevrilmez).
+     * Tipli değer yoksa db.rawQuery(getSql(), getArgs(), signal) ile aynıdır.
+     */
+    @NonNull
+    public Cursor query(@NonNull SQLiteDatabase db, @Nullable CancellationSignal signal) {
+        if (bindArgs == null) return db.rawQuery(sql, args, signal);
+        final Object[] values = bindArgs;
+        return db.rawQueryWithFactory((d, driver, editTable, query) -> {
+            bind(query, values);
+            return new SQLiteCursor(driver, editTable, query);
+        }, sql, null, null, signal);
+    }
+
+    private static void bind(SQLiteQuery query, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            Object v = values[i];
+            int pos = i + 1;
+            if (v == null) query.bindNull(pos);
+            else if (v instanceof Long) query.bindLong(pos, (Long) v);
+            else if (v instanceof Double) query.bindDouble(pos, (Double) v);
+            else if (v instanceof byte[]) query.bindBlob(pos, (byte[]) v);
+            else query.bindString(pos, v.toString());
+        }
+    }
+
+    /** Tipli değerin metin görünümü (byte[] → onaltılık). */
+    static String argText(Object v) {
+        if (!(v instanceof byte[])) return String.valueOf(v);
+        byte[] b = (byte[]) v;
+        StringBuilder sb = new StringBuilder(2 * b.length);
+        for (byte x : b) sb.append(Character.forDigit((x >> 4) & 0xF, 16)).append(Character.forDigit(x & 0xF, 16));
+        return sb.toString();
+    }
+
+    /** Satır tipi (önbellek anahtarının parçası); tip verilmeden kurulduysa null. */
+    @Nullable
+    public Class<T> getType() {
+        return type;
+    }
+
+    /** Sonuç önbelleğe alınabilir mi (Select.cached()). */
+    public boolean isCacheable() {
+        return cacheTables != null;
+    }
+
+    /** Sorgunun okuduğu tablolar (önbellek etiketi); önbelleğe alınmayan sorguda null. */
+    public String[] getCacheTables() {
+        return cacheTables == null ? null : cacheTables.clone();
+    }
+
     /**
      * Row mapper:
      * - Eğer özel mapper verildiyse onu döndürür.
-     * - Değilse ve type sağlanmışsa Mapper.cursorToObject(...) kullanan bir mapper döndürür.
+     * - Değilse ve type sağlanmışsa üretilmiş {@code <Entity>_Mapper}'ı, o da yoksa
+     *   Mapper.cursorToObject(...) kullanan bir mapper döndürür.
      * - İkisi de yoksa IllegalStateException atar (tip tahmini yapılamaz).
+     * Varsayılan eşleyici kolon index'lerini ilk satırda çözer; sorgu başına bir kez alın.
      */
     public Function<Cursor, T> getRowMapperOrDefault() {
         if (rowMapper != null) return rowMapper;
         if (type != null) {
-            return c -> Mapper.cursorToObject(c, type);
+            return Mapper.rowMapperFor(type);
         }
         throw new IllegalStateException(
                 "No rowMapper provided and type is null; cannot map Cursor to T. " +
@@ -0,0 +1,14 @@
+package lib.persistence.profile;
+
+import android.content.ContentValues;
+
+/**
+ * Bir entity'nin kolon değerlerini ContentValues'a yazan bağlayıcı.
+ * Annotation processor'ın ürettiği {@code <Entity>_Mapper} sınıfları uygular.
+ * Identity kolonları yazılmaz (DB tarafından üretilir).
+ *
+ * @param <T> Entity tipi.
+ */
+public interface EntityBinder<T> {
+    void bind(T entity, ContentValues values);
+}
@@ -0,0 +1,229 @@
+package lib.persistence.profile;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import lib.persistence.annotations.DbConverterAnnotation;
+import lib.persistence.converters.ConverterRegistry;
+import lib.persistence.converters.TypeConverter;
+
+/**
+ * Bir entity sınıfı için BİR KEZ çözümlenen, değişmez eşleme planı.
+ * - Kolonlar ordinal sırasında; Field'lar erişilebilir halde saklanır
+ * - Converter örnekleri ve efektif SQLite tipleri önceden hesaplanır
+ * - PK / identity pozisyonları hazırdır
+ * Mapper ve komutlar (Insert/Update/Delete/Get) satır başına reflection araması yapmaz.
+ * Örnek almak için: {@link Mapper#getPlan(Class)}
+ */
+public final class EntityPlan<T> {
+
+    // Alan tipinin Java tarafı şekli (satır başına getType() karşılaştırması yapmamak için)
+    public static final int KIND_OTHER = 0;
+    public static final int KIND_INT = 1;
+    public static final int KIND_LONG = 2;
+    public static final int KIND_BOOLEAN = 3;
+    public static final int KIND_DOUBLE = 4;
+    public static final int KIND_FLOAT = 5;
+    public static final int KIND_INT_BOX = 6;
+    public static final int KIND_LONG_BOX = 7;
+    public static final int KIND_BOOLEAN_BOX = 8;
+    public static final int KIND_DOUBLE_BOX = 9;
+    public static final int KIND_FLOAT_BOX = 10;
+
+    private static final Object[] NO_ARGS = new Object[0]; // newInstance() satır başına dizi ayırmasın
+
+    private final Class<T> type;
+    private final List<DbColumn> columns;          // ordinal sıralı, değiştirilemez
+    private final Field[] fields;                  // columns ile aynı index
+    private final TypeConverter<Object, Object>[] converters; // converter yoksa null
+    private final String[] sqliteTypes;            // "INTEGER","REAL","TEXT","BLOB" (büyük harf)
+    private final int[] kinds;                     // KIND_* (primitive alanlar kutulamadan yazılır)
+    private final int[] pkIndexes;                 // PK kolonlarının columns içindeki index'leri
+    private final int identityIndex;               // PK+identity kolonu; yoksa -1
+    private final Constructor<T> constructor;      // no-arg ctor; yoksa null
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    EntityPlan(Class<T> type, List<DbColumn> sortedColumns) {
+        this.type = type;
+        this.columns = Collections.unmodifiableList(new ArrayList<>(sortedColumns));
+
+        int n = columns.size();
+        this.fields = new Field[n];
+        this.converters = (TypeConverter<Object, Object>[]) new TypeConverter[n];
+        this.sqliteTypes = new String[n];
+        this.kinds = new int[n];
+
+        ArrayList<Integer> pks = new ArrayList<>();
+        int identity = -1;
+        for (int i = 0; i < n; i++) {
+            DbColumn c = columns.get(i);
+            Field f;
+            try {
+                f = Mapper.findField(type, c.getFieldName());
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException("Alan bulunamadı: " + c.getFieldName() + " (type=" + type.getName() + ")", e);
+            }
+            f.setAccessible(true);
+            fields[i] = f;
+            kinds[i] = kindOf(f.getType());
+
+            DbConverterAnnotation convAnn = f.getAnnotation(DbConverterAnnotation.class);
+            if (convAnn != null) {
+                converters[i] = (TypeConverter<Object, Object>) ConverterRegistry.getOrCreate(convAnn.converter());
+                String declared = c.getSqliteType() != null ? c.getSqliteType() : converters[i].sqliteType();
+                sqliteTypes[i] = declared == null ? "TEXT" : declared.toUpperCase(Locale.ROOT);
+            } else {
+                sqliteTypes[i] = c.getDataType().name();
+            }
+
+            if (c.isPrimaryKey()) {
+                pks.add(i);
+                if (c.isIdentity() && identity < 0) identity = i;
+            }
+        }
+
+        this.pkIndexes = new int[pks.size()];
+        for (int i = 0; i < pkIndexes.length; i++) pkIndexes[i] = pks.get(i);
+        this.identityIndex = identity;
+
+        Constructor<T> ctor;
+        try {
+            ctor = type.getDeclaredConstructor();
+            ctor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            ctor = null; // sadece yazma yönünde kullanılan tipler için sorun değil
+        }
+        this.constructor = ctor;
+    }
+
+    private static int kindOf(Class<?> t) {
+        if (t == int.class) return KIND_INT;
+        if (t == long.class) return KIND_LONG;
+        if (t == boolean.class) return KIND_BOOLEAN;
+        if (t == double.class) return KIND_DOUBLE;
+        if (t == float.class) return KIND_FLOAT;
+        if (t == Integer.class) return KIND_INT_BOX;
+        if (t == Long.class) return KIND_LONG_BOX;
+        if (t == Boolean.class) return KIND_BOOLEAN_BOX;
+        if (t == Double.class) return KIND_DOUBLE_BOX;
+        if (t == Float.class) return KIND_FLOAT_BOX;
+        return KIND_OTHER;
+    }
+
+    // --- Meta ---
+    public Class<T> getType() { return type; }
+    public String getTableName() { return Mapper.getTableName(type); }
+    public List<DbColumn> getColumns() { return columns; }
+    public int size() { return columns.size(); }
+    public DbColumn column(int i) { return columns.get(i); }
+    public Field field(int i) { return fields[i]; }
+    public boolean hasConverter(int i) { return converters[i] != null; }
+    public String sqliteType(int i) { return sqliteTypes[i]; }
+    public int kind(int i) { return kinds[i]; }
+    public boolean isPrimitive(int i) { return kinds[i] >= KIND_INT && kinds[i] <= KIND_FLOAT; }
+
+    public int[] getPrimaryKeyIndexes() { return pkIndexes.clone(); }
+    public int primaryKeyCount() { return pkIndexes.length; }
+    public int primaryKeyIndex(int k) { return pkIndexes[k]; }
+    public int getIdentityIndex() { return identityIndex; }
+
+    public List<DbColumn> getPrimaryKeyColumns() {
+        ArrayList<DbColumn> out = new ArrayList<>(pkIndexes.length);
+        for (int idx : pkIndexes) out.add(columns.get(idx));
+        return out;
+    }
+
+    /** Kolon/alan adına göre index (büyük/küçük harf duyarsız); yoksa -1. */
+    public int indexOf(String name) {
+        if (name == null) return -1;
+        String n = name.trim();
+        for (int i = 0; i < columns.size(); i++) {
+            DbColumn c = columns.get(i);
+            if (c.getColumnName().equalsIgnoreCase(n) || c.getFieldName().equalsIgnoreCase(n)) return i;
+        }
+        return -1;
+    }
+
+    // --- Örnek / değer erişimi ---
+    public T newInstance() throws ReflectiveOperationException {
+        if (constructor == null)
+            throw new NoSuchMethodException("Parametresiz constructor yok: " + type.getName());
+        return constructor.newInstance(NO_ARGS);
+    }
+
+    /** Alanın ham (model) değeri. */
+    public Object getFieldValue(Object entity, int i) throws IllegalAccessException {
+        return fields[i].get(entity);
+    }
+
+    /** Alanın DB'ye yazılacak değeri (converter varsa uygulanmış). */
+    public Object getDbValue(Object entity, int i) throws IllegalAccessException {
+        Object v = fields[i].get(entity);
+        TypeConverter<Object, Object> conv = converters[i];
+        return conv != null ? conv.toDatabaseValue(v) : v;
+    }
+
+    /** Model değerini converter'dan geçirir (converter yoksa aynen döner). */
+    public Object toDbValue(int i, Object value) {
+        TypeConverter<Object, Object> conv = converters[i];
+        return conv != null ? conv.toDatabaseValue(value) : value;
+    }
+
+    /** DB ham değerini converter'dan geçirir (converter yoksa aynen döner). */
+    public Object fromDbValue(int i, Object dbValue) {
+        TypeConverter<Object, Object> conv = converters[i];
+        return conv != null ? conv.fromDatabaseValue(dbValue) : dbValue;
+    }
+
+    /** Identity PK'ye (varsa) üretilen rowid'yi yazar. */
+    public void setIdentityValue(Object entity, long rowId) throws IllegalAccessException {
+        if (identityIndex < 0) return;
+        Field f = fields[identityIndex];
+        Class<?> ft = f.getType();
+        if (ft == int.class)           f.setInt(entity, (int) rowId);
+        else if (ft == long.class)     f.setLong(entity, rowId);
+        else if (ft == Integer.class)  f.set(entity, (int) rowId);
+        else                           f.set(entity, rowId); // Long / fallback
+    }
+
+    /** Identity PK'yi (varsa) boşaltır: primitif alan 0, kutulu alan null olur (geri alınan insert için). */
+    public void clearIdentityValue(Object entity) throws IllegalAccessException {
+        if (identityIndex < 0) return;
+        Field f = fields[identityIndex];
+        Class<?> ft = f.getType();
+        if (ft == int.class)           f.setInt(entity, 0);
+        else if (ft == long.class)     f.setLong(entity, 0L);
+        else                           f.set(entity, null);
+    }
+
+    /** Identity alanı doluysa (null/0 değilse) true; identity yoksa false. */
+    public boolean hasIdentityValue(Object entity) throws IllegalAccessException {
+        if (identityIndex < 0) return false;
+        Object v = fields[identityIndex].get(entity);
+        return v instanceof Number && ((Number) v).longValue() != 0L;
+    }
+
+    /**
+     * PK değerlerini WHERE argümanı olarak (String) döndürür; converter'lar uygulanır.
+     * @param nullAllowed false ise null PK için IllegalStateException atılır
+     */
+    public String[] primaryKeyArgs(Object entity, boolean nullAllowed) throws IllegalAccessException {
+        String[] args = new String[pkIndexes.length];
+        for (int k = 0; k < pkIndexes.length; k++) {
+            int idx = pkIndexes[k];
+            Object raw = fields[idx].get(entity);
+            if (raw == null) {
+                if (!nullAllowed) throw new IllegalStateException("PK değeri null olamaz: " + columns.get(idx).getFieldName());
+                args[k] = null;
+                continue;
+            }
+            Object dbVal = converters[idx] != null ? converters[idx].toDatabaseValue(raw) : raw;
+            args[k] = dbVal == null ? null : String.valueOf(dbVal);
+        }
+        return args;
+    }
+}
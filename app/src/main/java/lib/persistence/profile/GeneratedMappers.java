@@ -0,0 +1,58 @@
+package lib.persistence.profile;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Derleme zamanında üretilmiş {@code <Entity>_Mapper} sınıflarını bulur ve önbelleğe alır.
+ * - Sınıf yoksa (processor çalışmadı / entity desteklenmiyor) null döner → çağıran reflection'a düşer
+ * - Arama sınıf başına bir kez yapılır; "yok" sonucu da önbelleğe alınır
+ */
+public final class GeneratedMappers {
+    /** Üretilen sınıf adı eki: com.foo.Todo → com.foo.Todo_Mapper */
+    public static final String SUFFIX = "_Mapper";
+
+    private static final Object NONE = new Object();
+    private static final Map<Class<?>, Object> CACHE = new ConcurrentHashMap<>();
+
+    private GeneratedMappers() {}
+
+    /** Üretilmiş RowMapper; yoksa null. */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> rowMapper(Class<T> type) {
+        Object m = lookup(type);
+        return (m instanceof RowMapper) ? (RowMapper<T>) m : null;
+    }
+
+    /** Üretilmiş EntityBinder; yoksa null. */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityBinder<T> binder(Class<T> type) {
+        Object m = lookup(type);
+        return (m instanceof EntityBinder) ? (EntityBinder<T>) m : null;
+    }
+
+    /** Üretilmiş StatementBinder; yoksa null. */
+    @SuppressWarnings("unchecked")
+    public static <T> StatementBinder<T> statementBinder(Class<T> type) {
+        Object m = lookup(type);
+        return (m instanceof StatementBinder) ? (StatementBinder<T>) m : null;
+    }
+
+    private static Object lookup(Class<?> type) {
+        Object m = CACHE.get(type);
+        if (m == null) m = CACHE.computeIfAbsent(type, GeneratedMappers::load);
+        return m == NONE ? null : m;
+    }
+
+    private static Object load(Class<?> type) {
+        try {
+            Class<?> gen = Class.forName(type.getName() + SUFFIX, true, type.getClassLoader());
+            return gen.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return NONE;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            android.util.Log.w("GeneratedMappers", "Üretilmiş mapper yüklenemedi: " + type.getName(), e);
+            return NONE;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package lib.persistence.profile;
+
+import android.database.Cursor;
+
+/**
+ * Kolon index'lerini sorgu başına BİR KEZ çözen satır eşleyici.
+ * - {@link #resolveIndexes(Cursor)} ilk satırdan önce çağrılır (seçilmeyen kolon → -1)
+ * - {@link #mapRow(Cursor, int[])} her satırda aynı dizi ile çağrılır
+ * Üretilmiş {@code <Entity>_Mapper} sınıfları bu arayüzü uygular.
+ *
+ * @param <T> Dönüştürülecek nesnenin tipi.
+ */
+public interface IndexedRowMapper<T> extends RowMapper<T> {
+    int[] resolveIndexes(Cursor cursor);
+
+    T mapRow(Cursor cursor, int[] indexes) throws Exception;
+
+    @Override
+    default T mapRow(Cursor cursor) throws Exception {
+        return mapRow(cursor, resolveIndexes(cursor));
+    }
+}
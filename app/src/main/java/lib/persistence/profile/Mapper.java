@@ -3,6 +3,7 @@ package lib.persistence.profile;
 
 import android.content.ContentValues;
 import android.database.Cursor;
+import android.database.sqlite.SQLiteProgram;
 
 import java.lang.reflect.Field;
 import java.time.LocalDate;
@@ -14,6 +15,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import lib.persistence.annotations.DbColumnAnnotation;
 import lib.persistence.annotations.DbConverterAnnotation;
@@ -24,7 +26,7 @@ import lib.persistence.converters.TypeConverter;
 public final class Mapper {
     private static final Map<Class<?>, List<DbColumn>> COLUMNS_CACHE = new ConcurrentHashMap<>();
     private static final Map<Class<?>, String> TABLE_NAME_CACHE = new ConcurrentHashMap<>();
-    private static final Map<Field, TypeConverter<?, ?>> FIELD_CONVERTER_CACHE = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, EntityPlan<?>> PLAN_CACHE = new ConcurrentHashMap<>();
 
     private static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ISO_DATE;
     private static final DateTimeFormatter ISO_DATE_TIME = DateTimeFormatter.ISO_DATE_TIME;
@@ -43,11 +45,23 @@ public final class Mapper {
     }
 
     public static ArrayList<DbColumn> classToDbColumns(Class<?> type) {
-        List<DbColumn> cols = COLUMNS_CACHE.computeIfAbsent(type, Mapper::scanColumns);
-// Sıralama garantisi (ordinal’a göre)
-        ArrayList<DbColumn> copy = new ArrayList<>(cols);
-        copy.sort(Comparator.comparingInt(DbColumn::getOrdinal));
-        return copy;
+        // Plan zaten ordinal’a göre sıralı; sadece çağırana ait kopya döner
+        return new ArrayList<>(getPlan(type).getColumns());
+    }
+
+    /** Sınıf için önbellekli, değişmez eşleme planı (ilk çağrıda bir kez kurulur). */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityPlan<T> getPlan(Class<T> type) {
+        EntityPlan<?> plan = PLAN_CACHE.get(type);
+        if (plan == null) {
+            plan = PLAN_CACHE.computeIfAbsent(type, t -> {
+                ArrayList<DbColumn> sorted = new ArrayList<>(COLUMNS_CACHE.computeIfAbsent(t, Mapper::scanColumns));
+                // Sıralama garantisi (ordinal’a göre)
+                sorted.sort(Comparator.comparingInt(DbColumn::getOrdinal));
+                return new EntityPlan<>(t, sorted);
+            });
+        }
+        return (EntityPlan<T>) plan;
     }
 
     private static List<DbColumn> scanColumns(Class<?> type) {
@@ -133,35 +147,14 @@ public final class Mapper {
 //    }
 
     public static ContentValues objectToContentValues(Object object) {
-        ContentValues cv = new ContentValues();
-        List<DbColumn> columns = classToDbColumns(object.getClass());
+        EntityPlan<?> plan = getPlan(object.getClass());
+        ContentValues cv = new ContentValues(plan.size());
         try {
-            for (DbColumn column : columns) {
+            for (int i = 0; i < plan.size(); i++) {
+                DbColumn column = plan.column(i);
                 if (column.isIdentity()) continue;
-
-                Field f = findField(object.getClass(), column.getFieldName());
-                f.setAccessible(true);
-                Object value = f.get(object);
-
-                DbConverterAnnotation convAnn = f.getAnnotation(DbConverterAnnotation.class);
-                if (convAnn != null) {
-                    TypeConverter<?, ?> conv = FIELD_CONVERTER_CACHE.computeIfAbsent(
-                            f, k -> ConverterRegistry.getOrCreate(convAnn.converter())
-                    );
-                    @SuppressWarnings({"rawtypes","unchecked"})
-                    Object dbVal = ((TypeConverter) conv).toDatabaseValue(value);
-                    // Metadata tarafında sqliteType boşsa doldur
-                    try {
-                        if (column.getSqliteType() == null) {
-                            column.setSqliteType(conv.sqliteType());
-                        }
-                    } catch (NoSuchMethodError ignored) {}
-                    // Anahtar/Değer yaz
-                    putInContentValues(cv, column, dbVal);
-                } else {
-                    // Mevcut yol
-                    putInContentValues(cv, column, value);
-                }
+                // Converter varsa plan DB değerine çevirir
+                putInContentValues(cv, column, plan.getDbValue(object, i));
             }
         } catch (Exception e) {
             throw new RuntimeException("objectToContentValues hata", e);
@@ -204,40 +197,37 @@ public final class Mapper {
 //    }
 
     // --- Cursor → Object ---
+    /** Tek satırlık kullanım: kolon index'lerini bu satır için çözer. Döngülerde {@link #rowMapperFor(Class)} tercih edin. */
     public static <T> T cursorToObject(Cursor cursor, Class<T> type) {
+        EntityPlan<T> plan = getPlan(type);
+        return cursorToObject(cursor, plan, resolveColumnIndexes(cursor, plan));
+    }
+
+    /** Plan kolonlarının cursor'daki index'leri (seçilmemişse -1). Sorgu başına bir kez çağrılır. */
+    public static int[] resolveColumnIndexes(Cursor cursor, EntityPlan<?> plan) {
+        int[] indexes = new int[plan.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = cursor.getColumnIndex(plan.column(i).getColumnName());
+        }
+        return indexes;
+    }
+
+    /** Önceden çözülmüş index'lerle satırı eşler (satır başına string arama yok). */
+    public static <T> T cursorToObject(Cursor cursor, EntityPlan<T> plan, int[] indexes) {
         try {
-            T instance = type.getDeclaredConstructor().newInstance();
-            ArrayList<DbColumn> cols = classToDbColumns(type);
-            for (DbColumn c : cols) {
-                int idx = cursor.getColumnIndex(c.getColumnName());
+            T instance = plan.newInstance();
+            for (int i = 0; i < plan.size(); i++) {
+                int idx = indexes[i];
                 if (idx < 0) continue; // seçilmemiş olabilir
 
-                Field f = findField(type, c.getFieldName());
-                f.setAccessible(true);
-
-                // Converter var mı?
-                DbConverterAnnotation convAnn = f.getAnnotation(DbConverterAnnotation.class);
-                if (convAnn != null) {
-                    TypeConverter<?, ?> conv = FIELD_CONVERTER_CACHE.computeIfAbsent(
-                            f, k -> ConverterRegistry.getOrCreate(convAnn.converter())
-                    );
-                    // sqliteType: önce metadata (DbColumn), yoksa converter bildirimi
-                    String sType;
-                    try {
-                        sType = (c.getSqliteType() != null) ? c.getSqliteType() : conv.sqliteType();
-                    } catch (NoSuchMethodError e) {
-                        sType = "TEXT";
-                    }
-                    Object dbVal = readBySqliteType(cursor, idx, sType);
-                    @SuppressWarnings({"rawtypes","unchecked"})
-                    Object modelVal = ((TypeConverter) conv).fromDatabaseValue(dbVal);
-                    f.set(instance, modelVal);
+                if (plan.hasConverter(i)) {
+                    // sqliteType: plan'da (metadata → converter bildirimi) önceden çözüldü
+                    Object dbVal = readBySqliteType(cursor, idx, plan.sqliteType(i));
+                    plan.field(i).set(instance, plan.fromDbValue(i, dbVal));
                 } else {
                     // Eski yol (primitive/string mapping)
-                    setFieldValue(instance, c, cursor, idx);
+                    setFieldValue(instance, plan, i, cursor, idx);
                 }
-
-               // setFieldValue(instance, c, cursor, idx);
             }
             return instance;
         } catch (Exception e) {
@@ -245,8 +235,53 @@ public final class Mapper {
         }
     }
 
+    /**
+     * Satır eşleyici: derleme zamanında üretilmiş {@code <Entity>_Mapper} varsa onu,
+     * yoksa reflection tabanlı plan yolunu kullanır.
+     * Dönen eşleyici sorgu başına kullanılmalıdır: kolon index'leri ilk satırda çözülür,
+     * sonraki satırlarda tekrar kullanılır (farklı bir Cursor gelirse yeniden çözülür).
+     */
+    public static <T> Function<Cursor, T> rowMapperFor(Class<T> type) {
+        RowMapper<T> generated = GeneratedMappers.rowMapper(type);
+        if (generated instanceof IndexedRowMapper) {
+            return new BoundRowMapper<>((IndexedRowMapper<T>) generated);
+        }
+        if (generated != null) {
+            return c -> {
+                try { return generated.mapRow(c); }
+                catch (RuntimeException e) { throw e; }
+                catch (Exception e) { throw new RuntimeException("mapRow hata", e); }
+            };
+        }
+        EntityPlan<T> plan = getPlan(type);
+        return new BoundRowMapper<>(new IndexedRowMapper<T>() {
+            @Override public int[] resolveIndexes(Cursor cursor) { return resolveColumnIndexes(cursor, plan); }
+            @Override public T mapRow(Cursor cursor, int[] indexes) { return cursorToObject(cursor, plan, indexes); }
+        });
+    }
+
+    /** Index dizisini ilk gördüğü Cursor için çözüp saklayan eşleyici (thread-safe değil; sorgu başına). */
+    private static final class BoundRowMapper<T> implements Function<Cursor, T> {
+        private final IndexedRowMapper<T> delegate;
+        private Cursor boundTo;
+        private int[] indexes;
+
+        BoundRowMapper(IndexedRowMapper<T> delegate) { this.delegate = delegate; }
+
+        @Override
+        public T apply(Cursor c) {
+            if (c != boundTo) {
+                indexes = delegate.resolveIndexes(c);
+                boundTo = c;
+            }
+            try { return delegate.mapRow(c, indexes); }
+            catch (RuntimeException e) { throw e; }
+            catch (Exception e) { throw new RuntimeException("mapRow hata", e); }
+        }
+    }
+
     // YENİ: sqliteType'a göre Cursor'dan ham değer oku (INTEGER→getLong, REAL→getDouble, TEXT→getString, BLOB→getBlob)
-    private static Object readBySqliteType(Cursor c, int idx, String sqliteType) {
+    public static Object readBySqliteType(Cursor c, int idx, String sqliteType) {
         if (c.isNull(idx)) return null;
         if (sqliteType != null) {
             String t = sqliteType.toUpperCase(Locale.ROOT);
@@ -267,23 +302,34 @@ public final class Mapper {
         }
     }
 
-    private static <T> void setFieldValue(T instance, DbColumn c, Cursor cursor, int idx) throws Exception {
-        Field f = findField(instance.getClass(), c.getFieldName());
-        f.setAccessible(true);
-        if (cursor.isNull(idx)) { f.set(instance, null); return; }
-
+    private static <T> void setFieldValue(T instance, EntityPlan<?> plan, int i, Cursor cursor, int idx) throws Exception {
+        Field f = plan.field(i);
+        int kind = plan.kind(i);
+        if (cursor.isNull(idx)) {
+            // Primitive alan NULL alamaz → varsayılan değer kalır; wrapper/diğerleri null olur
+            if (!plan.isPrimitive(i)) f.set(instance, null);
+            return;
+        }
 
-        switch (c.getDataType()) {
+        switch (plan.column(i).getDataType()) {
             case INTEGER:
-                Class<?> ft = f.getType();
-                if (ft == boolean.class || ft == Boolean.class) f.set(instance, cursor.getInt(idx) != 0);
-                else if (ft == int.class || ft == Integer.class) f.set(instance, cursor.getInt(idx));
-                else if (ft == long.class || ft == Long.class) f.set(instance, cursor.getLong(idx));
-                else f.set(instance, cursor.getLong(idx));
+                // Primitive alanlar kutulamadan (setInt/setLong/setBoolean) yazılır
+                switch (kind) {
+                    case EntityPlan.KIND_INT:         f.setInt(instance, cursor.getInt(idx)); break;
+                    case EntityPlan.KIND_LONG:        f.setLong(instance, cursor.getLong(idx)); break;
+                    case EntityPlan.KIND_BOOLEAN:     f.setBoolean(instance, cursor.getInt(idx) != 0); break;
+                    case EntityPlan.KIND_BOOLEAN_BOX: f.set(instance, cursor.getInt(idx) != 0); break;
+                    case EntityPlan.KIND_INT_BOX:     f.set(instance, cursor.getInt(idx)); break;
+                    default:                          f.set(instance, cursor.getLong(idx));
+                }
                 break;
             case REAL:
-                if (f.getType() == float.class || f.getType() == Float.class) f.set(instance, (float) cursor.getDouble(idx));
-                else f.set(instance, cursor.getDouble(idx));
+                switch (kind) {
+                    case EntityPlan.KIND_DOUBLE:    f.setDouble(instance, cursor.getDouble(idx)); break;
+                    case EntityPlan.KIND_FLOAT:     f.setFloat(instance, (float) cursor.getDouble(idx)); break;
+                    case EntityPlan.KIND_FLOAT_BOX: f.set(instance, (float) cursor.getDouble(idx)); break;
+                    default:                        f.set(instance, cursor.getDouble(idx));
+                }
                 break;
             case BLOB:
                 f.set(instance, cursor.getBlob(idx));
@@ -301,12 +347,9 @@ public final class Mapper {
     public static DbColumn getColumnByName(Class<?> type, String name) {
         if (name == null || name.trim().isEmpty())
             throw new IllegalArgumentException("column/field adı boş olamaz");
-        String n = name.trim();
-        for (DbColumn c : classToDbColumns(type)) {
-            if (c.getColumnName().equalsIgnoreCase(n) || c.getFieldName().equalsIgnoreCase(n)) {
-                return c;
-            }
-        }
+        EntityPlan<?> plan = getPlan(type);
+        int i = plan.indexOf(name);
+        if (i >= 0) return plan.column(i);
         throw new IllegalArgumentException("Kolon bulunamadı: " + name + " (type=" + type.getName() + ")");
     }
 
@@ -358,6 +401,95 @@ public final class Mapper {
         }
     }
 
+    /**
+     * Converter çıktısı gibi tipi derleme zamanında bilinmeyen ham DB değerini,
+     * çalışma anındaki tipine göre yazar (Number→long/double, Boolean→0/1, byte[]→BLOB, diğerleri→TEXT).
+     */
+    public static void putDbValue(ContentValues cv, String key, Object val) {
+        if (val == null) { cv.putNull(key); return; }
+        if (val instanceof Long || val instanceof Integer || val instanceof Short || val instanceof Byte) {
+            cv.put(key, ((Number) val).longValue());
+        } else if (val instanceof Double || val instanceof Float) {
+            cv.put(key, ((Number) val).doubleValue());
+        } else if (val instanceof Boolean) {
+            cv.put(key, ((Boolean) val) ? 1 : 0);
+        } else if (val instanceof byte[]) {
+            cv.put(key, (byte[]) val);
+        } else if (val instanceof Enum<?>) {
+            cv.put(key, ((Enum<?>) val).name());
+        } else {
+            cv.put(key, String.valueOf(val));
+        }
+    }
+
+    // --- Derlenmiş ifadeye (SQLiteStatement) doğrudan bağlama: putInContentValues ile aynı tip kuralları
+    public static void bindValue(SQLiteProgram st, int position, DbColumn col, Object val) {
+        if (val == null) { st.bindNull(position); return; }
+
+        switch (col.getDataType()) {
+            case INTEGER:
+                if (val instanceof Boolean) st.bindLong(position, ((Boolean) val) ? 1 : 0);
+                else if (val instanceof Number) st.bindLong(position, ((Number) val).longValue());
+                else st.bindLong(position, Long.parseLong(String.valueOf(val)));
+                break;
+
+            case REAL:
+                if (val instanceof Number) st.bindDouble(position, ((Number) val).doubleValue());
+                else st.bindDouble(position, Double.parseDouble(String.valueOf(val)));
+                break;
+
+            case BLOB:
+                if (!(val instanceof byte[]))
+                    throw new IllegalArgumentException("BLOB kolonuna byte[] dışında tip yazılamaz: " + col.getColumnName());
+                st.bindBlob(position, (byte[]) val);
+                break;
+
+            case TEXT:
+            default:
+                if (val instanceof LocalDate) st.bindString(position, ((LocalDate) val).format(ISO_DATE));
+                else if (val instanceof LocalDateTime) st.bindString(position, ((LocalDateTime) val).format(ISO_DATE_TIME));
+                else if (val instanceof Enum<?>) st.bindString(position, ((Enum<?>) val).name());
+                else st.bindString(position, String.valueOf(val));
+        }
+    }
+
+    /** putDbValue'nun ifade karşılığı: converter çıktısını çalışma anındaki tipine göre bağlar. */
+    public static void bindDbValue(SQLiteProgram st, int position, Object val) {
+        if (val == null) { st.bindNull(position); return; }
+        if (val instanceof Long || val instanceof Integer || val instanceof Short || val instanceof Byte) {
+            st.bindLong(position, ((Number) val).longValue());
+        } else if (val instanceof Double || val instanceof Float) {
+            st.bindDouble(position, ((Number) val).doubleValue());
+        } else if (val instanceof Boolean) {
+            st.bindLong(position, ((Boolean) val) ? 1 : 0);
+        } else if (val instanceof byte[]) {
+            st.bindBlob(position, (byte[]) val);
+        } else if (val instanceof Enum<?>) {
+            st.bindString(position, ((Enum<?>) val).name());
+        } else {
+            st.bindString(position, String.valueOf(val));
+        }
+    }
+
+    /** Plan kolonu i'nin entity'deki değerini bağlar; primitive alanlar kutulanmadan okunur. */
+    public static void bindColumn(SQLiteProgram st, int position, EntityPlan<?> plan, int i, Object entity) {
+        try {
+            Field f = plan.field(i);
+            switch (plan.kind(i)) {
+                case EntityPlan.KIND_INT:     st.bindLong(position, f.getInt(entity)); return;
+                case EntityPlan.KIND_LONG:    st.bindLong(position, f.getLong(entity)); return;
+                case EntityPlan.KIND_BOOLEAN: st.bindLong(position, f.getBoolean(entity) ? 1 : 0); return;
+                case EntityPlan.KIND_DOUBLE:  st.bindDouble(position, f.getDouble(entity)); return;
+                case EntityPlan.KIND_FLOAT:   st.bindDouble(position, f.getFloat(entity)); return;
+                default:
+                    if (plan.hasConverter(i)) bindDbValue(st, position, plan.getDbValue(entity, i));
+                    else bindValue(st, position, plan.column(i), f.get(entity));
+            }
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Alan okunamadı: " + plan.column(i).getFieldName(), e);
+        }
+    }
+
     // --- YENİ: isimden kolonu bulup yaz (kısa yol)
     public static void putInContentValues(ContentValues cv, Class<?> type, String columnName, Object val) {
         DbColumn col = getColumnByName(type, columnName);
@@ -377,8 +509,6 @@ public final class Mapper {
 
     /** (İsteğe bağlı) PK kolonlarını ordinal sırasına göre döndürür. */
     public static java.util.List<DbColumn> getPrimaryKeyColumns(Class<?> type) {
-        java.util.ArrayList<DbColumn> pks = new java.util.ArrayList<>();
-        for (DbColumn c : classToDbColumns(type)) if (c.isPrimaryKey()) pks.add(c);
-        return pks; // classToDbColumns zaten ordinal’a göre sıralı döner
+        return getPlan(type).getPrimaryKeyColumns(); // plan zaten ordinal’a göre sıralı
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package lib.persistence.profile;
+
+import static lib.persistence.SqlNames.qCol;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Projeksiyon: bir tipin (entity ya da DbColumnAnnotation'lı DTO) seçili kolonları.
+ * - SELECT listesi sabit sıradadır → cursor kolonu k her zaman aynı alana yazılır, isimle index çözülmez
+ * - Şekil (tip + kolon listesi) başına bir kez kurulur ve önbelleğe alınır
+ * - Seçilmeyen alanlar varsayılan değerinde kalır (kısmi entity)
+ * Örnek: Projection.of(TodoTitle.class) ya da Projection.of(Todo.class, "id", "title")
+ */
+public final class Projection<P> {
+    private static final Map<Class<?>, Map<String, Projection<?>>> CACHE = new ConcurrentHashMap<>();
+
+    private final EntityPlan<P> plan;
+    private final String[] columnNames;   // seçilen kolonlar (ham, SELECT sırası)
+    private final String selectList;      // `a`, `b`, ...
+    private final int[] planIndexes;      // plan kolonu i → cursor kolonu (seçilmediyse -1)
+    private final IndexedRowMapper<P> generated; // üretilmiş mapper; yoksa null
+    private final int[] generatedIndexes; // üretilmiş COLUMNS sırasıyla cursor kolonları
+
+    @SuppressWarnings("unchecked")
+    private Projection(EntityPlan<P> plan, int[] selected) {
+        this.plan = plan;
+        this.columnNames = new String[selected.length];
+        this.planIndexes = new int[plan.size()];
+        Arrays.fill(planIndexes, -1);
+
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < selected.length; k++) {
+            columnNames[k] = plan.column(selected[k]).getColumnName();
+            planIndexes[selected[k]] = k;
+            sb.append(k == 0 ? "" : ", ").append(qCol(columnNames[k]));
+        }
+        this.selectList = sb.toString();
+
+        // Üretilmiş mapper kolon adlarını yayınlıyorsa (StatementBinder) onun index'leri de bir kez hesaplanır
+        RowMapper<P> gen = GeneratedMappers.rowMapper(plan.getType());
+        int[] genIdx = null;
+        if (gen instanceof IndexedRowMapper && gen instanceof StatementBinder) {
+            String[] names = ((StatementBinder<?>) gen).columnNames();
+            genIdx = new int[names.length];
+            for (int j = 0; j < names.length; j++) {
+                genIdx[j] = -1;
+                for (int k = 0; k < columnNames.length; k++) {
+                    if (columnNames[k].equalsIgnoreCase(names[j])) { genIdx[j] = k; break; }
+                }
+            }
+        }
+        this.generated = genIdx == null ? null : (IndexedRowMapper<P>) gen;
+        this.generatedIndexes = genIdx;
+    }
+
+    /** Tipin tüm kolonları (DTO için tipik kullanım). */
+    public static <P> Projection<P> of(@NonNull Class<P> type) {
+        return of(type, new String[0]);
+    }
+
+    /** Tipin verilen alan/kolon adları (boşsa tüm kolonlar). Bilinmeyen ad IllegalArgumentException atar. */
+    @SuppressWarnings("unchecked")
+    public static <P> Projection<P> of(@NonNull Class<P> type, String... fieldsOrColumns) {
+        String key = fieldsOrColumns == null || fieldsOrColumns.length == 0 ? "*" : String.join(",", fieldsOrColumns);
+        Map<String, Projection<?>> byShape = CACHE.get(type);
+        if (byShape == null) byShape = CACHE.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+
+        Projection<?> p = byShape.get(key);
+        if (p == null) p = byShape.computeIfAbsent(key, k -> create(type, fieldsOrColumns));
+        return (Projection<P>) p;
+    }
+
+    private static <P> Projection<P> create(Class<P> type, String[] names) {
+        EntityPlan<P> plan = Mapper.getPlan(type);
+        if (plan.size() == 0) throw new IllegalStateException("Kolon tanımı yok: " + type.getName());
+
+        int[] selected;
+        if (names == null || names.length == 0) {
+            selected = new int[plan.size()];
+            for (int i = 0; i < selected.length; i++) selected[i] = i;
+        } else {
+            selected = new int[names.length];
+            for (int k = 0; k < names.length; k++) {
+                int i = plan.indexOf(names[k]);
+                if (i < 0) throw new IllegalArgumentException("Kolon bulunamadı: " + names[k] + " (type=" + type.getName() + ")");
+                selected[k] = i;
+            }
+        }
+        return new Projection<>(plan, selected);
+    }
+
+    public EntityPlan<P> getPlan() { return plan; }
+    public String[] getColumnNames() { return columnNames.clone(); }
+
+    /** SELECT listesi: `a`, `b`, ... */
+    public String getSelectList() { return selectList; }
+
+    /** Cursor'ın bulunduğu satırı eşler; cursor bu projeksiyonun SELECT listesiyle açılmış olmalı. */
+    public P map(Cursor c) {
+        if (generated != null) {
+            try { return generated.mapRow(c, generatedIndexes); }
+            catch (RuntimeException e) { throw e; }
+            catch (Exception e) { throw new RuntimeException("mapRow hata", e); }
+        }
+        return Mapper.cursorToObject(c, plan, planIndexes);
+    }
+
+    /** Satır eşleyici (durumsuz; sorgular arasında paylaşılabilir). */
+    public Function<Cursor, P> rowMapper() { return this::map; }
+}
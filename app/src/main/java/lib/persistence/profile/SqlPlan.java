@@ -0,0 +1,317 @@
+// lib/persistence/profile/SqlPlan.java
+package lib.persistence.profile;
+
+import static lib.persistence.SqlNames.qId;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bir entity tipi için PK'ye göre tekil CRUD SQL metinleri; tip başına BİR KEZ kurulur.
+ * - SELECT/UPDATE/DELETE … WHERE `pk1` = ? AND `pk2` = ? ve INSERT metinleri hazırdır
+ * - UPSERT, kısmi UPDATE (dirty tracking) ve toplu DELETE … IN (...) metinleri ilk kullanımda kurulup tutulur
+ * - Parametre sırası metinle birlikte tutulur (plan kolon index'leri)
+ * - Üretilmiş StatementBinder varsa plan kolonu → binder kolon index eşlemesi de bir kez kurulur
+ * Get/Update/Delete komutları ve derlenmiş ifadeler metni buradan alır, sadece değerleri bağlar.
+ * Örnek almak için: {@link #of(Class)}
+ */
+public final class SqlPlan<T> {
+    private static final Map<Class<?>, SqlPlan<?>> CACHE = new ConcurrentHashMap<>();
+
+    private final EntityPlan<T> plan;
+    private final String table;             // `table`
+    private final String pkWhere;           // `pk1` = ? AND `pk2` = ? (PK yoksa null)
+    private final String firstPkWhere;      // `pk1` = ?
+    private final String insertSql;
+    private final int[] insertColumns;      // identity hariç, plan sırası
+    private final String updateSql;         // SET: identity/PK hariç tüm kolonlar (yoksa null)
+    private final int[] updateColumns;      // SET kolonları + PK'ler (parametre sırası)
+    private final String deleteSql;
+    private final int[] binderIndex;        // plan index → üretilmiş binder COLUMNS index'i (-1: yok); binder yoksa null
+    // SELECT listesi → metin (projeksiyonlar önbellekli olduğundan anahtar sayısı sınırlı)
+    private final Map<String, String> selectByPk = new ConcurrentHashMap<>();
+    private final Map<String, String> selectByFirstPk = new ConcurrentHashMap<>();
+    // (identity dahil mi, ON CONFLICT mı) → UPSERT metni; en fazla 4 anahtar
+    private final Map<Integer, String> upsertSql = new ConcurrentHashMap<>();
+    // Kısmi UPDATE: SET kolon kümesi → metin (sınırlı; bkz. MAX_PARTIAL_UPDATES)
+    private final Map<ColumnSet, String> partialUpdateSql = new ConcurrentHashMap<>();
+    // Toplu DELETE: IN (...) parametre sayısı → metin (en fazla bağlı değişken sınırı kadar anahtar)
+    private final Map<Integer, String> deleteInSql = new ConcurrentHashMap<>();
+    private static final int MAX_PARTIAL_UPDATES = 256;
+
+    private SqlPlan(EntityPlan<T> plan) {
+        this.plan = plan;
+        this.table = qId(plan.getTableName());
+
+        int pkCount = plan.primaryKeyCount();
+        if (pkCount > 0) {
+            StringBuilder sb = new StringBuilder();
+            for (int k = 0; k < pkCount; k++) {
+                if (k > 0) sb.append(" AND ");
+                sb.append(qId(plan.column(plan.primaryKeyIndex(k)).getColumnName())).append(" = ?");
+            }
+            pkWhere = sb.toString();
+            firstPkWhere = qId(plan.column(plan.primaryKeyIndex(0)).getColumnName()) + " = ?";
+            deleteSql = "DELETE FROM " + table + " WHERE " + pkWhere;
+        } else {
+            pkWhere = null;
+            firstPkWhere = null;
+            deleteSql = null;
+        }
+
+        StatementBinder<T> binder = GeneratedMappers.statementBinder(plan.getType());
+        if (binder != null) {
+            String[] names = binder.columnNames();
+            binderIndex = new int[plan.size()];
+            for (int i = 0; i < plan.size(); i++) {
+                String col = plan.column(i).getColumnName();
+                binderIndex[i] = -1;
+                for (int j = 0; j < names.length; j++) {
+                    if (names[j].equalsIgnoreCase(col)) { binderIndex[i] = j; break; }
+                }
+            }
+        } else {
+            binderIndex = null;
+        }
+
+        int identity = plan.getIdentityIndex();
+        insertColumns = new int[plan.size() - (identity >= 0 ? 1 : 0)];
+        for (int i = 0, k = 0; i < plan.size(); i++) if (i != identity) insertColumns[k++] = i;
+        insertSql = buildInsertSql(plan, insertColumns);
+
+        int setCount = 0;
+        for (int i = 0; i < plan.size(); i++) if (isSetColumn(plan.column(i))) setCount++;
+        if (pkCount > 0 && setCount > 0) {
+            updateColumns = new int[setCount + pkCount];
+            StringBuilder sb = new StringBuilder("UPDATE ").append(table).append(" SET ");
+            for (int i = 0, k = 0; i < plan.size(); i++) {
+                if (!isSetColumn(plan.column(i))) continue;
+                if (k > 0) sb.append(", ");
+                sb.append(qId(plan.column(i).getColumnName())).append(" = ?");
+                updateColumns[k++] = i;
+            }
+            for (int p = 0; p < pkCount; p++) updateColumns[setCount + p] = plan.primaryKeyIndex(p);
+            updateSql = sb.append(" WHERE ").append(pkWhere).toString();
+        } else {
+            updateColumns = null;
+            updateSql = null;
+        }
+    }
+
+    /**
+     * planColumns sırasıyla üretilmiş binder'ın kolon index'leri; binder yoksa ya da bir kolonu eksikse null
+     * (çağıran reflection yoluna düşer). Eşleme tip başına kurulmuş tablodan okunur.
+     */
+    @Nullable
+    public int[] binderColumns(@NonNull int[] planColumns) {
+        if (binderIndex == null) return null;
+        int[] out = new int[planColumns.length];
+        for (int k = 0; k < planColumns.length; k++) {
+            if ((out[k] = binderIndex[planColumns[k]]) < 0) return null;
+        }
+        return out;
+    }
+
+    /** Tip için önbellekli plan (ilk çağrıda bir kez kurulur). */
+    @SuppressWarnings("unchecked")
+    public static <T> SqlPlan<T> of(@NonNull Class<T> type) {
+        SqlPlan<?> p = CACHE.get(type);
+        if (p == null) p = CACHE.computeIfAbsent(type, t -> new SqlPlan<>(Mapper.getPlan(t)));
+        return (SqlPlan<T>) p;
+    }
+
+    /** Sabit kolon sırasıyla INSERT metni: INSERT INTO `t` (`a`, `b`) VALUES (?, ?) */
+    public static String buildInsertSql(@NonNull EntityPlan<?> plan, @NonNull int[] columns) {
+        StringBuilder sb = new StringBuilder("INSERT INTO ").append(qId(plan.getTableName()));
+        if (columns.length == 0) return sb.append(" DEFAULT VALUES").toString();
+        sb.append(" (");
+        for (int k = 0; k < columns.length; k++) {
+            if (k > 0) sb.append(", ");
+            sb.append(qId(plan.column(columns[k]).getColumnName()));
+        }
+        sb.append(") VALUES (");
+        for (int k = 0; k < columns.length; k++) sb.append(k == 0 ? "?" : ", ?");
+        return sb.append(')').toString();
+    }
+
+    /** UPDATE SET'ine girebilen kolon: identity ve PK değil (UpdateStatement, ChangeTracker aynı kuralı kullanır). */
+    public static boolean isSetColumn(@NonNull DbColumn c) { return !c.isIdentity() && !c.isPrimaryKey(); }
+
+    /** INSERT/UPSERT'e katılacak plan kolonları (plan sırası): identity sadece includeIdentity ise. */
+    public static int[] upsertColumns(@NonNull EntityPlan<?> plan, boolean includeIdentity) {
+        int skip = (!includeIdentity && plan.getIdentityIndex() >= 0) ? 1 : 0;
+        int[] cols = new int[plan.size() - skip];
+        for (int i = 0, k = 0; i < plan.size(); i++) {
+            if (skip == 1 && i == plan.getIdentityIndex()) continue;
+            cols[k++] = i;
+        }
+        return cols;
+    }
+
+    /**
+     * INSERT INTO `t` (..) VALUES (..) [ON CONFLICT(`pk`..) DO UPDATE SET `c` = excluded.`c`, ..]
+     * @param onConflict false ise eski SQLite yolu (PK'ye göre UPDATE 0 satır etkiledikten sonra çalışır):
+     *                   düz INSERT — NOT NULL/UNIQUE/CHECK ihlalleri ON CONFLICT yolundaki gibi hata verir.
+     *                   Sadece PK kolonları varsa (DO NOTHING karşılığı) INSERT OR IGNORE.
+     */
+    public static String buildUpsertSql(@NonNull EntityPlan<?> plan, @NonNull int[] columns, boolean onConflict) {
+        if (plan.primaryKeyCount() == 0) throw new IllegalStateException("Primary key tanımı yok: " + plan.getType().getName());
+
+        String insert = buildInsertSql(plan, columns);
+        if (!onConflict) {
+            for (int i : columns) if (!plan.column(i).isPrimaryKey()) return insert;
+            return "INSERT OR IGNORE" + insert.substring("INSERT".length());
+        }
+        StringBuilder sb = new StringBuilder(insert);
+
+        sb.append(" ON CONFLICT(");
+        for (int k = 0; k < plan.primaryKeyCount(); k++) {
+            if (k > 0) sb.append(", ");
+            sb.append(qId(plan.column(plan.primaryKeyIndex(k)).getColumnName()));
+        }
+        sb.append(") DO ");
+
+        int set = 0;
+        for (int i : columns) {
+            DbColumn c = plan.column(i);
+            if (c.isPrimaryKey()) continue;
+            sb.append(set++ == 0 ? "UPDATE SET " : ", ")
+                    .append(qId(c.getColumnName())).append(" = excluded.").append(qId(c.getColumnName()));
+        }
+        if (set == 0) sb.append("NOTHING");
+        return sb.toString();
+    }
+
+    private void requirePrimaryKey() {
+        if (pkWhere == null) throw new IllegalStateException("Primary key tanımı yok: " + plan.getType().getName());
+    }
+
+    // --- Meta ---
+    public EntityPlan<T> getPlan() { return plan; }
+
+    /** Backtick'li tablo adı: `table` */
+    public String getQuotedTableName() { return table; }
+
+    /** "`pk1` = ? AND `pk2` = ?" (plan PK sırası). */
+    public String getPrimaryKeyWhere() {
+        requirePrimaryKey();
+        return pkWhere;
+    }
+
+    // --- Metinler ---
+
+    /** SELECT {selectList} FROM `t` WHERE `pk1` = ? AND … LIMIT 1 */
+    public String selectByPrimaryKey(@NonNull String selectList) {
+        requirePrimaryKey();
+        String sql = selectByPk.get(selectList);
+        if (sql == null) {
+            sql = "SELECT " + selectList + " FROM " + table + " WHERE " + pkWhere + " LIMIT 1";
+            selectByPk.put(selectList, sql);
+        }
+        return sql;
+    }
+
+    /** SELECT {selectList} FROM `t` WHERE `pk1` = ? LIMIT 1 (bileşik PK'de sadece ilk kolon). */
+    public String selectByFirstPrimaryKey(@NonNull String selectList) {
+        requirePrimaryKey();
+        String sql = selectByFirstPk.get(selectList);
+        if (sql == null) {
+            sql = "SELECT " + selectList + " FROM " + table + " WHERE " + firstPkWhere + " LIMIT 1";
+            selectByFirstPk.put(selectList, sql);
+        }
+        return sql;
+    }
+
+    /** UPDATE `t` SET `a` = ?, … WHERE `pk` = ? — parametreler {@link #getUpdateColumns()} sırasıyla. */
+    public String getUpdateSql() {
+        requirePrimaryKey();
+        if (updateSql == null) throw new IllegalStateException("Güncellenecek kolon yok: " + plan.getType().getName());
+        return updateSql;
+    }
+
+    /** UPDATE parametrelerinin plan kolonları: önce SET kolonları, sonra PK'ler. */
+    public int[] getUpdateColumns() {
+        getUpdateSql();
+        return updateColumns.clone();
+    }
+
+    /** DELETE FROM `t` WHERE `pk1` = ? AND … */
+    public String getDeleteSql() {
+        requirePrimaryKey();
+        return deleteSql;
+    }
+
+    /** INSERT INTO `t` (`a`, …) VALUES (?, …) — identity hariç, plan sırası. */
+    public String getInsertSql() { return insertSql; }
+
+    public int[] getInsertColumns() { return insertColumns.clone(); }
+
+    /** UPSERT metni, kolonlar {@link #upsertColumns(EntityPlan, boolean)} sırasıyla (bkz. {@link #buildUpsertSql}). */
+    public String getUpsertSql(boolean includeIdentity, boolean onConflict) {
+        requirePrimaryKey();
+        Integer key = (includeIdentity ? 2 : 0) | (onConflict ? 1 : 0);
+        String sql = upsertSql.get(key);
+        if (sql == null) {
+            sql = buildUpsertSql(plan, upsertColumns(plan, includeIdentity), onConflict);
+            upsertSql.put(key, sql);
+        }
+        return sql;
+    }
+
+    /** UPDATE `t` SET `a` = ?, `b` = ? WHERE `pk` = ? — sadece setColumns (plan index'leri, verilen sırayla). */
+    public String getUpdateSql(@NonNull int[] setColumns) {
+        requirePrimaryKey();
+        ColumnSet key = new ColumnSet(setColumns);
+        String sql = partialUpdateSql.get(key);
+        if (sql == null) {
+            StringBuilder sb = new StringBuilder("UPDATE ").append(table).append(" SET ");
+            for (int k = 0; k < setColumns.length; k++) {
+                if (k > 0) sb.append(", ");
+                sb.append(qId(plan.column(setColumns[k]).getColumnName())).append(" = ?");
+            }
+            sql = sb.append(" WHERE ").append(pkWhere).toString();
+            // Geniş entity'lerde küme sayısı patlamasın: sınır dolunca metin tutulmaz (yine doğru, sadece yeniden kurulur)
+            if (partialUpdateSql.size() < MAX_PARTIAL_UPDATES) partialUpdateSql.put(new ColumnSet(setColumns.clone()), sql);
+        }
+        return sql;
+    }
+
+    /** DELETE FROM `t` WHERE `pk` IN (?, …) — n parametreli; tek kolonlu PK ister. */
+    public String getDeleteInSql(int n) {
+        requirePrimaryKey();
+        if (plan.primaryKeyCount() != 1)
+            throw new IllegalStateException("Toplu silme tek kolonlu primary key ister: " + plan.getType().getName());
+        if (n < 1) throw new IllegalArgumentException("n >= 1 olmalı");
+        String sql = deleteInSql.get(n);
+        if (sql == null) {
+            String prefix = "DELETE FROM " + table + " WHERE "
+                    + qId(plan.column(plan.primaryKeyIndex(0)).getColumnName()) + " IN (";
+            StringBuilder sb = new StringBuilder(prefix.length() + n * 3 + 1).append(prefix);
+            for (int k = 0; k < n; k++) sb.append(k == 0 ? "?" : ", ?");
+            sql = sb.append(')').toString();
+            deleteInSql.put(n, sql);
+        }
+        return sql;
+    }
+
+    // Kolon dizisi anahtarı (içerik eşitliği); aramada kopyasız, eklerken kopya verilir
+    private static final class ColumnSet {
+        private final int[] columns;
+        private final int hash;
+
+        ColumnSet(int[] columns) {
+            this.columns = columns;
+            this.hash = Arrays.hashCode(columns);
+        }
+
+        @Override public int hashCode() { return hash; }
+
+        @Override public boolean equals(Object o) {
+            return o instanceof ColumnSet && Arrays.equals(columns, ((ColumnSet) o).columns);
+        }
+    }
+}
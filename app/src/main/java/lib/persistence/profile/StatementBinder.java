@@ -0,0 +1,18 @@
+package lib.persistence.profile;
+
+import android.database.sqlite.SQLiteProgram;
+
+/**
+ * Entity alanlarını derlenmiş bir ifadeye (SQLiteStatement) doğrudan bağlayan bağlayıcı.
+ * ContentValues/HashMap ara katmanı ve primitive kutulama olmadan çalışır.
+ * Üretilmiş {@code <Entity>_Mapper} sınıfları uygular; kolon index'leri {@link #columnNames()} sırasındadır.
+ *
+ * @param <T> Entity tipi.
+ */
+public interface StatementBinder<T> {
+    /** Bağlanabilir kolon adları (bindColumn'daki column index'i bu dizinin index'idir). */
+    String[] columnNames();
+
+    /** entity'nin column numaralı kolon değerini statement'ın position (1 tabanlı) parametresine bağlar. */
+    void bindColumn(T entity, int column, SQLiteProgram statement, int position);
+}
@@ -0,0 +1,92 @@
+package com.example.adbkit;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.example.adbkit.entities.Todo;
+
+import java.util.Collections;
+
+import lib.persistence.ChangeTracker;
+import lib.persistence.EntityCache;
+import lib.persistence.annotations.DbColumnAnnotation;
+import lib.persistence.annotations.DbTableAnnotation;
+import lib.persistence.command.manipulation.UpdateStatement;
+import lib.persistence.profile.EntityPlan;
+import lib.persistence.profile.Mapper;
+
+public class ChangeTrackerTest {
+
+    @DbTableAnnotation(name = "docs")
+    public static class Doc {
+        @DbColumnAnnotation(name = "id", isPrimaryKey = true, ordinal = 0) public long id;
+        @DbColumnAnnotation(name = "body", ordinal = 1) public byte[] body;
+        @DbColumnAnnotation(name = "title", ordinal = 2) public String title;
+
+        // Değer eşitliği: izleme kimliğe göre olmalı
+        @Override public boolean equals(Object o) { return o instanceof Doc && ((Doc) o).id == id; }
+        @Override public int hashCode() { return (int) id; }
+    }
+
+    private static Todo todo() {
+        Todo t = new Todo(); t.id = 1; t.userId = 3; t.title = "a"; return t;
+    }
+
+    @Test
+    public void diff_shouldListOnlyChangedColumns() {
+        EntityPlan<Todo> plan = Mapper.getPlan(Todo.class);
+        ChangeTracker<Todo> tracker = new ChangeTracker<>(plan);
+        Todo t = todo();
+        assertNull(tracker.diff(t));                      // izlenmiyor → tam UPDATE
+
+        tracker.snapshot(t);
+        assertTrue(tracker.diff(t).isEmpty());
+
+        t.completed = true;
+        ChangeTracker.Diff d = tracker.diff(t);
+        assertArrayEquals(new int[]{plan.indexOf("completed")}, d.getColumns());
+
+        tracker.accept(t, d);                             // commit sonrası
+        assertTrue(tracker.diff(t).isEmpty());
+    }
+
+    @Test
+    public void forgetKeys_shouldDropEntitiesWithGivenPrimaryKeys() {
+        EntityPlan<Todo> plan = Mapper.getPlan(Todo.class);
+        ChangeTracker<Todo> tracker = new ChangeTracker<>(plan);
+        EntityCache<Todo> keys = new EntityCache<>(plan, 8);
+        Todo a = todo();
+        Todo b = todo(); b.id = 2;
+        tracker.snapshot(a);
+        tracker.snapshot(b);
+
+        tracker.forgetKeys(Collections.singletonList(keys.keyOfValues(2L))); // deleteById(2) gibi
+        assertTrue(tracker.isTracked(a));
+        assertFalse(tracker.isTracked(b));
+        assertEquals(1, tracker.size());
+    }
+
+    @Test
+    public void tracking_shouldUseIdentityAndSeeInPlaceBlobChanges() {
+        ChangeTracker<Doc> tracker = new ChangeTracker<>(Mapper.getPlan(Doc.class));
+        Doc a = new Doc(); a.id = 1; a.body = new byte[]{1, 2, 3};
+        Doc b = new Doc(); b.id = 1; b.body = new byte[]{1, 2, 3};
+        tracker.snapshot(a);
+        assertTrue(tracker.isTracked(a));
+        assertFalse(tracker.isTracked(b));               // equals aynı ama farklı nesne
+
+        a.body[0] = 9;                                    // yerinde değişiklik
+        assertEquals(1, tracker.diff(a).getColumns().length);
+
+        tracker.forget(a);
+        assertNull(tracker.diff(a));
+    }
+
+    @Test
+    public void partialUpdateSql_shouldSetOnlyGivenColumns() {
+        EntityPlan<Todo> plan = Mapper.getPlan(Todo.class);
+        int[] set = {plan.indexOf("completed")};
+        assertEquals("UPDATE `todos` SET `completed` = ? WHERE `id` = ?", UpdateStatement.buildSql(plan, set));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.adbkit;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.example.adbkit.entities.Todo;
+
+import lib.persistence.EntityCache;
+import lib.persistence.annotations.DbColumnAnnotation;
+import lib.persistence.annotations.DbTableAnnotation;
+import lib.persistence.command.query.GetQuery;
+import lib.persistence.profile.Mapper;
+import lib.persistence.profile.Projection;
+
+public class EntityCacheTest {
+
+    @DbTableAnnotation(name = "order_lines")
+    public static class OrderLine {
+        @DbColumnAnnotation(name = "order_id", isPrimaryKey = true, ordinal = 0) public long orderId;
+        @DbColumnAnnotation(name = "line_no", isPrimaryKey = true, ordinal = 1) public int lineNo;
+        @DbColumnAnnotation(name = "qty", ordinal = 2) public int qty;
+    }
+
+    private static Todo todo(int id, String title) {
+        Todo t = new Todo(); t.id = id; t.title = title; return t;
+    }
+
+    private static OrderLine line(long order, int no) {
+        OrderLine l = new OrderLine(); l.orderId = order; l.lineNo = no; return l;
+    }
+
+    @Test
+    public void keys_fromEntityAndValues_shouldMatch() {
+        EntityCache<Todo> cache = new EntityCache<>(Mapper.getPlan(Todo.class), 4);
+        Todo t = todo(7, "a");
+        cache.put(t);
+        assertSame(t, cache.get(cache.keyOfValues(7)));
+        assertSame(t, cache.get(cache.keyOfValues(7L)));   // Integer/Long aynı anahtar
+        assertNull(cache.get(cache.keyOfValues(8)));
+        assertEquals(2, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void compositeKey_shouldUseAllPrimaryKeyColumns() {
+        EntityCache<OrderLine> cache = new EntityCache<>(Mapper.getPlan(OrderLine.class), 4);
+        OrderLine a = line(1, 1), b = line(1, 2);
+        cache.put(a);
+        cache.put(b);
+        assertSame(a, cache.get(cache.keyOfValues(1L, 1)));
+        assertSame(b, cache.get(cache.keyOfValues(1L, 2)));
+        assertNull(cache.get(cache.keyOfValues(2L, 1)));
+
+        cache.remove(cache.keyOf(a));
+        assertNull(cache.get(cache.keyOfValues(1L, 1)));
+        assertSame(b, cache.get(cache.keyOfValues(1L, 2)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compositeKey_withMissingValue_shouldThrow() {
+        new EntityCache<>(Mapper.getPlan(OrderLine.class), 4).keyOfValues(1L);
+    }
+
+    @Test
+    public void put_shouldEvictLeastRecentlyUsed() {
+        EntityCache<Todo> cache = new EntityCache<>(Mapper.getPlan(Todo.class), 2);
+        cache.put(todo(1, "a"));
+        cache.put(todo(2, "b"));
+        cache.get(cache.keyOfValues(1));
+        cache.put(todo(3, "c"));
+        assertNull(cache.get(cache.keyOfValues(2)));
+        assertNotNull(cache.get(cache.keyOfValues(1)));
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    public void putIfUnchanged_shouldRejectReadOverlappingWrite() {
+        EntityCache<Todo> cache = new EntityCache<>(Mapper.getPlan(Todo.class), 4);
+        long stamp = cache.stamp();            // okuma başladı
+        cache.remove(cache.keyOfValues(5));    // bu sırada silme commit oldu
+        cache.putIfUnchanged(cache.keyOfValues(5), todo(5, "stale"), stamp);
+        assertNull(cache.get(cache.keyOfValues(5)));
+
+        stamp = cache.stamp();
+        cache.putIfUnchanged(cache.keyOfValues(5), todo(5, "fresh"), stamp);
+        assertEquals("fresh", cache.get(cache.keyOfValues(5)).title);
+    }
+
+    @Test
+    public void getQueryByKey_shouldFilterOnAllPrimaryKeys() {
+        GetQuery q = GetQuery.byKey(OrderLine.class, Projection.of(OrderLine.class), 10L, 2);
+        assertEquals("SELECT `order_id`, `line_no`, `qty` FROM `order_lines` WHERE `order_id` = ? AND `line_no` = ? LIMIT 1",
+                q.getQuery());
+        assertArrayEquals(new String[]{"10", "2"}, q.getArgs());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.adbkit;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.example.adbkit.entities.Todo;
+
+import lib.persistence.QueryCache;
+import lib.persistence.command.query.Select;
+
+public class QueryCacheTest {
+
+    private static final String[] NO_ARGS = new String[0];
+
+    @Test
+    public void get_shouldMatchSqlAndArgs() {
+        QueryCache cache = new QueryCache(8, 1 << 20);
+        cache.put("SELECT 1", new String[]{"a"}, new String[]{"todos"}, "v1", 100, cache.stamp());
+
+        assertEquals("v1", cache.get("SELECT 1", new String[]{"a"}));
+        assertNull(cache.get("SELECT 1", new String[]{"b"}));
+        assertNull(cache.get("SELECT 2", new String[]{"a"}));
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.missCount());
+        assertEquals(1d / 3, cache.hitRate(), 1e-9);
+    }
+
+    @Test
+    public void get_shouldKeySameSqlByRowType() {
+        QueryCache cache = new QueryCache(8, 1 << 20);
+        cache.put(String.class, "SELECT 1", NO_ARGS, new String[]{"todos"}, "s", 10, cache.stamp());
+        cache.put(Integer.class, "SELECT 1", NO_ARGS, new String[]{"todos"}, 1, 10, cache.stamp());
+
+        assertEquals("s", cache.get(String.class, "SELECT 1", NO_ARGS));
+        assertEquals(1, cache.get(Integer.class, "SELECT 1", NO_ARGS));
+        assertNull(cache.get("SELECT 1", NO_ARGS));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void cached_withCustomRowMapperShouldNotBeCacheable() {
+        assertTrue(Select.from(Todo.class).cached().compile().isCacheable());
+        assertFalse(Select.from(Todo.class).rowMapper(c -> new Todo()).cached().compile().isCacheable());
+    }
+
+    @Test
+    public void invalidate_shouldDropOnlyTaggedEntries() {
+        QueryCache cache = new QueryCache(8, 1 << 20);
+        cache.put("q1", NO_ARGS, new String[]{"todos"}, "t", 10, cache.stamp());
+        cache.put("q2", NO_ARGS, new String[]{"users", "todos"}, "ut", 10, cache.stamp());
+        cache.put("q3", NO_ARGS, new String[]{"users"}, "u", 10, cache.stamp());
+
+        cache.invalidate(Collections.singletonList("TODOS")); // tablo adı büyük/küçük harf duyarsız
+        assertNull(cache.get("q1", NO_ARGS));
+        assertNull(cache.get("q2", NO_ARGS));
+        assertEquals("u", cache.get("q3", NO_ARGS));
+        assertEquals(2, cache.invalidationCount());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.sizeBytes());
+    }
+
+    @Test
+    public void put_shouldRejectResultReadBeforeInvalidation() {
+        QueryCache cache = new QueryCache(8, 1 << 20);
+        long stamp = cache.stamp();                          // okuma başladı
+        cache.invalidate(Arrays.asList("todos"));            // bu sırada yazma bitti
+        cache.put("q", NO_ARGS, new String[]{"todos"}, "stale", 10, stamp);
+        assertNull(cache.get("q", NO_ARGS));
+
+        cache.put("q", NO_ARGS, new String[]{"users"}, "fresh", 10, stamp); // başka tablo → kabul
+        assertEquals("fresh", cache.get("q", NO_ARGS));
+
+        long s2 = cache.stamp();
+        cache.invalidateAll();
+        cache.put("q2", NO_ARGS, new String[]{"users"}, "stale", 10, s2);
+        assertNull(cache.get("q2", NO_ARGS));
+    }
+
+    @Test
+    public void put_shouldEvictLeastRecentlyUsedByCountAndBytes() {
+        QueryCache cache = new QueryCache(2, 1 << 20);
+        cache.put("a", NO_ARGS, new String[]{"t"}, "A", 10, cache.stamp());
+        cache.put("b", NO_ARGS, new String[]{"t"}, "B", 10, cache.stamp());
+        cache.get("a", NO_ARGS);                               // a daha yeni
+        cache.put("c", NO_ARGS, new String[]{"t"}, "C", 10, cache.stamp());
+        assertNull(cache.get("b", NO_ARGS));
+        assertNotNull(cache.get("a", NO_ARGS));
+        assertEquals(1, cache.evictionCount());
+
+        QueryCache small = new QueryCache(100, 1000);
+        small.put("x", NO_ARGS, new String[]{"t"}, "X", 450, small.stamp());
+        small.put("y", NO_ARGS, new String[]{"t"}, "Y", 450, small.stamp());
+        assertNull(small.get("x", NO_ARGS));                   // bayt sınırı aşıldı
+        assertTrue(small.sizeBytes() <= 1000);
+        small.put("huge", NO_ARGS, new String[]{"t"}, "H", 5000, small.stamp());
+        assertNull(small.get("huge", NO_ARGS));                // sınırdan büyük kayıt alınmaz
+    }
+
+    @Test
+    public void estimateBytes_shouldGrowWithRowsAndStrings() {
+        long small = QueryCache.estimateBytes(Arrays.asList("a", "b"));
+        long big = QueryCache.estimateBytes(Collections.nCopies(1000, "0123456789"));
+        assertTrue(big > small * 100);
+    }
+}
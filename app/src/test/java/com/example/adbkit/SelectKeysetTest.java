@@ -0,0 +1,96 @@
+package com.example.adbkit;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.example.adbkit.entities.Todo;
+
+import lib.persistence.command.query.PageToken;
+import lib.persistence.command.query.Select;
+import lib.persistence.command.query.SelectQuery;
+
+public class SelectKeysetTest {
+
+    @Test
+    public void after_uniformDirection_shouldUseRowValueComparison() {
+        SelectQuery<Todo> q = Select.from(Todo.class)
+                .whereEq("userId", 7)
+                .orderBy("title", false)
+                .orderBy("id", false)
+                .after(new String[]{"title", "id"}, new Object[]{"b", 42})
+                .limit(20)
+                .compile();
+
+        assertEquals("SELECT * FROM `todos` WHERE (`userId` = ?) AND ((`title`, `id`) > (?, ?))"
+                + " ORDER BY `title` ASC, `id` ASC LIMIT 20", q.getSql());
+        assertArrayEquals(new String[]{"7", "b", "42"}, q.getArgs());
+    }
+
+    @Test
+    public void after_mixedDirection_shouldExpandTupleComparison() {
+        SelectQuery<Todo> q = Select.from(Todo.class)
+                .orderBy("completed", true)
+                .orderBy("id", false)
+                .after(new String[]{"completed", "id"}, new Object[]{true, 10})
+                .compile();
+
+        assertEquals("SELECT * FROM `todos` WHERE ((`completed` < ?) OR (`completed` = ? AND `id` > ?))"
+                + " ORDER BY `completed` DESC, `id` ASC", q.getSql());
+        assertArrayEquals(new String[]{"1", "1", "10"}, q.getArgs());
+    }
+
+    @Test
+    public void after_withOrConditions_shouldGroupExistingWhere() {
+        SelectQuery<Todo> q = Select.from(Todo.class)
+                .whereEq("userId", 1)
+                .or("`userId` = ?", 2)
+                .after(new PageToken(new String[]{"id"}, new boolean[]{false}, new String[]{"5"}))
+                .compile();
+
+        assertEquals("SELECT * FROM `todos` WHERE ((`userId` = ?) OR (`userId` = ?)) AND (`id` > ?)"
+                + " ORDER BY `id` ASC", q.getSql());
+        assertArrayEquals(new String[]{"1", "2", "5"}, q.getArgs());
+    }
+
+    @Test
+    public void after_calledAgain_shouldReplacePreviousKeyset() {
+        Select<Todo> s = Select.from(Todo.class).orderBy("id", false);
+        s.after(new String[]{"id"}, new Object[]{5});
+        SelectQuery<Todo> q = s.after(new String[]{"id"}, new Object[]{9}).compile();
+        assertArrayEquals(new String[]{"9"}, q.getArgs());
+        assertArrayEquals(new String[0], s.after((PageToken) null).compile().getArgs());
+    }
+
+    @Test
+    public void after_realAndBlobKeys_shouldBindTypedValues() {
+        double last = 0.1 + 0.2; // getString ile 0.3'e yuvarlanırdı
+        byte[] blob = {0x0a, (byte) 0xff};
+        SelectQuery<Todo> q = Select.from(Todo.class)
+                .whereEq("userId", 7)
+                .orderBy("title", false)
+                .orderBy("id", false)
+                .after(new PageToken(new String[]{"title", "id"}, new boolean[]{false, false}, new Object[]{last, blob}))
+                .compile();
+
+        Object[] bind = q.getBindArgs();
+        assertEquals("7", bind[0]);
+        assertEquals(last, (Double) bind[1], 0d);
+        assertArrayEquals(blob, (byte[]) bind[2]);
+        assertArrayEquals(new String[]{"7", Double.toString(last), "0aff"}, q.getArgs());
+    }
+
+    @Test
+    public void pageToken_shouldNormalizeValueTypes() {
+        PageToken t = new PageToken(new String[]{"a", "b", "c"}, new boolean[3], new Object[]{7, 1.5f, true});
+        assertEquals(7L, t.value(0));
+        assertEquals(1.5d, t.value(1));
+        assertEquals(1L, t.value(2));
+        assertEquals(t, new PageToken(new String[]{"a", "b", "c"}, new boolean[3], new Object[]{7L, 1.5d, 1L}));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void after_columnsNotMatchingOrderBy_shouldThrow() {
+        Select.from(Todo.class).orderBy("id", false).after(new String[]{"title"}, new Object[]{"x"});
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.adbkit;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.example.adbkit.entities.Todo;
+
+import lib.persistence.annotations.DbColumnAnnotation;
+import lib.persistence.command.query.GetQuery;
+import lib.persistence.command.query.Select;
+import lib.persistence.command.query.SelectQuery;
+import lib.persistence.profile.Projection;
+
+public class SelectProjectionTest {
+
+    // Tablo anotasyonu olmayan DTO: sadece kolon adları
+    public static class TodoTitle {
+        @DbColumnAnnotation(name = "id", ordinal = 1) public int todoId;
+        @DbColumnAnnotation(name = "title", ordinal = 2) public String text;
+    }
+
+    @Test
+    public void project_shouldSelectOnlyGivenColumns() {
+        SelectQuery<Todo> q = Select.from(Todo.class).project("id", "title").whereEq("userId", 3).compile();
+        assertEquals("SELECT `id`, `title` FROM `todos` WHERE (`userId` = ?)", q.getSql());
+        assertArrayEquals(new String[]{"3"}, q.getArgs());
+    }
+
+    @Test
+    public void into_shouldKeepFilterAndUseDtoColumns() {
+        SelectQuery<TodoTitle> q = Select.from(Todo.class)
+                .whereEq("completed", false)
+                .orderBy("id", true)
+                .limit(5)
+                .into(TodoTitle.class)
+                .compile();
+        assertEquals("SELECT `id`, `title` FROM `todos` WHERE (`completed` = ?) ORDER BY `id` DESC LIMIT 5", q.getSql());
+        assertArrayEquals(new String[]{"0"}, q.getArgs());
+    }
+
+    @Test
+    public void projection_shouldBeCachedPerShape() {
+        assertSame(Projection.of(Todo.class, "id", "title"), Projection.of(Todo.class, "id", "title"));
+        assertNotSame(Projection.of(Todo.class, "id", "title"), Projection.of(Todo.class, "title", "id"));
+        assertSame(Projection.of(TodoTitle.class), Projection.of(TodoTitle.class));
+    }
+
+    @Test
+    public void getQuery_shouldListColumnsInsteadOfStar() {
+        GetQuery q = GetQuery.build(Todo.class, 7);
+        assertEquals("SELECT `id`, `userId`, `title`, `completed` FROM `todos` WHERE `id` = ? LIMIT 1", q.getQuery());
+        GetQuery dto = GetQuery.build(Todo.class, 7, Projection.of(TodoTitle.class));
+        assertEquals("SELECT `id`, `title` FROM `todos` WHERE `id` = ? LIMIT 1", dto.getQuery());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void project_unknownColumn_shouldThrow() {
+        Select.from(Todo.class).project("nope");
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.adbkit;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.example.adbkit.entities.Todo;
+
+import lib.persistence.command.query.Select;
+import lib.persistence.command.query.SelectQuery;
+
+public class SelectTemplateCacheTest {
+
+    @After
+    public void tearDown() {
+        Select.setTemplateCacheSize(Select.DEFAULT_TEMPLATE_CACHE_SIZE);
+        Select.clearTemplateCache();
+    }
+
+    private static SelectQuery<Todo> byUser(int userId, String title) {
+        return Select.from(Todo.class)
+                .whereEq("userId", userId)
+                .and("`title` LIKE ?", title)
+                .orderBy("id", true)
+                .limit(10)
+                .compile();
+    }
+
+    @Test
+    public void sameShape_shouldReuseSqlAndRebindArgs() {
+        Select.clearTemplateCache();
+        SelectQuery<Todo> a = byUser(1, "a%");
+        SelectQuery<Todo> b = byUser(2, "b%");
+
+        assertSame(a.getSql(), b.getSql());
+        assertEquals("SELECT * FROM `todos` WHERE (`userId` = ?) AND (`title` LIKE ?) ORDER BY `id` DESC LIMIT 10", b.getSql());
+        assertArrayEquals(new String[]{"1", "a%"}, a.getArgs());
+        assertArrayEquals(new String[]{"2", "b%"}, b.getArgs());
+        assertEquals(1, Select.templateMissCount());
+        assertEquals(1, Select.templateHitCount());
+    }
+
+    @Test
+    public void differentShape_shouldNotShareSql() {
+        Select.clearTemplateCache();
+        String l10 = Select.from(Todo.class).whereEq("userId", 1).limit(10).compile().getSql();
+        String l20 = Select.from(Todo.class).whereEq("userId", 1).limit(20).compile().getSql();
+        String ne = Select.from(Todo.class).whereNe("userId", 1).limit(10).compile().getSql();
+        String distinct = Select.from(Todo.class).distinct().whereEq("userId", 1).limit(10).compile().getSql();
+
+        assertTrue(l10.endsWith("LIMIT 10"));
+        assertTrue(l20.endsWith("LIMIT 20"));
+        assertTrue(ne.contains("<> ?"));
+        assertTrue(distinct.startsWith("SELECT DISTINCT "));
+        assertEquals(4, Select.templateCacheCount());
+    }
+
+    @Test
+    public void builderChangedAfterCompile_shouldNotAffectCachedShape() {
+        Select.clearTemplateCache();
+        Select<Todo> s = Select.from(Todo.class).whereEq("userId", 1);
+        String first = s.compile().getSql();
+        s.whereEq("completed", true);
+        String second = s.compile().getSql();
+
+        assertEquals("SELECT * FROM `todos` WHERE (`userId` = ?)", first);
+        assertEquals("SELECT * FROM `todos` WHERE (`userId` = ?) AND (`completed` = ?)", second);
+        assertEquals(first, Select.from(Todo.class).whereEq("userId", 5).compile().getSql());
+    }
+
+    @Test
+    public void disabledCache_shouldBuildSameSql() {
+        String cached = byUser(3, "x").getSql();
+        Select.setTemplateCacheSize(0);
+        assertEquals(0, Select.templateCacheCount());
+        SelectQuery<Todo> fresh = byUser(3, "x");
+
+        assertEquals(cached, fresh.getSql());
+        assertNotSame(cached, fresh.getSql());
+        assertArrayEquals(new String[]{"3", "x"}, fresh.getArgs());
+    }
+}
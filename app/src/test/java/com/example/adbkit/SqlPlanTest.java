@@ -0,0 +1,77 @@
+package com.example.adbkit;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.example.adbkit.EntityCacheTest.OrderLine;
+import com.example.adbkit.entities.Todo;
+
+import lib.persistence.command.manipulation.DeleteCommand;
+import lib.persistence.command.query.GetQuery;
+import lib.persistence.profile.Projection;
+import lib.persistence.profile.SqlPlan;
+
+public class SqlPlanTest {
+
+    @Test
+    public void of_shouldHoldCanonicalTexts() {
+        SqlPlan<Todo> p = SqlPlan.of(Todo.class);
+        assertSame(p, SqlPlan.of(Todo.class));
+
+        assertEquals("INSERT INTO `todos` (`userId`, `title`, `completed`) VALUES (?, ?, ?)", p.getInsertSql());
+        assertArrayEquals(new int[]{1, 2, 3}, p.getInsertColumns());
+        assertEquals("UPDATE `todos` SET `userId` = ?, `title` = ?, `completed` = ? WHERE `id` = ?", p.getUpdateSql());
+        assertArrayEquals(new int[]{1, 2, 3, 0}, p.getUpdateColumns());
+        assertEquals("DELETE FROM `todos` WHERE `id` = ?", p.getDeleteSql());
+    }
+
+    @Test
+    public void compositeKey_shouldUseAllPrimaryKeyColumns() {
+        SqlPlan<OrderLine> p = SqlPlan.of(OrderLine.class);
+        assertEquals("`order_id` = ? AND `line_no` = ?", p.getPrimaryKeyWhere());
+        assertEquals("UPDATE `order_lines` SET `qty` = ? WHERE `order_id` = ? AND `line_no` = ?", p.getUpdateSql());
+        assertArrayEquals(new int[]{2, 0, 1}, p.getUpdateColumns());
+        assertEquals("SELECT `qty` FROM `order_lines` WHERE `order_id` = ? LIMIT 1", p.selectByFirstPrimaryKey("`qty`"));
+    }
+
+    @Test
+    public void commands_shouldReuseTextsAndOnlyBindValues() {
+        // Bileşik PK metni ve argümanları EntityCacheTest'te; burada sadece metnin paylaşıldığı
+        GetQuery a = GetQuery.byKey(OrderLine.class, Projection.of(OrderLine.class), 10L, 1);
+        GetQuery b = GetQuery.byKey(OrderLine.class, Projection.of(OrderLine.class), 11L, 2);
+        assertSame(a.getQuery(), b.getQuery());
+
+        assertSame(GetQuery.build(Todo.class, 1).getQuery(), GetQuery.build(Todo.class, 2).getQuery());
+
+        DeleteCommand d = DeleteCommand.build(OrderLine.class, 10L, 1);
+        assertSame(SqlPlan.of(OrderLine.class).getDeleteSql(), d.getSql());
+        assertEquals("`order_lines`", d.getTableName());
+        assertArrayEquals(new String[]{"10", "1"}, d.getWhereArgs());
+        assertEquals("DELETE FROM `todos`", DeleteCommand.buildAll(Todo.class).getSql());
+    }
+
+    @Test
+    public void derivedTexts_shouldBeBuiltOncePerShape() {
+        SqlPlan<Todo> p = SqlPlan.of(Todo.class);
+
+        String upsert = p.getUpsertSql(false, true);
+        assertEquals("INSERT INTO `todos` (`userId`, `title`, `completed`) VALUES (?, ?, ?) ON CONFLICT(`id`) DO UPDATE SET "
+                + "`userId` = excluded.`userId`, `title` = excluded.`title`, `completed` = excluded.`completed`", upsert);
+        assertSame(upsert, p.getUpsertSql(false, true));
+        assertEquals(p.getInsertSql(), p.getUpsertSql(false, false)); // eski SQLite: düz INSERT
+
+        String partial = p.getUpdateSql(new int[]{3});
+        assertEquals("UPDATE `todos` SET `completed` = ? WHERE `id` = ?", partial);
+        assertSame(partial, p.getUpdateSql(new int[]{3}));
+
+        String in = p.getDeleteInSql(3);
+        assertEquals("DELETE FROM `todos` WHERE `id` IN (?, ?, ?)", in);
+        assertSame(in, p.getDeleteInSql(3));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void deleteInSql_compositeKey_shouldThrow() {
+        SqlPlan.of(OrderLine.class).getDeleteInSql(2);
+    }
+}
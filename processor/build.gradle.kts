@@ -0,0 +1,9 @@
+plugins {
+    `java-library`
+}
+
+// Saf Java annotation processor: harici bağımlılık yok (JavaPoet vb. kullanılmaz)
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
@@ -0,0 +1,430 @@
+package lib.persistence.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * {@code @DbTableAnnotation} ile işaretli her entity için {@code <Entity>_Mapper} üretir.
+ * Üretilen sınıf hem {@code IndexedRowMapper<T>} (Cursor → nesne) hem de {@code EntityBinder<T>}
+ * (nesne → ContentValues) uygular; alanlara doğrudan erişir, reflection kullanmaz.
+ *
+ * Desteklenmeyen durumlarda (private/final alan, parametresiz ctor yok, iç içe sınıf,
+ * bilinmeyen alan tipi) sınıf üretilmez ve NOTE yazılır → çalışma anında reflection yolu kullanılır.
+ */
+public final class EntityMapperProcessor extends AbstractProcessor {
+
+    static final String TABLE_ANN = "lib.persistence.annotations.DbTableAnnotation";
+    static final String COLUMN_ANN = "lib.persistence.annotations.DbColumnAnnotation";
+    static final String CONVERTER_ANN = "lib.persistence.annotations.DbConverterAnnotation";
+    static final String SUFFIX = "_Mapper";
+
+    private static final int DEFAULT_ORDINAL = 1010; // DbColumnAnnotation.ordinal() varsayılanı
+
+    /** Alan tipinin okuma/yazma şekli. */
+    enum Kind {
+        INT, INT_BOX, LONG, LONG_BOX, BOOL, BOOL_BOX, DOUBLE, DOUBLE_BOX, FLOAT, FLOAT_BOX,
+        STRING, BYTES, LOCAL_DATE, LOCAL_DATE_TIME, ENUM, CONVERTER
+    }
+
+    static final class Column {
+        String fieldName;
+        String columnName;
+        int ordinal;
+        boolean identity;
+        Kind kind;
+        String fieldType;     // kaynak koddaki tip (cast için; primitive ise kutulu hali)
+        String converterType; // CONVERTER ise converter sınıfı
+    }
+
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment env) {
+        super.init(env);
+        this.elements = env.getElementUtils();
+        this.types = env.getTypeUtils();
+        this.messager = env.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(TABLE_ANN);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (TypeElement ann : annotations) {
+            for (Element e : round.getElementsAnnotatedWith(ann)) {
+                if (e.getKind() != ElementKind.CLASS) continue;
+                TypeElement entity = (TypeElement) e;
+                List<Column> cols = collect(entity);
+                if (cols == null) continue;
+                try {
+                    write(entity, cols);
+                } catch (IOException ex) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Mapper yazılamadı: " + ex.getMessage(), entity);
+                }
+            }
+        }
+        return false; // annotation'ı başka processor'lar da görebilsin
+    }
+
+    // --- Model ---
+
+    /** Kolonları topla; üretim mümkün değilse null (NOTE ile). */
+    private List<Column> collect(TypeElement entity) {
+        if (entity.getNestingKind() != NestingKind.TOP_LEVEL) return skip(entity, "iç içe sınıf");
+        if (entity.getModifiers().contains(Modifier.ABSTRACT)) return skip(entity, "abstract sınıf");
+        if (!hasNoArgCtor(entity)) return skip(entity, "erişilebilir parametresiz constructor yok");
+
+        String pkg = packageOf(entity);
+        List<Column> cols = new ArrayList<>();
+        TypeElement cur = entity;
+        while (cur != null && !"java.lang.Object".equals(cur.getQualifiedName().toString())) {
+            for (VariableElement f : ElementFilter.fieldsIn(cur.getEnclosedElements())) {
+                AnnotationMirror colAnn = mirror(f, COLUMN_ANN);
+                if (colAnn == null) continue;
+
+                Set<Modifier> mods = f.getModifiers();
+                if (mods.contains(Modifier.PRIVATE) || mods.contains(Modifier.FINAL) || mods.contains(Modifier.STATIC))
+                    return skip(entity, "alan erişilemez: " + f.getSimpleName());
+                if (!pkg.equals(packageOf(cur)) && !mods.contains(Modifier.PUBLIC))
+                    return skip(entity, "üst sınıf alanı public değil: " + f.getSimpleName());
+
+                Column c = new Column();
+                c.fieldName = f.getSimpleName().toString();
+                String name = stringValue(colAnn, "name", "");
+                c.columnName = name.isEmpty() ? c.fieldName : name;
+                c.ordinal = intValue(colAnn, "ordinal", DEFAULT_ORDINAL);
+                c.identity = boolValue(colAnn, "isIdentity");
+
+                TypeMirror ft = f.asType();
+                c.fieldType = ft.getKind().isPrimitive()
+                        ? types.boxedClass(types.getPrimitiveType(ft.getKind())).getQualifiedName().toString()
+                        : types.erasure(ft).toString();
+
+                AnnotationMirror convAnn = mirror(f, CONVERTER_ANN);
+                if (convAnn != null) {
+                    c.kind = Kind.CONVERTER;
+                    c.converterType = typeValue(convAnn, "converter");
+                    if (c.converterType == null) return skip(entity, "converter çözülemedi: " + c.fieldName);
+                } else {
+                    c.kind = kindOf(ft);
+                    if (c.kind == null) return skip(entity, "desteklenmeyen alan tipi: " + c.fieldName + " (" + ft + ")");
+                }
+                cols.add(c);
+            }
+            TypeMirror sup = cur.getSuperclass();
+            cur = sup.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) sup).asElement() : null;
+        }
+        if (cols.isEmpty()) return skip(entity, "kolon yok");
+        // Mapper ile aynı: ordinal'a göre kararlı sıralama
+        cols.sort(Comparator.comparingInt(c -> c.ordinal));
+        return cols;
+    }
+
+    private Kind kindOf(TypeMirror t) {
+        switch (t.getKind()) {
+            case INT:     return Kind.INT;
+            case LONG:    return Kind.LONG;
+            case BOOLEAN: return Kind.BOOL;
+            case DOUBLE:  return Kind.DOUBLE;
+            case FLOAT:   return Kind.FLOAT;
+            case ARRAY:
+                return "byte[]".equals(t.toString()) ? Kind.BYTES : null;
+            case DECLARED:
+                TypeElement te = (TypeElement) ((DeclaredType) t).asElement();
+                if (te.getKind() == ElementKind.ENUM) return Kind.ENUM;
+                switch (te.getQualifiedName().toString()) {
+                    case "java.lang.Integer":       return Kind.INT_BOX;
+                    case "java.lang.Long":          return Kind.LONG_BOX;
+                    case "java.lang.Boolean":       return Kind.BOOL_BOX;
+                    case "java.lang.Double":        return Kind.DOUBLE_BOX;
+                    case "java.lang.Float":         return Kind.FLOAT_BOX;
+                    case "java.lang.String":        return Kind.STRING;
+                    case "java.time.LocalDate":     return Kind.LOCAL_DATE;
+                    case "java.time.LocalDateTime": return Kind.LOCAL_DATE_TIME;
+                    default: return null;
+                }
+            default:
+                return null;
+        }
+    }
+
+    // --- Kod üretimi ---
+
+    private void write(TypeElement entity, List<Column> cols) throws IOException {
+        String pkg = packageOf(entity);
+        String simple = entity.getSimpleName().toString();
+        String genName = simple + SUFFIX;
+        String entityType = entity.getQualifiedName().toString();
+
+        StringBuilder sb = new StringBuilder();
+        if (!pkg.isEmpty()) sb.append("package ").append(pkg).append(";\n\n");
+        sb.append("/** ").append(simple).append(" için üretilmiş mapper/binder. Elle düzenlemeyin. */\n");
+        sb.append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+        sb.append("public final class ").append(genName)
+                .append(" implements lib.persistence.profile.IndexedRowMapper<").append(entityType).append(">, ")
+                .append("lib.persistence.profile.EntityBinder<").append(entityType).append(">, ")
+                .append("lib.persistence.profile.StatementBinder<").append(entityType).append("> {\n\n");
+
+        // Kolon adları: index'ler sorgu başına bir kez çözülür
+        sb.append("    private static final String[] COLUMNS = {");
+        for (int i = 0; i < cols.size(); i++) sb.append(i == 0 ? "" : ", ").append(lit(cols.get(i).columnName));
+        sb.append("};\n");
+
+        // Converter'lar: sınıf yüklenirken bir kez
+        for (int i = 0; i < cols.size(); i++) {
+            Column c = cols.get(i);
+            if (c.kind != Kind.CONVERTER) continue;
+            sb.append("    private static final lib.persistence.converters.TypeConverter CONV_").append(i)
+                    .append(" = lib.persistence.converters.ConverterRegistry.getOrCreate(")
+                    .append(c.converterType).append(".class);\n");
+            sb.append("    private static final String TYPE_").append(i)
+                    .append(" = CONV_").append(i).append(".sqliteType();\n");
+        }
+
+        // resolveIndexes
+        sb.append("\n    @Override\n    public int[] resolveIndexes(android.database.Cursor c) {\n");
+        sb.append("        int[] idx = new int[COLUMNS.length];\n");
+        sb.append("        for (int k = 0; k < idx.length; k++) idx[k] = c.getColumnIndex(COLUMNS[k]);\n");
+        sb.append("        return idx;\n    }\n");
+
+        // mapRow
+        sb.append("\n    @Override\n    public ").append(entityType)
+                .append(" mapRow(android.database.Cursor c, int[] idx) {\n");
+        sb.append("        ").append(entityType).append(" o = new ").append(entityType).append("();\n");
+        sb.append("        int i;\n");
+        for (int i = 0; i < cols.size(); i++) {
+            Column c = cols.get(i);
+            sb.append("        i = idx[").append(i).append("];\n");
+            sb.append("        if (i >= 0) ").append(readStatement(c, i)).append("\n");
+        }
+        sb.append("        return o;\n    }\n");
+
+        // bind
+        sb.append("\n    @Override\n    public void bind(").append(entityType)
+                .append(" o, android.content.ContentValues cv) {\n");
+        for (int i = 0; i < cols.size(); i++) {
+            Column c = cols.get(i);
+            if (c.identity) continue; // DB üretir
+            sb.append("        ").append(writeStatement(c, i)).append("\n");
+        }
+        sb.append("    }\n");
+
+        // columnNames / bindColumn (derlenmiş ifadeler için, COLUMNS index'leriyle)
+        sb.append("\n    @Override\n    public String[] columnNames() {\n        return COLUMNS.clone();\n    }\n");
+        sb.append("\n    @Override\n    public void bindColumn(").append(entityType)
+                .append(" o, int column, android.database.sqlite.SQLiteProgram st, int p) {\n");
+        sb.append("        switch (column) {\n");
+        for (int i = 0; i < cols.size(); i++) {
+            sb.append("            case ").append(i).append(": ").append(bindStatement(cols.get(i), i)).append(" break;\n");
+        }
+        sb.append("            default: throw new IndexOutOfBoundsException(\"column: \" + column);\n");
+        sb.append("        }\n    }\n}\n");
+
+        String fqcn = pkg.isEmpty() ? genName : pkg + "." + genName;
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(fqcn, entity);
+        try (Writer w = file.openWriter()) {
+            w.write(sb.toString());
+        }
+    }
+
+    private static String readStatement(Column c, int i) {
+        String f = "o." + c.fieldName;
+        switch (c.kind) {
+            case INT:        return "{ if (!c.isNull(i)) " + f + " = c.getInt(i); }";
+            case LONG:       return "{ if (!c.isNull(i)) " + f + " = c.getLong(i); }";
+            case BOOL:       return "{ if (!c.isNull(i)) " + f + " = c.getInt(i) != 0; }";
+            case DOUBLE:     return "{ if (!c.isNull(i)) " + f + " = c.getDouble(i); }";
+            case FLOAT:      return "{ if (!c.isNull(i)) " + f + " = (float) c.getDouble(i); }";
+            case INT_BOX:    return f + " = c.isNull(i) ? null : Integer.valueOf(c.getInt(i));";
+            case LONG_BOX:   return f + " = c.isNull(i) ? null : Long.valueOf(c.getLong(i));";
+            case BOOL_BOX:   return f + " = c.isNull(i) ? null : Boolean.valueOf(c.getInt(i) != 0);";
+            case DOUBLE_BOX: return f + " = c.isNull(i) ? null : Double.valueOf(c.getDouble(i));";
+            case FLOAT_BOX:  return f + " = c.isNull(i) ? null : Float.valueOf((float) c.getDouble(i));";
+            case STRING:     return f + " = c.isNull(i) ? null : c.getString(i);";
+            case BYTES:      return f + " = c.isNull(i) ? null : c.getBlob(i);";
+            case LOCAL_DATE:
+                return f + " = c.isNull(i) ? null : java.time.LocalDate.parse(c.getString(i), java.time.format.DateTimeFormatter.ISO_DATE);";
+            case LOCAL_DATE_TIME:
+                return f + " = c.isNull(i) ? null : java.time.LocalDateTime.parse(c.getString(i), java.time.format.DateTimeFormatter.ISO_DATE_TIME);";
+            case ENUM:
+                return f + " = c.isNull(i) ? null : " + c.fieldType + ".valueOf(c.getString(i));";
+            case CONVERTER:
+            default:
+                return "{ Object v = CONV_" + i + ".fromDatabaseValue(lib.persistence.profile.Mapper.readBySqliteType(c, i, TYPE_" + i + "));"
+                        + (isBoxedPrimitive(c.fieldType) ? " if (v != null) " : " ")
+                        + f + " = (" + c.fieldType + ") v; }";
+        }
+    }
+
+    private static String writeStatement(Column c, int i) {
+        String f = "o." + c.fieldName;
+        String key = lit(c.columnName);
+        switch (c.kind) {
+            case INT:
+            case LONG:       return "cv.put(" + key + ", (long) " + f + ");";
+            case BOOL:       return "cv.put(" + key + ", " + f + " ? 1 : 0);";
+            case DOUBLE:
+            case FLOAT:      return "cv.put(" + key + ", (double) " + f + ");";
+            case INT_BOX:
+            case LONG_BOX:   return nullable(f, key, f + ".longValue()");
+            case BOOL_BOX:   return nullable(f, key, f + " ? 1 : 0");
+            case DOUBLE_BOX:
+            case FLOAT_BOX:  return nullable(f, key, f + ".doubleValue()");
+            case STRING:
+            case BYTES:      return nullable(f, key, f);
+            case LOCAL_DATE: return nullable(f, key, f + ".format(java.time.format.DateTimeFormatter.ISO_DATE)");
+            case LOCAL_DATE_TIME:
+                return nullable(f, key, f + ".format(java.time.format.DateTimeFormatter.ISO_DATE_TIME)");
+            case ENUM:       return nullable(f, key, f + ".name()");
+            case CONVERTER:
+            default:
+                return "lib.persistence.profile.Mapper.putDbValue(cv, " + key + ", CONV_" + i + ".toDatabaseValue(" + f + "));";
+        }
+    }
+
+    private static String bindStatement(Column c, int i) {
+        String f = "o." + c.fieldName;
+        switch (c.kind) {
+            case INT:
+            case LONG:       return "st.bindLong(p, " + f + ");";
+            case BOOL:       return "st.bindLong(p, " + f + " ? 1 : 0);";
+            case DOUBLE:
+            case FLOAT:      return "st.bindDouble(p, " + f + ");";
+            case INT_BOX:
+            case LONG_BOX:   return bindNullable(f, "st.bindLong(p, " + f + ".longValue());");
+            case BOOL_BOX:   return bindNullable(f, "st.bindLong(p, " + f + " ? 1 : 0);");
+            case DOUBLE_BOX:
+            case FLOAT_BOX:  return bindNullable(f, "st.bindDouble(p, " + f + ".doubleValue());");
+            case STRING:     return bindNullable(f, "st.bindString(p, " + f + ");");
+            case BYTES:      return bindNullable(f, "st.bindBlob(p, " + f + ");");
+            case LOCAL_DATE:
+                return bindNullable(f, "st.bindString(p, " + f + ".format(java.time.format.DateTimeFormatter.ISO_DATE));");
+            case LOCAL_DATE_TIME:
+                return bindNullable(f, "st.bindString(p, " + f + ".format(java.time.format.DateTimeFormatter.ISO_DATE_TIME));");
+            case ENUM:       return bindNullable(f, "st.bindString(p, " + f + ".name());");
+            case CONVERTER:
+            default:
+                return "lib.persistence.profile.Mapper.bindDbValue(st, p, CONV_" + i + ".toDatabaseValue(" + f + "));";
+        }
+    }
+
+    private static String bindNullable(String f, String bind) {
+        return "if (" + f + " == null) st.bindNull(p); else " + bind;
+    }
+
+    private static String nullable(String f, String key, String expr) {
+        return "if (" + f + " == null) cv.putNull(" + key + "); else cv.put(" + key + ", " + expr + ");";
+    }
+
+    private static boolean isBoxedPrimitive(String type) {
+        switch (type) {
+            case "java.lang.Integer": case "java.lang.Long": case "java.lang.Boolean":
+            case "java.lang.Double": case "java.lang.Float": case "java.lang.Short":
+            case "java.lang.Byte": case "java.lang.Character":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // --- Yardımcılar ---
+
+    private boolean hasNoArgCtor(TypeElement type) {
+        List<ExecutableElement> ctors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        for (ExecutableElement c : ctors) {
+            if (c.getParameters().isEmpty()) return !c.getModifiers().contains(Modifier.PRIVATE);
+        }
+        return ctors.isEmpty(); // hiç ctor yoksa derleyici varsayılanı üretir
+    }
+
+    private List<Column> skip(TypeElement entity, String reason) {
+        messager.printMessage(Diagnostic.Kind.NOTE,
+                entity.getQualifiedName() + SUFFIX + " üretilmedi (" + reason + "); reflection kullanılacak.", entity);
+        return null;
+    }
+
+    private String packageOf(TypeElement type) {
+        PackageElement p = elements.getPackageOf(type);
+        return p.isUnnamed() ? "" : p.getQualifiedName().toString();
+    }
+
+    private static AnnotationMirror mirror(Element e, String annType) {
+        for (AnnotationMirror m : e.getAnnotationMirrors()) {
+            TypeElement t = (TypeElement) m.getAnnotationType().asElement();
+            if (t.getQualifiedName().contentEquals(annType)) return m;
+        }
+        return null;
+    }
+
+    private static Object rawValue(AnnotationMirror m, String key) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> en : m.getElementValues().entrySet()) {
+            if (en.getKey().getSimpleName().contentEquals(key)) return en.getValue().getValue();
+        }
+        return null; // varsayılan değer kullanılıyor
+    }
+
+    private static String stringValue(AnnotationMirror m, String key, String def) {
+        Object v = rawValue(m, key);
+        return v == null ? def : v.toString().trim();
+    }
+
+    private static int intValue(AnnotationMirror m, String key, int def) {
+        Object v = rawValue(m, key);
+        return v instanceof Integer ? (Integer) v : def;
+    }
+
+    private static boolean boolValue(AnnotationMirror m, String key) {
+        Object v = rawValue(m, key);
+        return v instanceof Boolean && (Boolean) v;
+    }
+
+    private String typeValue(AnnotationMirror m, String key) {
+        Object v = rawValue(m, key);
+        if (!(v instanceof TypeMirror)) return null;
+        return types.erasure((TypeMirror) v).toString();
+    }
+
+    private static String lit(String s) {
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -21,3 +21,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "ADbKit"
 include(":app")
+include(":processor")